@@ -1,27 +1,87 @@
 package com.gustavopeiretti.gppomodoro;
 
+import com.gustavopeiretti.gppomodoro.api.PomodoroApiServer;
+import com.gustavopeiretti.gppomodoro.event.ConsoleInputReader;
+import com.gustavopeiretti.gppomodoro.event.EventLoop;
+import com.gustavopeiretti.gppomodoro.headless.ReplayReport;
+import com.gustavopeiretti.gppomodoro.headless.ScriptReplayer;
 import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
 import com.gustavopeiretti.gppomodoro.model.PomodoroState;
-import com.gustavopeiretti.gppomodoro.model.Task; // Necesario para el Optional<Task>
-import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import com.gustavopeiretti.gppomodoro.model.TaskSummary; // Necesario para el Optional<TaskSummary>
 import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.service.TaskSummaryCache;
+import com.gustavopeiretti.gppomodoro.session.SessionCheckpoint;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import com.gustavopeiretti.gppomodoro.session.UserSession;
 import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.timer.TimerEventBus;
+import com.gustavopeiretti.gppomodoro.timer.TimerEventMetrics;
 import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.TerminalRenderer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 @SpringBootApplication
+@EnableScheduling
 public class PomodoroApplication implements CommandLineRunner {
 
     @Autowired
     private PomodoroService pomodoroService;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private TaskSummaryCache taskSummaryCache;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Autowired
+    private SessionCheckpoint sessionCheckpoint;
+
+    @Autowired
+    private ScriptReplayer scriptReplayer;
+
+    @Autowired
+    private PomodoroApiServer apiServer;
+
+    // false para levantar solo el contexto (tests, benchmarks) sin el bucle interactivo de la consola
+    @Value("${pomodoro.console.enabled:true}")
+    private boolean consoleEnabled;
+
+    @Value("${pomodoro.events.queue-capacity:1024}")
+    private int eventQueueCapacity;
+
+    @Value("${pomodoro.console.render-interval-ms:200}")
+    private long renderIntervalMillis;
+
+    // Archivo donde grabar las líneas ingresadas en la consola (vacío: no se graban)
+    @Value("${pomodoro.console.record-file:}")
+    private String recordFile;
+
+    // Guion a reproducir en modo headless (ruta, o "-" para la entrada estándar); vacío: consola interactiva
+    @Value("${pomodoro.headless.script:}")
+    private String headlessScript;
+
+    @Value("${pomodoro.headless.sessions:1}")
+    private int headlessSessions;
+
+    // Bus de eventos del timer de la consola (ring buffer); sus consumidores no frenan al timer
+    @Value("${pomodoro.timer.events.enabled:false}")
+    private boolean timerEventsEnabled;
+
+    @Value("${pomodoro.timer.events.capacity:1024}")
+    private int timerEventsCapacity;
 
     // Componentes de la sesión/UI, no son beans de Spring en este diseño
     private ConsoleUI consoleUI;
@@ -29,21 +89,56 @@ public class PomodoroApplication implements CommandLineRunner {
     private PomodoroTimer pomodoroTimer;
 
 
-    public static void main(String[] args) {
-        SpringApplication.run(PomodoroApplication.class, args);
+    public static void main(String[] args) throws InterruptedException {
+        ConfigurableApplicationContext context = SpringApplication.run(PomodoroApplication.class, args);
+        // Modo solo API: el proceso vive mientras la API atiende. Ctrl+C o SIGTERM cierran el contexto, que la detiene
+        if (context.getBean(PomodoroApplication.class).awaitApiOnlyMode()) {
+            return;
+        }
+        // La consola interactiva termina el proceso al salir; si run() volvió (modo headless) se cierra el contexto,
+        // o los hilos de las tareas programadas mantendrían viva la JVM
+        System.exit(SpringApplication.exit(context));
     }
 
     @Override
     public void run(String... args) throws Exception {
-        // Inicializar componentes específicos de esta ejecución de la aplicación
-        this.consoleUI = new ConsoleUI();
-        this.pomodoroSession = new PomodoroSession();
-        this.pomodoroTimer = new PomodoroTimer(); // Un timer por sesión de aplicación
+        if (!headlessScript.isBlank()) {
+            ReplayReport report = scriptReplayer.replay(ScriptReplayer.source(headlessScript, headlessSessions),
+                    headlessSessions);
+            System.out.print(report.render());
+            return;
+        }
+        if (!consoleEnabled) {
+            return;
+        }
+        // Inicializar componentes específicos de esta ejecución de la aplicación.
+        // La entrada y los callbacks del timer llegan por el mismo bucle de eventos y se aplican en este hilo.
+        EventLoop eventLoop = new EventLoop(eventQueueCapacity);
+        new ConsoleInputReader(System.in, eventLoop, openTranscript()).start();
+        this.consoleUI = new ConsoleUI(eventLoop, TerminalRenderer.forStdout(renderIntervalMillis));
+        apiServer.mirror(PomodoroSession.LOCAL_USER_ID, consoleUI); // Con la API activa, el contador también va por SSE
+        // La sesión de la consola vive en el registro como la de cualquier otro usuario, pero nunca se desaloja
+        UserSession localSession = sessionRegistry.getOrCreate(PomodoroSession.LOCAL_USER_ID);
+        localSession.setPinned(true);
+        this.pomodoroSession = localSession.getSession();
+        this.pomodoroTimer = localSession.getTimer(); // Un timer por sesión de usuario
+        pomodoroTimer.setCallbackExecutor(eventLoop);
+        if (timerEventsEnabled) {
+            TimerEventBus eventBus = new TimerEventBus(timerEventsCapacity);
+            TimerEventMetrics.monitor(eventBus.addConsumer("metrics", TimerEventBus.BackPressure.DROP,
+                    new TimerEventMetrics()));
+            eventBus.start();
+            pomodoroTimer.setEventBus(eventBus);
+        }
 
         // La categoría 'Inbox' se crea a través de @PostConstruct en PomodoroService
 
         consoleUI.showMessage("¡Bienvenido a la aplicación Pomodoro con gestión de Tareas!");
 
+        // Si el proceso anterior murió con una sesión en curso, se retoma (perfil persistent)
+        sessionCheckpoint.restore().ifPresent(snapshot -> sessionRegistry.execute(PomodoroSession.LOCAL_USER_ID,
+                userSession -> pomodoroService.restoreSession(userSession.getSession(), userSession.getTimer(), consoleUI, snapshot)));
+
         while (true) {
             PomodoroState currentState = pomodoroSession.getCurrentState();
             boolean isTimerRunning = pomodoroTimer.isRunning();
@@ -51,10 +146,10 @@ public class PomodoroApplication implements CommandLineRunner {
 
             String currentTaskName = null;
             if (pomodoroSession.getCurrentTaskId() != null) {
-                // Buscamos la tarea por ID para obtener su nombre actual
-                Optional<Task> taskOpt = taskRepository.findById(pomodoroSession.getCurrentTaskId());
+                // Buscamos la tarea por ID para obtener su nombre actual (desde la caché, sin ir a la base de datos)
+                Optional<TaskSummary> taskOpt = taskSummaryCache.get(pomodoroSession.getCurrentTaskId());
                 if (taskOpt.isPresent()) {
-                    currentTaskName = taskOpt.get().getName();
+                    currentTaskName = taskOpt.get().name();
                 } else {
                     // La tarea pudo haber sido eliminada o ID es inválido, deseleccionarla
                     consoleUI.showMessage("Advertencia: La tarea seleccionada (ID: " + pomodoroSession.getCurrentTaskId() + ") ya no existe. Deseleccionando.");
@@ -75,7 +170,12 @@ public class PomodoroApplication implements CommandLineRunner {
             // Si el timer está corriendo y no pausado, el tiempo se actualiza por el callback.
             // El menú solo se mostrará si el usuario presiona Enter.
 
+            // Bloquea en la cola de eventos: mientras tanto se despachan los ticks y vencimientos del timer
             String input = consoleUI.getUserInput();
+            if (input == null) { // Fin de la entrada (EOF)
+                pomodoroService.exitApplication(pomodoroSession, pomodoroTimer, consoleUI);
+                return;
+            }
 
             // Si el timer está corriendo y NO pausado, y el usuario presiona Enter (input vacío),
             // se limpia la línea de tiempo y se muestra el menú de opciones contextuales.
@@ -85,19 +185,30 @@ public class PomodoroApplication implements CommandLineRunner {
                 // El input vacío será manejado por PomodoroService, que usualmente lo ignora en este caso.
             }
 
-            // Pasar todos los objetos de estado/UI al servicio sin estado para que opere
-            pomodoroService.handleUserInput(input, pomodoroSession, pomodoroTimer, consoleUI);
-
-            // Si pomodoroService.exitApplication() fue llamado, System.exit() ya terminó el programa.
-            // Este sleep es para ceder CPU si no hay interacciones y el bucle sigue.
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); // Restaurar el estado de interrupción
-                consoleUI.showMessage("Hilo principal interrumpido. Saliendo...");
-                // Asegurar que el timer y scanner se cierran al interrumpir
-                pomodoroService.exitApplication(pomodoroTimer, consoleUI);
-            }
+            // Pasar todos los objetos de estado/UI al servicio sin estado para que opere, con el lock de la sesión tomado
+            sessionRegistry.execute(PomodoroSession.LOCAL_USER_ID, userSession ->
+                    pomodoroService.handleUserInput(input, userSession.getSession(), userSession.getTimer(), consoleUI));
+            // Si pomodoroService.exitApplication() fue llamado, ConsoleUI.exit() ya terminó el programa.
+        }
+    }
+
+    /**
+     * Con la consola desactivada, sin guion headless y con la API activa, bloquea hasta que la API se detiene.
+     *
+     * @return true si esperó a la API; false si no es el modo solo API
+     */
+    boolean awaitApiOnlyMode() throws InterruptedException {
+        if (consoleEnabled || !headlessScript.isBlank() || !apiServer.isEnabled()) {
+            return false;
+        }
+        apiServer.awaitStop();
+        return true;
+    }
+
+    private BufferedWriter openTranscript() throws IOException {
+        if (recordFile.isBlank()) {
+            return null;
         }
+        return Files.newBufferedWriter(Path.of(recordFile), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.TerminalRenderer;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ConsoleUI de una sesión manejada por la API HTTP. Hay una por usuario y es la que capturan los callbacks del timer.
+ * <p>
+ * Los ticks van al {@link TickStream} de la sesión. Los mensajes que muestra el servicio durante una petición se
+ * devuelven en la respuesta; los que llegan fuera de una (fin de un Pomodoro o de un descanso) avisan que la sesión
+ * cambió, y el estado se publica una vez que el callback terminó de aplicarlo. No hay entrada: los prompts reciben una línea vacía, como si el usuario cancelara.
+ */
+class ApiConsoleUI extends ConsoleUI {
+
+    private final TickStream stream;
+    private final Runnable stateChanged;
+    // Mensajes de la petición en curso; null fuera de una petición. Protegido por el lock de la sesión
+    private List<String> requestMessages;
+
+    ApiConsoleUI(TickStream stream, Runnable stateChanged) {
+        super(InputStream.nullInputStream(), TerminalRenderer.discarding());
+        this.stream = stream;
+        this.stateChanged = stateChanged;
+    }
+
+    void beginRequest() {
+        requestMessages = new ArrayList<>();
+    }
+
+    List<String> endRequest() {
+        List<String> messages = requestMessages;
+        requestMessages = null;
+        return messages;
+    }
+
+    @Override
+    public void displayTime(PomodoroState state, int remainingSeconds, String taskName) {
+        stream.publishTick(state, remainingSeconds, taskName); // No hay terminal que dibujar
+    }
+
+    @Override
+    public void showMessage(String message) {
+        if (requestMessages != null) {
+            requestMessages.add(message.strip());
+            return;
+        }
+        stateChanged.run();
+    }
+
+    @Override
+    public void exit(int status) {
+        // La API no expone la salida: el proceso lo termina la consola o el cierre del contexto
+    }
+}
@@ -0,0 +1,116 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Cuerpos JSON de la API y eventos SSE, ya codificados en UTF-8 con el generador de streaming de Jackson.
+ */
+final class ApiJson {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte[] TICK_PREFIX = "event: tick\ndata: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STATE_PREFIX = "event: state\ndata: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_END = "\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private ApiJson() {
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Respuesta de una operación: el estado de la sesión después de aplicarla y los mensajes que mostró.
+     */
+    static byte[] session(SessionView view, List<String> messages) {
+        return encode(null, generator -> {
+            generator.writeStartObject();
+            writeFields(generator, view);
+            generator.writeArrayFieldStart("messages");
+            for (String message : messages) {
+                generator.writeString(message);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    static byte[] error(String message) {
+        return encode(null, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Evento SSE {@code tick}: lo que la consola dibuja en cada segundo.
+     */
+    static byte[] tickEvent(PomodoroState state, int remainingSeconds, String taskName) {
+        return encode(TICK_PREFIX, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("state", state.name());
+            generator.writeNumberField("remainingSeconds", remainingSeconds);
+            if (taskName != null) {
+                generator.writeStringField("taskName", taskName);
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Evento SSE {@code state}: la sesión completa, al suscribirse y cuando cambia de estado sin que haya ticks
+     * (por ejemplo, al terminar un descanso).
+     */
+    static byte[] stateEvent(SessionView view) {
+        return encode(STATE_PREFIX, generator -> {
+            generator.writeStartObject();
+            writeFields(generator, view);
+            generator.writeEndObject();
+        });
+    }
+
+    private static void writeFields(JsonGenerator generator, SessionView view) throws IOException {
+        generator.writeStringField("userId", view.userId());
+        generator.writeStringField("state", view.state().name());
+        generator.writeBooleanField("timerRunning", view.timerRunning());
+        generator.writeBooleanField("timerPaused", view.timerPaused());
+        generator.writeNumberField("remainingSeconds", view.remainingSeconds());
+        generator.writeNumberField("pomodoroCount", view.pomodoroCount());
+        generator.writeNumberField("cyclePomodoroCount", view.cyclePomodoroCount());
+        if (view.taskId() != null) {
+            generator.writeNumberField("taskId", view.taskId());
+        }
+        if (view.taskName() != null) {
+            generator.writeStringField("taskName", view.taskName());
+        }
+    }
+
+    // Con prefijo es un evento SSE: el JSON va en una sola línea de data (Jackson escapa los saltos de línea)
+    private static byte[] encode(byte[] eventPrefix, Body body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try {
+            if (eventPrefix != null) {
+                out.write(eventPrefix);
+            }
+            try (JsonGenerator generator = JSON.createGenerator(out)) {
+                body.write(generator);
+            }
+            if (eventPrefix != null) {
+                out.write(EVENT_END);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // No ocurre: se escribe en memoria
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,342 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.service.TaskSummaryCache;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import com.gustavopeiretti.gppomodoro.session.UserSession;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.timer.TimingWheel;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API HTTP opcional, solo en la interfaz de loopback, para manejar sesiones y seguir sus timers sin la consola.
+ * <p>
+ * Cada usuario es una sesión del {@link SessionRegistry}, y las operaciones son las del {@link PomodoroService}
+ * que corren con el lock de la sesión:
+ * <pre>
+ * GET    /api/sessions/{usuario}              estado de la sesión
+ * POST   /api/sessions/{usuario}/cycle        ciclo automático (startPomodoroCycle)
+ * POST   /api/sessions/{usuario}/pomodoro     un solo Pomodoro (startSinglePomodoro)
+ * POST   /api/sessions/{usuario}/next         siguiente Pomodoro del ciclo, tras un descanso
+ * POST   /api/sessions/{usuario}/short-break  descanso corto
+ * POST   /api/sessions/{usuario}/long-break   descanso largo
+ * POST   /api/sessions/{usuario}/pause        pausa o reanuda (togglePause)
+ * POST   /api/sessions/{usuario}/finish       termina el timer y el ciclo
+ * PUT    /api/sessions/{usuario}/task/{id}    selecciona la tarea
+ * DELETE /api/sessions/{usuario}/task         deselecciona la tarea
+ * GET    /api/sessions/{usuario}/ticks        Server-Sent Events: tick por segundo y cambios de estado
+ * </pre>
+ * La sesión de la consola ({@code local}) se puede consultar y seguir por SSE, pero solo se controla desde la
+ * terminal. Las lecturas (el GET y el primer evento SSE) no toman el lock: la consola lo retiene mientras espera
+ * una respuesta del usuario, y una consulta no debe quedar colgada de eso. {@code next} solo vale en
+ * {@link PomodoroState#AWAITING_NEXT_POMODORO}; en otro estado responde 409.
+ * <p>
+ * Las conexiones SSE no ocupan hilos mientras esperan: el handler responde los encabezados, registra al suscriptor
+ * en el {@link TickStream} de la sesión y vuelve. Cada escritura corre en un hilo virtual. La cantidad de
+ * suscriptores se limita con {@code pomodoro.api.max-subscribers}.
+ */
+@Component
+public class PomodoroApiServer {
+
+    private static final Logger log = LoggerFactory.getLogger(PomodoroApiServer.class);
+    private static final String BASE_PATH = "/api/sessions/";
+
+    private final PomodoroService pomodoroService;
+    private final SessionRegistry sessionRegistry;
+    private final TaskSummaryCache taskSummaryCache;
+    private final boolean enabled;
+    private final int port;
+    private final int maxSubscribers;
+    private final long heartbeatSeconds;
+    private final Map<String, SessionOperation> postOperations;
+    // Operaciones que solo valen en un estado; en otro se responden con 409 sin llamar al servicio
+    private final Map<String, PomodoroState> requiredStates = Map.of("next", PomodoroState.AWAITING_NEXT_POMODORO);
+
+    private final ConcurrentHashMap<String, TickStream> streams = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ApiConsoleUI> consoles = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("pomodoro-api-", 0).factory());
+    private HttpServer server;
+    private volatile TimingWheel.Timeout heartbeatTimeout;
+    private volatile boolean closed;
+
+    /**
+     * Operación del servicio sobre una sesión, como las del menú de la consola.
+     */
+    @FunctionalInterface
+    private interface SessionOperation {
+        void apply(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui);
+    }
+
+    public PomodoroApiServer(PomodoroService pomodoroService, SessionRegistry sessionRegistry,
+                             TaskSummaryCache taskSummaryCache,
+                             @Value("${pomodoro.api.enabled:false}") boolean enabled,
+                             @Value("${pomodoro.api.port:8765}") int port,
+                             @Value("${pomodoro.api.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${pomodoro.api.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.pomodoroService = pomodoroService;
+        this.sessionRegistry = sessionRegistry;
+        this.taskSummaryCache = taskSummaryCache;
+        this.enabled = enabled;
+        this.port = port;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.postOperations = Map.of(
+                "cycle", pomodoroService::startPomodoroCycle,
+                "pomodoro", pomodoroService::startSinglePomodoro,
+                "next", (session, timer, ui) -> pomodoroService.handleUserInput("s", session, timer, ui),
+                "short-break", pomodoroService::startShortBreak,
+                "long-break", pomodoroService::startLongBreak,
+                "pause", pomodoroService::togglePause,
+                "finish", pomodoroService::finishCurrentTimerAndCycle);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        scheduleHeartbeat();
+        log.info("API HTTP escuchando en http://{}:{}{}", server.getAddress().getHostString(), getPort(), BASE_PATH);
+    }
+
+    @PreDestroy
+    void stop() {
+        closed = true;
+        TimingWheel.Timeout timeout = heartbeatTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        streams.values().forEach(TickStream::closeAll);
+        if (server != null) {
+            server.stop(0);
+        }
+        executor.shutdown();
+        stopped.countDown();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Bloquea hasta que la API se detiene, al cerrarse el contexto. Vuelve enseguida si la API no está activa.
+     */
+    public void awaitStop() throws InterruptedException {
+        if (enabled) {
+            stopped.await();
+        }
+    }
+
+    /**
+     * Puerto en el que escucha; con {@code pomodoro.api.port=0} lo elige el sistema operativo.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Publica por SSE los ticks que muestra {@code ui}: así se sigue el timer de la consola desde la API.
+     */
+    public void mirror(String userId, ConsoleUI ui) {
+        if (enabled) {
+            ui.setTimeListener(streamFor(userId)::publishTick);
+        }
+    }
+
+    private void scheduleHeartbeat() {
+        if (closed || heartbeatSeconds <= 0) {
+            return;
+        }
+        heartbeatTimeout = TimingWheel.shared().schedule(() -> {
+            streams.values().forEach(TickStream::heartbeat);
+            scheduleHeartbeat();
+        }, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    private TickStream streamFor(String userId) {
+        return streams.computeIfAbsent(userId, id -> new TickStream(executor));
+    }
+
+    private ApiConsoleUI consoleFor(String userId) {
+        return consoles.computeIfAbsent(userId, id -> {
+            TickStream stream = streamFor(id);
+            // Se encola detrás del callback que avisó, así el estado publicado ya es el resultante
+            return new ApiConsoleUI(stream, () -> sessionRegistry.submit(id,
+                    userSession -> stream.publishState(view(userSession))));
+        });
+    }
+
+    // No necesita el lock de la sesión: lee campos volatile del estado y del timer
+    private SessionView view(UserSession userSession) {
+        PomodoroSession session = userSession.getSession();
+        return SessionView.of(session, userSession.getTimer(), taskSummaryCache.findName(session.getCurrentTaskId()));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().substring(BASE_PATH.length()).split("/");
+        String method = exchange.getRequestMethod();
+        String userId = path[0];
+        String resource = path.length > 1 ? path[1] : "";
+        try {
+            if (userId.isEmpty() || path.length > 3 || (path.length == 3 && !"task".equals(resource))) {
+                send(exchange, 404, ApiJson.error("Recurso inexistente."));
+            } else if (resource.isEmpty()) {
+                requireMethod(exchange, "GET", () -> showSession(exchange, userId));
+            } else if ("ticks".equals(resource)) {
+                requireMethod(exchange, "GET", () -> subscribe(exchange, userId));
+            } else if ("task".equals(resource)) {
+                handleTask(exchange, method, userId, path.length == 3 ? path[2] : null);
+            } else if (postOperations.containsKey(resource)) {
+                requireMethod(exchange, "POST", () -> runOperation(exchange, userId, postOperations.get(resource),
+                        requiredStates.get(resource)));
+            } else {
+                send(exchange, 404, ApiJson.error("Operación desconocida: " + resource));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falló {} {}", method, exchange.getRequestURI(), e);
+            send(exchange, 500, ApiJson.error("Error interno: " + e.getMessage()));
+        }
+    }
+
+    private void handleTask(HttpExchange exchange, String method, String userId, String taskId) throws IOException {
+        if ("DELETE".equals(method) && taskId == null) {
+            runOperation(exchange, userId, (session, timer, ui) -> pomodoroService.deselectCurrentTask(session, timer, ui),
+                    null);
+        } else if ("PUT".equals(method) && taskId != null) {
+            long id;
+            try {
+                id = Long.parseLong(taskId);
+            } catch (NumberFormatException e) {
+                send(exchange, 400, ApiJson.error("ID de tarea inválido: " + taskId));
+                return;
+            }
+            runOperation(exchange, userId, (session, timer, ui) -> pomodoroService.selectTask(session, timer, ui, id), null);
+        } else {
+            send(exchange, 405, ApiJson.error("Use PUT /task/{id} o DELETE /task."));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle() throws IOException;
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method, Handler handler) throws IOException {
+        if (method.equals(exchange.getRequestMethod())) {
+            handler.handle();
+        } else {
+            exchange.getResponseHeaders().set("Allow", method);
+            send(exchange, 405, ApiJson.error("Método no permitido; use " + method + "."));
+        }
+    }
+
+    private void showSession(HttpExchange exchange, String userId) throws IOException {
+        Optional<UserSession> found = sessionRegistry.find(userId);
+        if (found.isEmpty()) {
+            send(exchange, 404, ApiJson.error("No hay una sesión para " + userId + "."));
+            return;
+        }
+        send(exchange, 200, ApiJson.session(view(found.get()), List.of()));
+    }
+
+    /**
+     * @param requiredState estado en el que vale la operación, o null si vale en cualquiera
+     */
+    private void runOperation(HttpExchange exchange, String userId, SessionOperation operation,
+                              PomodoroState requiredState) throws IOException {
+        if (PomodoroSession.LOCAL_USER_ID.equals(userId)) {
+            send(exchange, 409, ApiJson.error("La sesión de la consola solo se controla desde la terminal."));
+            return;
+        }
+        ApiConsoleUI ui = consoleFor(userId);
+        SessionView[] after = new SessionView[1];
+        byte[] body = sessionRegistry.withSession(userId, userSession -> {
+            PomodoroState state = userSession.getSession().getCurrentState();
+            if (requiredState != null && state != requiredState) {
+                return ApiJson.error("La operación requiere el estado " + requiredState + "; la sesión está en "
+                        + state + ".");
+            }
+            List<String> messages;
+            ui.beginRequest();
+            try {
+                operation.apply(userSession.getSession(), userSession.getTimer(), ui);
+            } finally {
+                messages = ui.endRequest();
+            }
+            after[0] = view(userSession);
+            return ApiJson.session(after[0], messages);
+        });
+        if (after[0] == null) { // No se ejecutó: la sesión no estaba en el estado requerido
+            send(exchange, 409, body);
+            return;
+        }
+        streamFor(userId).publishState(after[0]); // Los suscriptores se enteran de la pausa, el fin, etc.
+        send(exchange, 200, body);
+    }
+
+    /**
+     * Abre el stream SSE y vuelve sin cerrarlo: la conexión queda registrada en el {@link TickStream} hasta que el
+     * cliente se va o se cierra la aplicación.
+     */
+    private void subscribe(HttpExchange exchange, String userId) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            send(exchange, 503, ApiJson.error("Se alcanzó el máximo de suscriptores."));
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0); // Respuesta chunked, sin largo conocido
+        TickStream.Subscriber subscriber = streamFor(userId).subscribe(exchange.getResponseBody(), () -> {
+            subscriberCount.decrementAndGet();
+            exchange.close();
+        });
+        // Primer evento: el estado actual, para no esperar al próximo tick (que no llega si el timer está detenido)
+        subscriber.offer(sessionRegistry.find(userId)
+                .map(found -> ApiJson.stateEvent(view(found)))
+                .orElse(TickStream.HEARTBEAT));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+
+/**
+ * Estado de una sesión tal como lo devuelve la API. Tras una operación se toma con el lock de la sesión; en las
+ * lecturas se toma sin él, y puede mezclar valores de dos momentos seguidos (el estado nuevo con el tiempo anterior).
+ */
+record SessionView(String userId, PomodoroState state, boolean timerRunning, boolean timerPaused,
+                   int remainingSeconds, int pomodoroCount, int cyclePomodoroCount, Long taskId, String taskName) {
+
+    static SessionView of(PomodoroSession session, PomodoroTimer timer, String taskName) {
+        return new SessionView(session.getUserId(), session.getCurrentState(), timer.isRunning(), timer.isPaused(),
+                timer.getRemainingSeconds(), session.getPomodoroCount(), session.getCyclePomodoroCount(),
+                session.getCurrentTaskId(), taskName);
+    }
+}
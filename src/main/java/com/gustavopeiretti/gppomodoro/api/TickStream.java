@@ -0,0 +1,168 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Eventos SSE de una sesión, compartidos por todos sus suscriptores.
+ * <p>
+ * El timer de la sesión es la única fuente: cada tick se codifica una sola vez, como evento completo en un
+ * {@code byte[]}, y ese mismo arreglo se entrega a todos los suscriptores. Sin suscriptores no se codifica nada.
+ * <p>
+ * Un suscriptor no tiene hilo ni cola propios: guarda solo el último evento pendiente y, si no hay una escritura en
+ * curso, lanza una en el executor. Un cliente lento se saltea ticks y recibe el más reciente; uno inactivo ocupa su
+ * conexión y un par de referencias, nada más.
+ */
+class TickStream {
+
+    // Comentario SSE: mantiene viva la conexión y detecta clientes que se fueron sin cerrarla
+    static final byte[] HEARTBEAT = ": \n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor writeExecutor;
+    // Estado del último tick o evento de estado (ver stateKey), para no repetir el evento si nada cambió
+    private volatile int lastPublishedState = -1;
+
+    TickStream(Executor writeExecutor) {
+        this.writeExecutor = writeExecutor;
+    }
+
+    void publishTick(PomodoroState state, int remainingSeconds, String taskName) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        lastPublishedState = stateKey(state, true, false);
+        publish(ApiJson.tickEvent(state, remainingSeconds, taskName));
+    }
+
+    /**
+     * Publica el estado de la sesión si cambió (estado, timer en marcha o en pausa) desde el último tick o estado
+     * publicado.
+     */
+    void publishState(SessionView view) {
+        int key = stateKey(view.state(), view.timerRunning(), view.timerPaused());
+        if (subscribers.isEmpty() || key == lastPublishedState) {
+            return;
+        }
+        lastPublishedState = key;
+        publish(ApiJson.stateEvent(view));
+    }
+
+    private static int stateKey(PomodoroState state, boolean timerRunning, boolean timerPaused) {
+        return state.ordinal() << 2 | (timerRunning ? 2 : 0) | (timerPaused ? 1 : 0);
+    }
+
+    void publish(byte[] event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Envía el latido a los suscriptores que no tienen nada pendiente; no reemplaza a un tick que espera escribirse.
+     */
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offerIfIdle(HEARTBEAT);
+        }
+    }
+
+    /**
+     * Registra un suscriptor que escribe en {@code out}. Si una escritura falla, o al cerrarlo, se da de baja y se
+     * cierra {@code connection}.
+     */
+    Subscriber subscribe(OutputStream out, Closeable connection) {
+        Subscriber subscriber = new Subscriber(out, connection);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    int size() {
+        return subscribers.size();
+    }
+
+    void closeAll() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    final class Subscriber {
+        private final OutputStream out;
+        private final Closeable connection;
+        private final AtomicReference<byte[]> pending = new AtomicReference<>();
+        // Hay una escritura en el executor: los eventos nuevos solo reemplazan al pendiente
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(OutputStream out, Closeable connection) {
+            this.out = out;
+            this.connection = connection;
+        }
+
+        void offer(byte[] event) {
+            pending.set(event);
+            scheduleWrite();
+        }
+
+        void offerIfIdle(byte[] event) {
+            if (pending.compareAndSet(null, event)) {
+                scheduleWrite();
+            }
+        }
+
+        private void scheduleWrite() {
+            if (!closed.get() && writing.compareAndSet(false, true)) {
+                writeExecutor.execute(this::writePending);
+            }
+        }
+
+        private void writePending() {
+            while (true) {
+                byte[] event = pending.getAndSet(null);
+                if (event == null) {
+                    writing.set(false);
+                    // Un evento que llegó entre el getAndSet y el set(false) no lanzó escritura: se toma acá
+                    if (pending.get() == null || !writing.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                try {
+                    out.write(event);
+                    out.flush();
+                } catch (IOException e) {
+                    close(); // El cliente cerró la conexión
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            pending.set(null);
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // La conexión ya estaba rota: no hay nada más que liberar
+            }
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.gustavopeiretti.gppomodoro.config;
+
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Arranque diferido de JPA para el modo de inicio rápido (perfil fast-start).
+ * <p>
+ * Con {@code spring.data.jpa.repositories.bootstrap-mode=lazy}, Spring Boot construye el EntityManagerFactory en su
+ * executor de tareas y crea cada repositorio en su primer uso, así que la consola llega al menú sin esperar a
+ * Hibernate y el timer (opciones 1 a 4) se puede usar enseguida. Este componente espera ese arranque en un hilo
+ * propio, publica las métricas de Hibernate (la autoconfiguración de Spring Boot las publicaría bloqueando el inicio,
+ * por eso el perfil la excluye) y usa una vez los repositorios de tareas y categorías para que la primera operación
+ * no pague su creación. Las operaciones que usan la base llaman a {@link #awaitReady()}.
+ * <p>
+ * En el modo normal el contexto no termina de arrancar sin JPA, así que la base está lista desde el principio.
+ */
+@Component
+public class DatabaseBootstrap {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseBootstrap.class);
+
+    private final boolean deferred;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<CategoryRepository> categoryRepository;
+    private final ObjectProvider<TaskRepository> taskRepository;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    @Autowired
+    public DatabaseBootstrap(@Value("${spring.data.jpa.repositories.bootstrap-mode:default}") String bootstrapMode,
+                             ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                             ObjectProvider<CategoryRepository> categoryRepository,
+                             ObjectProvider<TaskRepository> taskRepository,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.deferred = "lazy".equalsIgnoreCase(bootstrapMode);
+        this.entityManagerFactory = entityManagerFactory;
+        this.categoryRepository = categoryRepository;
+        this.taskRepository = taskRepository;
+        this.meterRegistry = meterRegistry;
+        if (!deferred) {
+            ready.countDown();
+        }
+    }
+
+    /**
+     * Base ya lista, sin arranque en segundo plano (pruebas, benchmarks).
+     */
+    public static DatabaseBootstrap immediate() {
+        return new DatabaseBootstrap("default", null, null, null, null);
+    }
+
+    public boolean isDeferred() {
+        return deferred;
+    }
+
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    /**
+     * Bloquea hasta que JPA terminó de arrancar; si ya terminó vuelve enseguida.
+     */
+    public void awaitReady() {
+        try {
+            ready.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Antes de los runners: la consola es un runner que no termina hasta salir
+    @EventListener(ApplicationStartedEvent.class)
+    void startInBackground() {
+        if (!deferred || isReady()) {
+            return;
+        }
+        Thread bootstrap = new Thread(this::bootstrap, "pomodoro-db-bootstrap");
+        bootstrap.setDaemon(true);
+        bootstrap.start();
+    }
+
+    private void bootstrap() {
+        long start = System.nanoTime();
+        try {
+            SessionFactory sessionFactory = entityManagerFactory.getObject().unwrap(SessionFactory.class); // Espera a Hibernate
+            meterRegistry.ifAvailable(registry ->
+                    new HibernateMetrics(sessionFactory, "entityManagerFactory", List.of()).bindTo(registry));
+            categoryRepository.getObject().findAll();
+            taskRepository.getObject().findById(0L);
+            log.info("Base de datos lista en segundo plano en {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Las operaciones que la usen van a fallar con su propio error; el timer sigue funcionando
+            log.error("Falló el arranque de la base de datos en segundo plano", e);
+        } finally {
+            ready.countDown();
+        }
+    }
+}
@@ -1,8 +1,112 @@
 package com.gustavopeiretti.gppomodoro.config;
 
+import com.gustavopeiretti.gppomodoro.timer.TimerScheduler;
+import com.gustavopeiretti.gppomodoro.timer.TimingWheel;
+import com.gustavopeiretti.gppomodoro.timer.VirtualTimeScheduler;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Duraciones del ciclo Pomodoro y reloj de los timers.
+ * <p>
+ * Las duraciones se configuran en segundos con {@code pomodoro.durations.*}. Con {@code pomodoro.clock.speed}
+ * distinto de 1 los timers corren sobre un {@link VirtualTimeScheduler} acelerado en lugar de la rueda compartida:
+ * con 60, un Pomodoro de 25 minutos dura 25 segundos.
+ */
+@Component
 public class PomodoroConfig {
     public static final int POMODORO_DURATION_MINUTES = 25; // o 1 para pruebas rápidas
     public static final int SHORT_BREAK_DURATION_MINUTES = 5; // o 1 para pruebas
     public static final int LONG_BREAK_DURATION_MINUTES = 15; // o 2 para pruebas
     public static final int POMODOROS_UNTIL_LONG_BREAK = 4;
-}
\ No newline at end of file
+
+    private final int pomodoroSeconds;
+    private final int shortBreakSeconds;
+    private final int longBreakSeconds;
+    private final int pomodorosUntilLongBreak;
+    private final double clockSpeed;
+    private final TimerScheduler timerScheduler;
+
+    @Autowired
+    public PomodoroConfig(@Value("${pomodoro.durations.pomodoro-seconds:1500}") int pomodoroSeconds,
+                          @Value("${pomodoro.durations.short-break-seconds:300}") int shortBreakSeconds,
+                          @Value("${pomodoro.durations.long-break-seconds:900}") int longBreakSeconds,
+                          @Value("${pomodoro.durations.pomodoros-until-long-break:4}") int pomodorosUntilLongBreak,
+                          @Value("${pomodoro.clock.speed:1}") double clockSpeed) {
+        this(pomodoroSeconds, shortBreakSeconds, longBreakSeconds, pomodorosUntilLongBreak, clockSpeed,
+                clockSpeed == 1 ? TimingWheel.shared() : VirtualTimeScheduler.accelerated(clockSpeed));
+    }
+
+    /**
+     * Configuración con un planificador propio, para simulaciones sobre un {@link VirtualTimeScheduler} que avanza
+     * quien la crea.
+     */
+    public PomodoroConfig(int pomodoroSeconds, int shortBreakSeconds, int longBreakSeconds,
+                          int pomodorosUntilLongBreak, TimerScheduler timerScheduler) {
+        this(pomodoroSeconds, shortBreakSeconds, longBreakSeconds, pomodorosUntilLongBreak, 1, timerScheduler);
+    }
+
+    private PomodoroConfig(int pomodoroSeconds, int shortBreakSeconds, int longBreakSeconds,
+                           int pomodorosUntilLongBreak, double clockSpeed, TimerScheduler timerScheduler) {
+        if (pomodoroSeconds <= 0 || shortBreakSeconds <= 0 || longBreakSeconds <= 0) {
+            throw new IllegalArgumentException("Las duraciones deben ser positivas");
+        }
+        if (pomodorosUntilLongBreak <= 0) {
+            throw new IllegalArgumentException("pomodorosUntilLongBreak debe ser positivo: " + pomodorosUntilLongBreak);
+        }
+        this.pomodoroSeconds = pomodoroSeconds;
+        this.shortBreakSeconds = shortBreakSeconds;
+        this.longBreakSeconds = longBreakSeconds;
+        this.pomodorosUntilLongBreak = pomodorosUntilLongBreak;
+        this.clockSpeed = clockSpeed;
+        this.timerScheduler = timerScheduler;
+    }
+
+    /**
+     * Duraciones de siempre sobre la rueda compartida (pruebas, benchmarks).
+     */
+    public static PomodoroConfig defaults() {
+        return new PomodoroConfig(POMODORO_DURATION_MINUTES * 60, SHORT_BREAK_DURATION_MINUTES * 60,
+                LONG_BREAK_DURATION_MINUTES * 60, POMODOROS_UNTIL_LONG_BREAK, TimingWheel.shared());
+    }
+
+    public int getPomodoroSeconds() {
+        return pomodoroSeconds;
+    }
+
+    public int getShortBreakSeconds() {
+        return shortBreakSeconds;
+    }
+
+    public int getLongBreakSeconds() {
+        return longBreakSeconds;
+    }
+
+    public int getPomodorosUntilLongBreak() {
+        return pomodorosUntilLongBreak;
+    }
+
+    public double getClockSpeed() {
+        return clockSpeed;
+    }
+
+    public TimerScheduler getTimerScheduler() {
+        return timerScheduler;
+    }
+
+    /**
+     * Duración legible para los mensajes: "25 minutos", o en segundos si no son minutos enteros.
+     */
+    public static String describe(int seconds) {
+        return seconds % 60 == 0 ? seconds / 60 + " minutos" : seconds + " segundos";
+    }
+
+    @PreDestroy
+    void closeScheduler() {
+        if (timerScheduler instanceof VirtualTimeScheduler virtual && clockSpeed != 1) {
+            virtual.close(); // Solo el acelerado es de este bean; uno pasado por constructor lo cierra quien lo creó
+        }
+    }
+}
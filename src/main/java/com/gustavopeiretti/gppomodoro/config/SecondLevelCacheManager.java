@@ -0,0 +1,47 @@
+package com.gustavopeiretti.gppomodoro.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Le da a Hibernate un CacheManager de JCache propio de este contexto para la caché de segundo nivel.
+ * <p>
+ * El proveedor de Ehcache entrega un único CacheManager por URI y class loader. Si Hibernate lo pidiera por la URI de
+ * {@code ehcache.xml}, todos los contextos de Spring de la JVM (los de las pruebas, por ejemplo) compartirían las
+ * regiones, y al cerrar uno Hibernate cerraría las cachés de los demás. Acá cada contexto arma el suyo desde el mismo
+ * archivo con una URI única; Hibernate lo cierra junto con la SessionFactory.
+ */
+@Component
+public class SecondLevelCacheManager implements HibernatePropertiesCustomizer {
+
+    private static final String DEFAULT_CONFIG = "ehcache.xml";
+    private static final AtomicInteger managerCount = new AtomicInteger();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        Object location = hibernateProperties.getOrDefault(ConfigSettings.CONFIG_URI, DEFAULT_CONFIG);
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(location.toString()));
+    }
+
+    private static CacheManager createCacheManager(String location) {
+        ClassLoader classLoader = SecondLevelCacheManager.class.getClassLoader();
+        URL config = classLoader.getResource(location);
+        if (config == null) {
+            throw new IllegalStateException("No se encontró la configuración de la caché de segundo nivel: " + location);
+        }
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        URI uri = URI.create("urn:gppomodoro:second-level-cache:" + managerCount.incrementAndGet());
+        return provider.getCacheManager(uri, new XmlConfiguration(config, classLoader));
+    }
+}
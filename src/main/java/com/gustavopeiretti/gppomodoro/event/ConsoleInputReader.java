@@ -0,0 +1,83 @@
+package com.gustavopeiretti.gppomodoro.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+/**
+ * Hilo dedicado que lee la entrada estándar línea a línea y la publica en el {@link EventLoop}.
+ * Es el único que bloquea en la lectura; el despachador solo espera en la cola de eventos.
+ * <p>
+ * Si tiene un {@code transcript}, escribe ahí cada línea leída tal cual: un guion que el modo headless puede
+ * reproducir.
+ */
+public class ConsoleInputReader implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsoleInputReader.class);
+
+    private final InputStream input;
+    private final EventLoop eventLoop;
+    private final BufferedWriter transcript;
+
+    public ConsoleInputReader(InputStream input, EventLoop eventLoop) {
+        this(input, eventLoop, null);
+    }
+
+    public ConsoleInputReader(InputStream input, EventLoop eventLoop, BufferedWriter transcript) {
+        this.input = input;
+        this.eventLoop = eventLoop;
+        this.transcript = transcript;
+    }
+
+    public Thread start() {
+        Thread thread = new Thread(this, "pomodoro-console-input");
+        thread.setDaemon(true); // No impide que la JVM termine mientras espera una línea
+        thread.start();
+        return thread;
+    }
+
+    @Override
+    public void run() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                record(line);
+                eventLoop.submitLine(line);
+            }
+        } catch (IOException e) {
+            log.warn("Error leyendo la entrada estándar", e);
+        } finally {
+            eventLoop.submitEndOfInput();
+            closeTranscript();
+        }
+    }
+
+    private void record(String line) {
+        if (transcript == null) {
+            return;
+        }
+        try {
+            transcript.write(line);
+            transcript.newLine();
+            transcript.flush(); // Línea a línea: si el proceso muere, lo ingresado hasta ahí queda grabado
+        } catch (IOException e) {
+            log.warn("No se pudo grabar la entrada en el guion", e);
+        }
+    }
+
+    private void closeTranscript() {
+        if (transcript == null) {
+            return;
+        }
+        try {
+            transcript.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el guion grabado", e);
+        }
+    }
+}
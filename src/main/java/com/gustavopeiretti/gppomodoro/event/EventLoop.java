@@ -0,0 +1,107 @@
+package com.gustavopeiretti.gppomodoro.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cola de eventos acotada con un único hilo despachador.
+ * <p>
+ * Las líneas de entrada (desde {@link ConsoleInputReader}) y los callbacks de los timers se encolan aquí y se
+ * aplican de a uno en el hilo que llama a {@link #nextLine()}, así que nunca compiten por la sesión.
+ * Mientras se espera una línea —incluso dentro de un prompt anidado del servicio— se siguen despachando los
+ * eventos del timer: no hay sondeo ni latencia mínima, el hilo duerme en la cola hasta que llega algo.
+ */
+public class EventLoop implements Executor {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLoop.class);
+
+    private final ArrayBlockingQueue<Runnable> queue;
+    // Solo se acceden desde el hilo despachador
+    private final ArrayDeque<String> pendingLines = new ArrayDeque<>();
+    // Eventos que publicó el propio despachador con la cola llena, en orden; pasan a la cola a medida que se libera
+    private final ArrayDeque<Runnable> overflow = new ArrayDeque<>();
+    private boolean inputClosed;
+    private volatile Thread dispatcher;
+
+    public EventLoop(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Encola un evento. Si la cola está llena, el productor espera (back-pressure). El propio despachador no puede
+     * esperarse a sí mismo: sus eventos quedan detrás de los que ya publicó y se despachan después, en orden y en
+     * el mismo hilo, nunca en el lugar.
+     */
+    @Override
+    public void execute(Runnable event) {
+        if (Thread.currentThread() == dispatcher) {
+            if (!overflow.isEmpty() || !queue.offer(event)) {
+                overflow.add(event);
+            }
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrumpido al encolar un evento", e);
+        }
+    }
+
+    public void submitLine(String line) {
+        execute(() -> pendingLines.add(line));
+    }
+
+    public void submitEndOfInput() {
+        execute(() -> inputClosed = true);
+    }
+
+    /**
+     * Despacha eventos hasta que haya una línea de entrada disponible. El hilo que la llama pasa a ser el despachador.
+     *
+     * @return la siguiente línea, o null si la entrada terminó
+     */
+    public String nextLine() {
+        dispatcher = Thread.currentThread();
+        while (pendingLines.isEmpty()) {
+            if (inputClosed) {
+                return null;
+            }
+            refillFromOverflow();
+            Runnable event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            dispatch(event);
+        }
+        return pendingLines.poll();
+    }
+
+    private void refillFromOverflow() {
+        Runnable event;
+        while ((event = overflow.peek()) != null && queue.offer(event)) {
+            overflow.poll();
+        }
+    }
+
+    private void dispatch(Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException e) {
+            // Un evento que falla no debe detener el bucle
+            log.error("Error al procesar un evento", e);
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size() + overflow.size();
+    }
+}
@@ -0,0 +1,28 @@
+package com.gustavopeiretti.gppomodoro.headless;
+
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.TerminalRenderer;
+
+import java.io.InputStream;
+
+/**
+ * ConsoleUI del modo headless: las entradas salen de un guion y la salida se compone pero no se muestra.
+ * Salir de la aplicación termina solo esta sesión, no el proceso.
+ */
+public class HeadlessConsoleUI extends ConsoleUI {
+
+    private volatile boolean exited;
+
+    public HeadlessConsoleUI(InputStream script) {
+        super(script, TerminalRenderer.discarding());
+    }
+
+    @Override
+    public void exit(int status) {
+        exited = true;
+    }
+
+    public boolean hasExited() {
+        return exited;
+    }
+}
@@ -0,0 +1,107 @@
+package com.gustavopeiretti.gppomodoro.headless;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de cada comando de una reproducción, agrupada por comando (la opción del menú o la respuesta a
+ * "siguiente Pomodoro" tal como aparece en el guion). Se guardan todas las muestras, así que los percentiles son
+ * exactos. No es thread-safe: cada sesión llena el suyo y después se combinan con {@link #merge}.
+ */
+public class ReplayReport {
+
+    private final Map<String, Samples> byCommand = new TreeMap<>();
+    private long wallNanos;
+
+    /**
+     * Latencias de un comando: arreglo primitivo que crece, sin un Long por muestra.
+     */
+    private static final class Samples {
+        private long[] nanos = new long[16];
+        private int size;
+        private int errors;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+    }
+
+    void record(String command, long nanos, boolean failed) {
+        Samples samples = byCommand.computeIfAbsent(command.isEmpty() ? "(enter)" : command, key -> new Samples());
+        samples.add(nanos);
+        if (failed) {
+            samples.errors++;
+        }
+    }
+
+    void merge(ReplayReport other) {
+        other.byCommand.forEach((command, samples) -> {
+            Samples merged = byCommand.computeIfAbsent(command, key -> new Samples());
+            for (int i = 0; i < samples.size; i++) {
+                merged.add(samples.nanos[i]);
+            }
+            merged.errors += samples.errors;
+        });
+    }
+
+    void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    public long getCommandCount() {
+        return byCommand.values().stream().mapToLong(samples -> samples.size).sum();
+    }
+
+    public long getCommandCount(String command) {
+        Samples samples = byCommand.get(command);
+        return samples != null ? samples.size : 0;
+    }
+
+    public long getErrorCount() {
+        return byCommand.values().stream().mapToLong(samples -> samples.errors).sum();
+    }
+
+    /**
+     * Comandos por segundo sobre el tiempo total de la reproducción (todas las sesiones a la vez).
+     */
+    public double getThroughputPerSecond() {
+        return wallNanos > 0 ? getCommandCount() * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos : 0;
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-12s %9s %7s %10s %10s %10s %10s%n",
+                "comando", "cantidad", "errores", "media_ms", "p50_ms", "p99_ms", "max_ms"));
+        byCommand.forEach((command, samples) -> {
+            long[] sorted = Arrays.copyOf(samples.nanos, samples.size);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long value : sorted) {
+                total += value;
+            }
+            out.append(String.format(Locale.ROOT, "%-12s %9d %7d %10.3f %10.3f %10.3f %10.3f%n", command,
+                    sorted.length, samples.errors, millis(total / (double) sorted.length),
+                    millis(percentile(sorted, 0.5)), millis(percentile(sorted, 0.99)),
+                    millis(sorted[sorted.length - 1])));
+        });
+        out.append(String.format(Locale.ROOT, "total: %d comandos (%d con error) en %.1f ms, %.1f comandos/s%n",
+                getCommandCount(), getErrorCount(), millis(wallNanos), getThroughputPerSecond()));
+        return out.toString();
+    }
+
+    // Percentil por rango más cercano sobre las muestras ordenadas
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.gustavopeiretti.gppomodoro.headless;
+
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modo headless: reproduce guiones de comandos contra {@link PomodoroService} sin terminal y mide cada comando.
+ * <p>
+ * Un guion tiene una línea por cada entrada, tal como se escribiría en la consola: opciones del menú, respuestas a
+ * los prompts, líneas vacías para Enter. Es el formato que graba {@code pomodoro.console.record-file}, así que una
+ * sesión real se puede reproducir tal cual. Cada comando es una entrada del menú junto con las respuestas que
+ * consume; su latencia va desde que se envía al servicio hasta que vuelve, con el lock de la sesión como en la
+ * consola. Con varias sesiones, cada una reproduce el guion completo con su propio usuario y en su propio hilo.
+ * <p>
+ * Los comandos se aplican apenas se leen, sin las pausas del usuario original. Un timer iniciado por el guion
+ * corre en tiempo real, así que solo vence dentro de la reproducción si el guion dura lo mismo que el timer.
+ */
+@Component
+public class ScriptReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(ScriptReplayer.class);
+    private static final String USER_PREFIX = "replay-";
+
+    private final PomodoroService pomodoroService;
+    private final SessionRegistry sessionRegistry;
+
+    public ScriptReplayer(PomodoroService pomodoroService, SessionRegistry sessionRegistry) {
+        this.pomodoroService = pomodoroService;
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * Origen del guion: cada sesión lo abre y lo lee de principio a fin.
+     */
+    @FunctionalInterface
+    public interface ScriptSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Guion desde un archivo, o desde la entrada estándar con {@code "-"}. La entrada estándar se lee a medida que
+     * llega si hay una sola sesión; con varias se lee entera una vez y cada sesión la recorre desde memoria.
+     */
+    public static ScriptSource source(String script, int sessions) throws IOException {
+        if (!"-".equals(script)) {
+            Path file = Path.of(script);
+            return () -> Files.newInputStream(file);
+        }
+        if (sessions == 1) {
+            return () -> System.in;
+        }
+        byte[] bytes = System.in.readAllBytes();
+        return () -> new ByteArrayInputStream(bytes);
+    }
+
+    public ReplayReport replay(ScriptSource source, int sessions) throws InterruptedException {
+        List<ReplayReport> reports = new ArrayList<>(sessions);
+        List<Thread> threads = new ArrayList<>(sessions);
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            ReplayReport report = new ReplayReport();
+            String userId = USER_PREFIX + i;
+            reports.add(report);
+            threads.add(Thread.ofPlatform().name("pomodoro-replay-" + i).start(() -> replaySession(source, userId, report)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ReplayReport total = new ReplayReport();
+        reports.forEach(total::merge);
+        total.setWallNanos(System.nanoTime() - start);
+        return total;
+    }
+
+    private void replaySession(ScriptSource source, String userId, ReplayReport report) {
+        HeadlessConsoleUI ui;
+        try {
+            ui = new HeadlessConsoleUI(source.open());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el guion para " + userId, e);
+        }
+        try {
+            String input;
+            while (!ui.hasExited() && (input = ui.getUserInput()) != null) {
+                String command = input;
+                boolean failed = false;
+                long commandStart = System.nanoTime();
+                try {
+                    sessionRegistry.execute(userId, userSession -> pomodoroService.handleUserInput(command,
+                            userSession.getSession(), userSession.getTimer(), ui));
+                } catch (RuntimeException e) {
+                    failed = true; // Se registra y se sigue: un comando que falla no corta la reproducción
+                    log.warn("El comando '{}' falló en la sesión {}", command, userId, e);
+                }
+                report.record(command, System.nanoTime() - commandStart, failed);
+            }
+        } finally {
+            sessionRegistry.remove(userId); // Detiene el timer que el guion haya dejado en marcha
+            ui.closeScanner();
+        }
+    }
+}
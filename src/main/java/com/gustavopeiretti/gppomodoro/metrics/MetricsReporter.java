@@ -0,0 +1,145 @@
+package com.gustavopeiretti.gppomodoro.metrics;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vuelca el contenido del registro de métricas como texto, a la consola o a un archivo.
+ * <p>
+ * Una línea por medidor: {@code nombre{tag=valor} estadística=valor ...}. Los timers se informan en milisegundos,
+ * con sus percentiles si los publican. Al final va la tasa de aciertos de cada caché que cuenta sus pedidos con
+ * {@code result=hit|miss}, como las regiones de segundo nivel y la caché de consultas de Hibernate. Si {@code pomodoro.metrics.dump-file} tiene una ruta, el volcado también
+ * se escribe al cerrar la aplicación.
+ */
+@Component
+public class MetricsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pomodoro.metrics.dump-file:}")
+    private String dumpFile = "";
+
+    public MetricsReporter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        meterRegistry.getMeters().stream()
+                .filter(meter -> !isPercentileGauge(meter))
+                .sorted(Comparator.comparing((Meter meter) -> meter.getId().getName())
+                        .thenComparing(meter -> meter.getId().getTags().toString()))
+                .forEach(meter -> appendMeter(out, meter));
+        appendHitRatios(out);
+        return out.toString();
+    }
+
+    /**
+     * Los timers que publican percentiles registran además un gauge {@code <nombre>.percentile{phi=...}} por cada
+     * uno; esos valores ya salen en la línea del timer, así que no se repiten.
+     */
+    private static boolean isPercentileGauge(Meter meter) {
+        return meter.getId().getTag("phi") != null;
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Files.writeString(file, render(), StandardCharsets.UTF_8);
+    }
+
+    private static void appendMeter(StringBuilder out, Meter meter) {
+        appendName(out, meter.getId(), null);
+        if (meter instanceof Timer timer) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            out.append(" count=").append(snapshot.count());
+            appendValue(out, "mean_ms", snapshot.mean(TimeUnit.MILLISECONDS));
+            appendValue(out, "max_ms", snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                appendValue(out, "p" + Math.round(percentile.percentile() * 100) + "_ms",
+                        percentile.value(TimeUnit.MILLISECONDS));
+            }
+        } else {
+            for (Measurement measurement : meter.measure()) {
+                appendValue(out, measurement.getStatistic().getTagValueRepresentation(), measurement.getValue());
+            }
+        }
+        out.append(System.lineSeparator());
+    }
+
+    /**
+     * Una línea {@code nombre{tags} hit_ratio=...} por caché, sumando sus contadores de aciertos y fallos.
+     */
+    private void appendHitRatios(StringBuilder out) {
+        Map<String, double[]> hitsAndMisses = new TreeMap<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            String result = meter.getId().getTag("result");
+            if (!"hit".equals(result) && !"miss".equals(result)) {
+                continue;
+            }
+            StringBuilder name = new StringBuilder();
+            appendName(name, meter.getId(), "result");
+            double[] counts = hitsAndMisses.computeIfAbsent(name.toString(), key -> new double[2]);
+            for (Measurement measurement : meter.measure()) {
+                counts["hit".equals(result) ? 0 : 1] += measurement.getValue();
+            }
+        }
+        hitsAndMisses.forEach((name, counts) -> {
+            double requests = counts[0] + counts[1];
+            if (requests > 0) {
+                out.append(name);
+                appendValue(out, "hit_ratio", counts[0] / requests);
+                out.append(System.lineSeparator());
+            }
+        });
+    }
+
+    private static void appendName(StringBuilder out, Meter.Id id, String skippedTag) {
+        out.append(id.getName());
+        int start = out.length();
+        for (Tag tag : id.getTags()) {
+            if (!tag.getKey().equals(skippedTag)) {
+                out.append(out.length() == start ? '{' : ',').append(tag.getKey()).append('=').append(tag.getValue());
+            }
+        }
+        if (out.length() > start) {
+            out.append('}');
+        }
+    }
+
+    private static void appendValue(StringBuilder out, String name, double value) {
+        out.append(' ').append(name).append('=').append(String.format(Locale.ROOT, "%.3f", value));
+    }
+
+    @PreDestroy
+    void dumpOnShutdown() {
+        if (dumpFile == null || dumpFile.isBlank()) {
+            return;
+        }
+        try {
+            writeTo(Path.of(dumpFile));
+        } catch (IOException e) {
+            log.warn("No se pudieron volcar las métricas a {}", dumpFile, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.gustavopeiretti.gppomodoro.metrics;
+
+import com.gustavopeiretti.gppomodoro.service.PomodoroCreditWriter;
+import com.gustavopeiretti.gppomodoro.service.PomodoroEventLog;
+import com.gustavopeiretti.gppomodoro.service.TaskSummaryCache;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges y contadores de los componentes con estado en memoria: caché de tareas, escrituras diferidas y sesiones.
+ * Spring Boot registra automáticamente todo {@link MeterBinder} en el registro de la aplicación.
+ */
+@Component
+public class PomodoroMetrics implements MeterBinder {
+
+    private final TaskSummaryCache taskSummaryCache;
+    private final PomodoroCreditWriter creditWriter;
+    private final PomodoroEventLog eventLog;
+    private final SessionRegistry sessionRegistry;
+
+    public PomodoroMetrics(TaskSummaryCache taskSummaryCache, PomodoroCreditWriter creditWriter,
+                           PomodoroEventLog eventLog, SessionRegistry sessionRegistry) {
+        this.taskSummaryCache = taskSummaryCache;
+        this.creditWriter = creditWriter;
+        this.eventLog = eventLog;
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pomodoro.cache.task-summary.size", taskSummaryCache, TaskSummaryCache::size)
+                .register(registry);
+        FunctionCounter.builder("pomodoro.cache.task-summary.requests", taskSummaryCache, TaskSummaryCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("pomodoro.cache.task-summary.requests", taskSummaryCache, TaskSummaryCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("pomodoro.cache.task-summary.evictions", taskSummaryCache, TaskSummaryCache::getEvictionCount)
+                .register(registry);
+        Gauge.builder("pomodoro.credit.pending-tasks", creditWriter, PomodoroCreditWriter::getPendingTaskCount)
+                .description("Tareas con pomodoros acreditados sin volcar")
+                .register(registry);
+        Gauge.builder("pomodoro.history.queued-events", eventLog, PomodoroEventLog::getQueuedCount)
+                .description("Eventos del historial sin persistir")
+                .register(registry);
+        FunctionCounter.builder("pomodoro.history.rejected-events", eventLog, PomodoroEventLog::getRejectedCount)
+                .description("Eventos del historial rechazados por cola llena")
+                .register(registry);
+        Gauge.builder("pomodoro.sessions.active", sessionRegistry, SessionRegistry::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Rollup histórico por categoría (totales de siempre), mantenido junto con {@link DailyCategoryStats}.
+ */
+@Entity
+@Table(name = "category_stats")
+public class CategoryStats {
+    @Id
+    private Long categoryId;
+
+    private int pomodoros = 0;
+
+    private int tasksCompleted = 0;
+
+    public CategoryStats() {
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public int getPomodoros() {
+        return pomodoros;
+    }
+
+    public int getTasksCompleted() {
+        return tasksCompleted;
+    }
+}
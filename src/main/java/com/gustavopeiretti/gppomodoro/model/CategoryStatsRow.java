@@ -0,0 +1,7 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+/**
+ * Fila de reporte de productividad: totales de una categoría en un período.
+ */
+public record CategoryStatsRow(String categoryName, Long pomodoros, Long tasksCompleted) {
+}
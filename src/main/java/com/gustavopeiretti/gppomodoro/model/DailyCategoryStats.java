@@ -0,0 +1,32 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Rollup diario por categoría, mantenido incrementalmente al acreditar pomodoros y al completar tareas.
+ */
+@Entity
+@Table(name = "daily_category_stats")
+public class DailyCategoryStats {
+    @EmbeddedId
+    private DailyCategoryStatsId id;
+
+    private int pomodoros = 0;
+
+    private int tasksCompleted = 0;
+
+    public DailyCategoryStats() {
+    }
+
+    public DailyCategoryStatsId getId() {
+        return id;
+    }
+
+    public int getPomodoros() {
+        return pomodoros;
+    }
+
+    public int getTasksCompleted() {
+        return tasksCompleted;
+    }
+}
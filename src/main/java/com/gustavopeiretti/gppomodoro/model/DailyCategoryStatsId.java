@@ -0,0 +1,46 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class DailyCategoryStatsId implements Serializable {
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    public DailyCategoryStatsId() {
+    }
+
+    public DailyCategoryStatsId(LocalDate statDate, Long categoryId) {
+        this.statDate = statDate;
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyCategoryStatsId that = (DailyCategoryStatsId) o;
+        return Objects.equals(statDate, that.statDate) && Objects.equals(categoryId, that.categoryId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(statDate, categoryId);
+    }
+}
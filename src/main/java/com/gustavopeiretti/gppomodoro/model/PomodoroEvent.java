@@ -0,0 +1,99 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro append-only del historial: una fila por cada transición de {@link PomodoroState} o pausa/reanudación.
+ * Para los eventos que no cambian de estado (COMPLETED de un Pomodoro, PAUSED, RESUMED) fromState == toState.
+ */
+@Entity
+@Table(name = "pomodoro_event")
+public class PomodoroEvent {
+    // Secuencia con allocationSize igual al INCREMENT BY: Hibernate asigna ids sin ir a la base y puede agrupar los INSERT
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pomodoro_event_seq")
+    @SequenceGenerator(name = "pomodoro_event_seq", sequenceName = "pomodoro_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PomodoroEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PomodoroState fromState;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PomodoroState toState;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    private Integer plannedSeconds;
+
+    private Integer remainingSeconds;
+
+    public PomodoroEvent() {
+    }
+
+    public PomodoroEvent(String userId, Long taskId, PomodoroEventType eventType, PomodoroState fromState,
+                         PomodoroState toState, Integer plannedSeconds, Integer remainingSeconds) {
+        this.userId = userId;
+        this.taskId = taskId;
+        this.eventType = eventType;
+        this.fromState = fromState;
+        this.toState = toState;
+        this.occurredAt = LocalDateTime.now();
+        this.plannedSeconds = plannedSeconds;
+        this.remainingSeconds = remainingSeconds;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public PomodoroEventType getEventType() {
+        return eventType;
+    }
+
+    public PomodoroState getFromState() {
+        return fromState;
+    }
+
+    public PomodoroState getToState() {
+        return toState;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Integer getPlannedSeconds() {
+        return plannedSeconds;
+    }
+
+    public Integer getRemainingSeconds() {
+        return remainingSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s | %s | %s -> %s | Tarea: %s", occurredAt, eventType, fromState, toState, taskId);
+    }
+}
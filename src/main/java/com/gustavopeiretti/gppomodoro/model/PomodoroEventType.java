@@ -0,0 +1,9 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+public enum PomodoroEventType {
+    STARTED,    // Se inició un Pomodoro o un descanso
+    COMPLETED,  // El temporizador llegó a cero
+    PAUSED,
+    RESUMED,
+    STOPPED     // Finalizado manualmente (finishCurrentTimerAndCycle o 'n' al esperar el siguiente Pomodoro)
+}
@@ -1,13 +1,22 @@
 package com.gustavopeiretti.gppomodoro.model;
 
 public class PomodoroSession {
-    private PomodoroState currentState;
-    private int pomodoroCount;
-    private int cyclePomodoroCount;
-    private int remainingSecondsInTimer;
-    private Long currentTaskId;
+    public static final String LOCAL_USER_ID = "local";
+
+    private final String userId;
+    // Se modifican con el lock de la sesión tomado; volatile porque la API HTTP los lee sin él
+    private volatile PomodoroState currentState;
+    private volatile int pomodoroCount;
+    private volatile int cyclePomodoroCount;
+    private volatile int remainingSecondsInTimer;
+    private volatile Long currentTaskId;
 
     public PomodoroSession() {
+        this(LOCAL_USER_ID);
+    }
+
+    public PomodoroSession(String userId) {
+        this.userId = userId;
         this.currentState = PomodoroState.STOPPED;
         this.pomodoroCount = 0;
         this.cyclePomodoroCount = 0;
@@ -15,6 +24,10 @@ public class PomodoroSession {
         this.currentTaskId = null;
     }
 
+    public String getUserId() {
+        return userId;
+    }
+
     public PomodoroState getCurrentState() {
         return currentState;
     }
@@ -1,14 +1,21 @@
 package com.gustavopeiretti.gppomodoro.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 public class Task {
+    // Secuencia y no IDENTITY: así Hibernate guarda la tarea en la caché al insertarla. allocationSize 1 porque los
+    // INSERT por JDBC (importación) toman ids de la misma secuencia como valor por defecto de la columna
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 1)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,11 @@
+package com.gustavopeiretti.gppomodoro.model;
+
+/**
+ * Vista inmutable y liviana de una {@link Task}, pensada para cachearse y leerse en cada tick/redibujado.
+ */
+public record TaskSummary(Long id, String name, int pomodorosSpent, boolean completed) {
+
+    public static TaskSummary of(Task task) {
+        return new TaskSummary(task.getId(), task.getName(), task.getPomodorosSpent(), task.isCompleted());
+    }
+}
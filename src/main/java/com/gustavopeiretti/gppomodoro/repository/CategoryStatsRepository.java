@@ -0,0 +1,52 @@
+package com.gustavopeiretti.gppomodoro.repository;
+
+import com.gustavopeiretti.gppomodoro.model.CategoryStats;
+import com.gustavopeiretti.gppomodoro.model.CategoryStatsRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStats, Long> {
+
+    // Las escrituras nativas declaran la única tabla que tocan: sin esto Hibernate no sabe qué cambió y vacía toda la
+    // caché de segundo nivel (tareas y categorías incluidas) en cada pomodoro acreditado
+    String ROLLUP_TABLE = "category_stats";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+    @Query(value = "MERGE INTO category_stats cs " +
+            "USING (SELECT t.category_id FROM task t WHERE t.id = :taskId) s " +
+            "ON cs.category_id = s.category_id " +
+            "WHEN MATCHED THEN UPDATE SET pomodoros = pomodoros + :pomodoros, tasks_completed = tasks_completed + :tasksCompleted " +
+            "WHEN NOT MATCHED THEN INSERT (category_id, pomodoros, tasks_completed) " +
+            "VALUES (s.category_id, :pomodoros, :tasksCompleted)", nativeQuery = true)
+    int addForTask(@Param("taskId") Long taskId, @Param("pomodoros") int pomodoros,
+                   @Param("tasksCompleted") int tasksCompleted);
+
+    // Una fila por categoría: constante respecto del volumen de tareas
+    @Query("SELECT new com.gustavopeiretti.gppomodoro.model.CategoryStatsRow(c.name, SUM(s.pomodoros), SUM(s.tasksCompleted)) " +
+            "FROM CategoryStats s JOIN Category c ON c.id = s.categoryId GROUP BY c.name ORDER BY c.name")
+    List<CategoryStatsRow> summarizeAll();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+    @Query(value = "DELETE FROM category_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    // Recalcula los totales sumando los rollups diarios, que deben reconstruirse antes: los dos salen de los mismos
+    // datos y los días de una categoría siempre suman su total
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+    @Query(value = "INSERT INTO category_stats (category_id, pomodoros, tasks_completed) " +
+            "SELECT d.category_id, SUM(d.pomodoros), SUM(d.tasks_completed) " +
+            "FROM daily_category_stats d GROUP BY d.category_id", nativeQuery = true)
+    int rebuildFromDailyStats();
+}
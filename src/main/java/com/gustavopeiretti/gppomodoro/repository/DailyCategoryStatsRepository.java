@@ -0,0 +1,70 @@
+package com.gustavopeiretti.gppomodoro.repository;
+
+import com.gustavopeiretti.gppomodoro.model.CategoryStatsRow;
+import com.gustavopeiretti.gppomodoro.model.DailyCategoryStats;
+import com.gustavopeiretti.gppomodoro.model.DailyCategoryStatsId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCategoryStatsRepository extends JpaRepository<DailyCategoryStats, DailyCategoryStatsId> {
+
+    // Única tabla que tocan las escrituras nativas, por el mismo motivo que en CategoryStatsRepository
+    String ROLLUP_TABLE = "daily_category_stats";
+
+    // Upsert incremental: la categoría se resuelve desde la tarea en la misma sentencia
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+    @Query(value = "MERGE INTO daily_category_stats d " +
+            "USING (SELECT CAST(:statDate AS DATE) AS stat_date, t.category_id FROM task t WHERE t.id = :taskId) s " +
+            "ON d.stat_date = s.stat_date AND d.category_id = s.category_id " +
+            "WHEN MATCHED THEN UPDATE SET pomodoros = pomodoros + :pomodoros, tasks_completed = tasks_completed + :tasksCompleted " +
+            "WHEN NOT MATCHED THEN INSERT (stat_date, category_id, pomodoros, tasks_completed) " +
+            "VALUES (s.stat_date, s.category_id, :pomodoros, :tasksCompleted)", nativeQuery = true)
+    int addForTask(@Param("statDate") LocalDate statDate, @Param("taskId") Long taskId,
+                   @Param("pomodoros") int pomodoros, @Param("tasksCompleted") int tasksCompleted);
+
+    // Lee como máximo (días del rango x categorías) filas, sin importar cuánto historial exista
+    @Query("SELECT new com.gustavopeiretti.gppomodoro.model.CategoryStatsRow(c.name, SUM(d.pomodoros), SUM(d.tasksCompleted)) " +
+            "FROM DailyCategoryStats d JOIN Category c ON c.id = d.id.categoryId " +
+            "WHERE d.id.statDate BETWEEN :from AND :to GROUP BY c.name ORDER BY c.name")
+    List<CategoryStatsRow> summarizeBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+    @Query(value = "DELETE FROM daily_category_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    // Recalcula los rollups diarios desde los datos base. El total de pomodoros de cada tarea es pomodoros_spent;
+    // el historial solo aporta la fecha de cada uno. Hasta pomodoros_spent eventos COMPLETED de la tarea van a su
+    // día; los pomodoros sin evento (anteriores al historial, importados o de un lote perdido) van al día en que se
+    // completó la tarea, o al de su creación si sigue pendiente. Así la suma de los días da el total de la tarea.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ROLLUP_TABLE))
+    @Query(value = "INSERT INTO daily_category_stats (stat_date, category_id, pomodoros, tasks_completed) " +
+            "SELECT stat_date, category_id, SUM(pomodoros), SUM(tasks_completed) FROM (" +
+            "  SELECT CAST(e.occurred_at AS DATE) AS stat_date, t.category_id, 1 AS pomodoros, 0 AS tasks_completed " +
+            "  FROM (SELECT task_id, occurred_at, ROW_NUMBER() OVER (PARTITION BY task_id ORDER BY occurred_at, id) AS n " +
+            "        FROM pomodoro_event WHERE event_type = 'COMPLETED' AND from_state = 'POMODORO') e " +
+            "  JOIN task t ON t.id = e.task_id WHERE e.n <= t.pomodoros_spent " +
+            "  UNION ALL " +
+            "  SELECT CAST(COALESCE(t.completion_date, t.creation_date) AS DATE), t.category_id, " +
+            "         t.pomodoros_spent - COALESCE(h.events, 0), 0 " +
+            "  FROM task t LEFT JOIN (SELECT task_id, COUNT(*) AS events FROM pomodoro_event " +
+            "        WHERE event_type = 'COMPLETED' AND from_state = 'POMODORO' GROUP BY task_id) h ON h.task_id = t.id " +
+            "  WHERE t.pomodoros_spent > COALESCE(h.events, 0) " +
+            "  UNION ALL " +
+            "  SELECT CAST(COALESCE(t.completion_date, t.creation_date) AS DATE), t.category_id, 0, 1 " +
+            "  FROM task t WHERE t.completed = TRUE" +
+            ") x GROUP BY stat_date, category_id", nativeQuery = true)
+    int rebuildFromBaseData();
+}
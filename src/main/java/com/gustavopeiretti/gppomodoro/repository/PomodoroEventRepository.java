@@ -0,0 +1,12 @@
+package com.gustavopeiretti.gppomodoro.repository;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PomodoroEventRepository extends JpaRepository<PomodoroEvent, Long> {
+    List<PomodoroEvent> findByUserIdOrderByOccurredAtAsc(String userId);
+    List<PomodoroEvent> findByTaskIdOrderByOccurredAtAsc(Long taskId);
+}
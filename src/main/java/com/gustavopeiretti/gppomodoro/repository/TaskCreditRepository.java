@@ -0,0 +1,15 @@
+package com.gustavopeiretti.gppomodoro.repository;
+
+/**
+ * Fragmento de {@link TaskRepository} para acreditar pomodoros sin vaciar la región task de la caché de segundo nivel.
+ */
+public interface TaskCreditRepository {
+
+    /**
+     * Suma {@code delta} a los pomodoros de la tarea con un UPDATE atómico en la base de datos, sin leer la entidad y
+     * sin perder incrementos concurrentes. Debe llamarse dentro de una transacción.
+     *
+     * @return filas actualizadas: 0 si la tarea no existe
+     */
+    int creditPomodoros(Long id, int delta);
+}
@@ -0,0 +1,56 @@
+package com.gustavopeiretti.gppomodoro.repository;
+
+import com.gustavopeiretti.gppomodoro.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TransactionRequiredException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * El UPDATE va por JDBC sobre la conexión de la transacción en curso. Un UPDATE masivo de Hibernate (JPQL o nativo)
+ * desaloja al confirmar la región entera de la entidad, y cada volcado de créditos vaciaría la caché de tareas.
+ * Como Hibernate no ve este UPDATE, al confirmar se desaloja solo la entrada de la tarea acreditada y se vuelve a
+ * leer de la base, así la caché queda con el total nuevo. Si la transacción se revierte la entrada no se toca.
+ */
+class TaskCreditRepositoryImpl implements TaskCreditRepository {
+
+    private static final String CREDIT_POMODOROS = "UPDATE task SET pomodoros_spent = pomodoros_spent + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    TaskCreditRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public int creditPomodoros(Long id, int delta) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new TransactionRequiredException("creditPomodoros debe llamarse dentro de una transacción");
+        }
+        int updated = jdbcTemplate.update(CREDIT_POMODOROS, delta, id);
+        if (updated > 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshCachedTask(id);
+                }
+            });
+        }
+        return updated;
+    }
+
+    private void refreshCachedTask(Long id) {
+        entityManagerFactory.getCache().evict(Task.class, id);
+        // EntityManager propio: el de la transacción que terminó puede tener la tarea con el total anterior
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.find(Task.class, id); // Lee la fila confirmada y la guarda en la región task
+        } finally {
+            entityManager.close();
+        }
+    }
+}
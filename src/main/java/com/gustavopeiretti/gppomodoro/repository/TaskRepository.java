@@ -1,12 +1,28 @@
 package com.gustavopeiretti.gppomodoro.repository;
 
 import com.gustavopeiretti.gppomodoro.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByCompletedFalseOrderByCreationDateAsc();
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskCreditRepository {
+    // Paginación por keyset sobre (completed, creation_date, id), servida por idx_task_pending_keyset.
+    // Cada página es un seek sobre el índice: su costo no depende de cuántas páginas se hayan recorrido antes.
+    // Cacheable: la caché guarda los ids de la página y las tareas salen de la región task. Cualquier escritura de
+    // Hibernate sobre task (crear, completar) invalida las páginas guardadas; acreditar pomodoros no, porque no cambia
+    // qué tareas entran en una página ni su orden.
+    @EntityGraph(attributePaths = "category")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Window<Task> findByCompletedFalseOrderByCreationDateAscIdAsc(ScrollPosition position, Limit limit);
     List<Task> findByCategoryNameAndCompletedFalseOrderByCreationDateAsc(String categoryName);
-}
\ No newline at end of file
+}
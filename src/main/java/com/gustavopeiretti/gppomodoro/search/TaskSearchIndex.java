@@ -0,0 +1,473 @@
+package com.gustavopeiretti.gppomodoro.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre el nombre y la descripción de las tareas pendientes.
+ * <p>
+ * Los términos se normalizan (minúsculas, sin acentos) y viven en un mapa ordenado, así que una palabra de la consulta
+ * encuentra todos los términos que empiezan con ella con un rango del mapa. Todas las palabras de la consulta deben
+ * aparecer (AND). La búsqueda recorre solo las tareas del término más raro de la consulta y verifica el resto contra
+ * los términos de cada tarea, de modo que su costo depende de cuántas tareas contienen esa palabra y no del tamaño
+ * del backlog.
+ * <p>
+ * Ranking: suma por palabra del mejor término que coincide, pesado por idf ({@code log(1 + N/df)}), el doble si está en
+ * el nombre y la mitad si solo coincide como prefijo. A igual puntaje, primero la tarea más antigua.
+ * <p>
+ * Se mantiene sincronizado al crear, completar e importar tareas; al arrancar se carga en segundo plano desde la base.
+ * Si la carga falla se reintenta, con una espera que se duplica desde {@code pomodoro.search.load-retry-ms}, y sigue
+ * desde la última tarea leída.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final String[] NO_TERMS = new String[0];
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final long DEFAULT_LOAD_RETRY_MILLIS = 5_000;
+    private static final long MAX_LOAD_RETRY_MILLIS = 60_000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Protegidos por lock
+    // Mismos términos en dos mapas: el hash para indexar una palabra exacta, el ordenado para los rangos de prefijo
+    private final HashMap<String, Term> termsByText = new HashMap<>();
+    private final TreeMap<String, Term> terms = new TreeMap<>();
+    private final ArrayList<Term> termsById = new ArrayList<>();
+    // Ids de términos que ya no usa ninguna tarea, para reutilizarlos en vez de dejar huecos en termsById
+    private final ArrayDeque<Integer> freeTermIds = new ArrayDeque<>();
+    private final HashMap<Long, Doc> docs = new HashMap<>();
+    // Tareas quitadas mientras corre una carga: la página que las leyó pudo verlas todavía pendientes
+    private final HashSet<Long> removedWhileLoading = new HashSet<>();
+    private boolean loading;
+    // Serializa las cargas desde la base; loadedThroughId es el id más alto ya leído por ellas
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final long loadRetryMillis;
+    private long loadedThroughId;
+    private volatile boolean ready;
+
+    @Autowired
+    public TaskSearchIndex(NamedParameterJdbcTemplate jdbcTemplate,
+                           @Value("${pomodoro.search.load-retry-ms:5000}") long loadRetryMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loadRetryMillis = loadRetryMillis;
+    }
+
+    public TaskSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, DEFAULT_LOAD_RETRY_MILLIS);
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     */
+    public record Hit(long taskId, String name, double score) {
+    }
+
+    /**
+     * Término del índice con las tareas que lo contienen. Las listas guardan la tarea misma y no su id, para que
+     * recorrerlas no pase por el mapa de tareas. Borrado perezoso: las tareas quitadas quedan marcadas hasta que son
+     * la mitad de la lista y se compacta.
+     */
+    private static final class Term {
+        private final String text;
+        private final int id;
+        private Doc[] postings = new Doc[2];
+        private int size;
+        private int dead;
+
+        Term(String text, int id) {
+            this.text = text;
+            this.id = id;
+        }
+
+        void add(Doc doc) {
+            if (size == postings.length) {
+                postings = Arrays.copyOf(postings, size * 2);
+            }
+            postings[size++] = doc;
+        }
+
+        int live() {
+            return size - dead;
+        }
+    }
+
+    /**
+     * Tarea indexada: ids de sus términos, primero los del nombre ({@code nameTermCount}) y después los de la
+     * descripción, en un solo arreglo contiguo.
+     */
+    private static final class Doc {
+        private final long taskId;
+        private final String name;
+        private final int[] termIds;
+        private final int nameTermCount;
+        private boolean removed;
+
+        Doc(long taskId, String name, int[] termIds, int nameTermCount) {
+            this.taskId = taskId;
+            this.name = name;
+            this.termIds = termIds;
+            this.nameTermCount = nameTermCount;
+        }
+    }
+
+    /**
+     * Términos que coinciden con una palabra de la consulta, ordenados por id para buscarlos con búsqueda binaria,
+     * con su peso ya calculado.
+     */
+    private record TokenMatch(NavigableMap<String, Term> range, int[] termIds, double[] weights, long live) {
+    }
+
+    // ApplicationStartedEvent y no ApplicationReadyEvent: este último llega recién cuando termina el bucle de la consola
+    @EventListener(ApplicationStartedEvent.class)
+    void loadInBackground() {
+        Thread loader = new Thread(this::loadUntilReady, "pomodoro-search-index");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Carga inicial: reintenta hasta que una carga completa termina bien. Cada reintento sigue desde la última tarea
+     * leída. Solo se abandona si el hilo se interrumpe.
+     */
+    void loadUntilReady() {
+        long start = System.nanoTime();
+        long retryMillis = loadRetryMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                catchUp();
+                ready = true;
+                log.info("Índice de búsqueda cargado: {} tareas en {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("No se pudo cargar el índice de búsqueda de tareas (intento {}); se reintenta en {} ms",
+                        attempt, retryMillis, e);
+            }
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Carga del índice de búsqueda interrumpida: las búsquedas pueden no ver todas las tareas");
+                return;
+            }
+            retryMillis = Math.min(retryMillis * 2, MAX_LOAD_RETRY_MILLIS);
+        }
+    }
+
+    /**
+     * false mientras la carga inicial sigue en curso: las búsquedas pueden no ver todas las tareas.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexa las tareas pendientes que todavía no se leyeron de la base (id mayor que el último cargado), de a
+     * páginas por keyset. Se usa en la carga inicial y después de una importación. Una tarea que se completa mientras
+     * tanto no se agrega aunque su página la haya leído pendiente.
+     *
+     * @return cantidad de tareas leídas
+     */
+    public int catchUp() {
+        loadLock.lock();
+        setLoading(true);
+        try {
+            int loaded = 0;
+            int[] pageSize = new int[1];
+            do {
+                pageSize[0] = 0;
+                jdbcTemplate.query("SELECT id, name, description FROM task WHERE completed = FALSE AND id > :lastId "
+                                + "ORDER BY id LIMIT :limit", Map.of("lastId", loadedThroughId, "limit", LOAD_PAGE_SIZE),
+                        rs -> {
+                            loadedThroughId = rs.getLong("id");
+                            add(loadedThroughId, rs.getString("name"), rs.getString("description"), true);
+                            pageSize[0]++;
+                        });
+                loaded += pageSize[0];
+            } while (pageSize[0] == LOAD_PAGE_SIZE);
+            return loaded;
+        } finally {
+            setLoading(false);
+            loadLock.unlock();
+        }
+    }
+
+    private void setLoading(boolean loading) {
+        lock.writeLock().lock();
+        try {
+            this.loading = loading;
+            removedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega una tarea pendiente. Si ya estaba indexada no hace nada (las tareas no se renombran).
+     */
+    public void add(long taskId, String name, String description) {
+        add(taskId, name, description, false);
+    }
+
+    private void add(long taskId, String name, String description, boolean fromLoad) {
+        String[] nameTokens = tokenize(name);
+        String[] descriptionTokens = tokenize(description);
+        lock.writeLock().lock();
+        try {
+            if (docs.containsKey(taskId) || (fromLoad && removedWhileLoading.contains(taskId))) {
+                return;
+            }
+            int[] termIds = new int[nameTokens.length + descriptionTokens.length];
+            for (int i = 0; i < nameTokens.length; i++) {
+                termIds[i] = termFor(nameTokens[i]).id;
+            }
+            for (int i = 0; i < descriptionTokens.length; i++) {
+                termIds[nameTokens.length + i] = termFor(descriptionTokens[i]).id;
+            }
+            Doc doc = new Doc(taskId, name, termIds, nameTokens.length);
+            docs.put(taskId, doc);
+            for (int termId : distinct(termIds)) {
+                termsById.get(termId).add(doc); // Un término repetido (o en nombre y descripción) se registra una vez
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Term termFor(String text) {
+        Term term = termsByText.get(text);
+        if (term == null) {
+            Integer freeId = freeTermIds.poll();
+            term = new Term(text, freeId != null ? freeId : termsById.size());
+            termsByText.put(text, term);
+            terms.put(text, term);
+            if (freeId != null) {
+                termsById.set(freeId, term);
+            } else {
+                termsById.add(term);
+            }
+        }
+        return term;
+    }
+
+    private static int[] distinct(int[] termIds) {
+        int[] sorted = termIds.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    /**
+     * Quita una tarea (completada o eliminada).
+     */
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            Doc doc = docs.remove(taskId);
+            if (doc == null) {
+                if (loading) {
+                    removedWhileLoading.add(taskId); // Puede estar en una página ya leída que todavía no se indexó
+                }
+                return;
+            }
+            doc.removed = true;
+            for (int termId : distinct(doc.termIds)) {
+                Term term = termsById.get(termId);
+                term.dead++;
+                if (term.dead == term.size) {
+                    termsByText.remove(term.text);
+                    terms.remove(term.text);
+                    // Ninguna tarea viva lo usa: las quitadas que aún lo referencian se saltean al buscar
+                    termsById.set(termId, null);
+                    freeTermIds.push(termId);
+                } else if (term.dead * 2 > term.size) {
+                    compact(term);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void compact(Term term) {
+        int live = 0;
+        for (int i = 0; i < term.size; i++) {
+            if (!term.postings[i].removed) {
+                term.postings[live++] = term.postings[i];
+            }
+        }
+        Arrays.fill(term.postings, live, term.size, null);
+        term.size = live;
+        term.dead = 0;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tareas pendientes que contienen todas las palabras de la consulta (cada una como palabra completa o prefijo),
+     * de mayor a menor puntaje.
+     */
+    public List<Hit> search(String query, int limit) {
+        String[] tokens = new LinkedHashSet<>(Arrays.asList(tokenize(query))).toArray(NO_TERMS);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            double totalDocs = docs.size();
+            TokenMatch[] matches = new TokenMatch[tokens.length];
+            int driver = 0;
+            for (int t = 0; t < tokens.length; t++) {
+                matches[t] = match(tokens[t], totalDocs);
+                if (matches[t].live() == 0) {
+                    return List.of(); // Una palabra sin coincidencias: ninguna tarea las tiene todas
+                }
+                if (matches[t].live() < matches[driver].live()) {
+                    driver = t;
+                }
+            }
+            // La palabra con menos tareas guía la búsqueda; el resto se verifica contra los términos de cada tarea
+            Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Comparator.comparingLong(Hit::taskId).reversed());
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, worstFirst);
+            for (Term term : matches[driver].range().values()) {
+                for (int i = 0; i < term.size; i++) {
+                    Doc doc = term.postings[i];
+                    if (doc.removed) {
+                        continue;
+                    }
+                    double score = score(doc, matches, driver, term.id);
+                    if (score > 0 && (top.size() < limit || beats(score, doc.taskId, top.peek()))) {
+                        top.offer(new Hit(doc.taskId, doc.name, score));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(worstFirst.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mismo orden que worstFirst, sin crear el Hit para comparar
+    private static boolean beats(double score, long taskId, Hit worst) {
+        return score > worst.score() || (score == worst.score() && taskId < worst.taskId());
+    }
+
+    private TokenMatch match(String token, double totalDocs) {
+        NavigableMap<String, Term> range = terms.subMap(token, true, token + Character.MAX_VALUE, false);
+        int[] termIds = new int[range.size()];
+        double[] weights = new double[termIds.length];
+        long live = 0;
+        int n = 0;
+        for (Term term : range.values()) {
+            termIds[n++] = term.id;
+            live += term.live();
+        }
+        Arrays.sort(termIds);
+        for (int i = 0; i < n; i++) {
+            Term term = termsById.get(termIds[i]);
+            double idf = Math.log1p(totalDocs / Math.max(1, term.live()));
+            weights[i] = term.text.length() == token.length() ? idf : idf * PREFIX_WEIGHT;
+        }
+        return new TokenMatch(range, termIds, weights, live);
+    }
+
+    /**
+     * Puntaje de la tarea, o 0 si alguna palabra no coincide con ninguno de sus términos. También devuelve 0 si la
+     * tarea ya se visitó desde otro término de la palabra guía: se cuenta solo desde el de menor id que contiene.
+     */
+    private static double score(Doc doc, TokenMatch[] matches, int driver, int visitingTermId) {
+        double score = 0;
+        for (int t = 0; t < matches.length; t++) {
+            TokenMatch match = matches[t];
+            double best = 0;
+            int firstDriverTerm = Integer.MAX_VALUE;
+            for (int i = 0; i < doc.termIds.length; i++) {
+                int k = Arrays.binarySearch(match.termIds(), doc.termIds[i]);
+                if (k >= 0) {
+                    double weight = i < doc.nameTermCount ? match.weights()[k] * NAME_WEIGHT : match.weights()[k];
+                    best = Math.max(best, weight);
+                    firstDriverTerm = Math.min(firstDriverTerm, doc.termIds[i]);
+                }
+            }
+            if (best == 0 || (t == driver && firstDriverTerm != visitingTermId)) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /**
+     * Palabras normalizadas del texto: minúsculas, sin acentos ni signos.
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_TERMS;
+        }
+        // Solo el texto con caracteres no ASCII pasa por la descomposición para quitar los acentos
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        String normalized = ascii ? text
+                : DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens.toArray(NO_TERMS);
+    }
+}
@@ -0,0 +1,122 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Acredita pomodoros a las tareas con escritura diferida (write-behind).
+ * <p>
+ * {@link #credit(Long)} solo acumula el incremento en memoria, así el hilo del timer no toca la base de datos.
+ * {@link #flush()} vuelca los incrementos pendientes en una sola transacción con un
+ * {@code UPDATE ... SET pomodoros_spent = pomodoros_spent + ?} por tarea, que no pierde incrementos concurrentes. En la
+ * caché de segundo nivel solo se renueva la entrada de cada tarea acreditada.
+ * En la misma transacción se actualizan los rollups de {@link ProductivityStatsService} del día en que se acreditó.
+ * Se vuelca periódicamente, al salir de la aplicación y al cerrar el contexto.
+ */
+@Component
+public class PomodoroCreditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PomodoroCreditWriter.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskSummaryCache taskSummaryCache;
+    private final ProductivityStatsService statsService;
+    private final ConcurrentHashMap<CreditKey, Integer> pending = new ConcurrentHashMap<>();
+    // Serializa los volcados (programado vs. salida) para que no se pisen
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public PomodoroCreditWriter(TaskRepository taskRepository, TransactionTemplate transactionTemplate,
+                                TaskSummaryCache taskSummaryCache, ProductivityStatsService statsService) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskSummaryCache = taskSummaryCache;
+        this.statsService = statsService;
+    }
+
+    // Los créditos se agrupan por tarea y por día, para que el rollup diario quede en la fecha correcta
+    private record CreditKey(Long taskId, LocalDate date) {
+    }
+
+    /**
+     * Encola un pomodoro completado para la tarea. No bloquea ni accede a la base de datos.
+     */
+    public void credit(Long taskId) {
+        pending.merge(new CreditKey(taskId, LocalDate.now()), 1, Integer::sum);
+    }
+
+    /**
+     * Pomodoros acreditados a la tarea que todavía no se volcaron a la base de datos.
+     */
+    public int getPendingCredits(Long taskId) {
+        int total = 0;
+        for (var entry : pending.entrySet()) {
+            if (entry.getKey().taskId().equals(taskId)) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    public int getPendingTaskCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${pomodoro.credit.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Vuelca todos los créditos pendientes. Si la transacción falla se devuelven a la cola para el próximo intento.
+     *
+     * @return cantidad de tareas actualizadas
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            Map<CreditKey, Integer> batch = new LinkedHashMap<>();
+            for (CreditKey key : new ArrayList<>(pending.keySet())) {
+                // remove es atómico por clave: un credit() concurrente crea una entrada nueva y no se pierde
+                Integer delta = pending.remove(key);
+                if (delta != null) {
+                    batch.put(key, delta);
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach((key, delta) -> {
+                    taskRepository.creditPomodoros(key.taskId(), delta);
+                    statsService.addPomodoros(key.date(), key.taskId(), delta);
+                }));
+            } catch (RuntimeException e) {
+                batch.forEach((key, delta) -> pending.merge(key, delta, Integer::sum));
+                log.warn("No se pudieron volcar {} créditos de pomodoro; se reintentará", batch.size(), e);
+                return 0;
+            }
+            batch.keySet().forEach(key -> taskSummaryCache.invalidate(key.taskId())); // El total persistido cambió
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,143 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroEvent;
+import com.gustavopeiretti.gppomodoro.model.PomodoroEventType;
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.repository.PomodoroEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Historial append-only de eventos Pomodoro con inserción por lotes.
+ * <p>
+ * Los callbacks del timer solo encolan el evento; {@link #flush()} lo persiste en lotes de
+ * {@code hibernate.jdbc.batch_size} filas. Los ids salen de una secuencia con allocationSize 50,
+ * así que un lote no necesita ni una consulta de id por fila ni un round trip por INSERT.
+ * <p>
+ * Si un lote no se puede guardar vuelve al frente de la cola y se reintenta en el próximo volcado, como los créditos
+ * de {@link PomodoroCreditWriter}. La cola admite hasta {@code maxQueued} eventos: con la base caída no crece sin
+ * límite, y los eventos que no entran se rechazan y se cuentan en {@link #getRejectedCount()}.
+ */
+@Component
+public class PomodoroEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PomodoroEventLog.class);
+    private static final int DEFAULT_MAX_QUEUED = 100_000;
+
+    private final PomodoroEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxQueued;
+    private final ConcurrentLinkedDeque<PomodoroEvent> queue = new ConcurrentLinkedDeque<>();
+    // Eventos en la cola o en el lote que se está guardando; es lo que limita maxQueued
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public PomodoroEventLog(PomodoroEventRepository eventRepository, TransactionTemplate transactionTemplate,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                            @Value("${pomodoro.history.max-queued:100000}") int maxQueued) {
+        if (maxQueued < batchSize) {
+            throw new IllegalArgumentException("pomodoro.history.max-queued debe ser al menos el tamaño de lote: " + maxQueued);
+        }
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxQueued = maxQueued;
+    }
+
+    public PomodoroEventLog(PomodoroEventRepository eventRepository, TransactionTemplate transactionTemplate,
+                            int batchSize) {
+        this(eventRepository, transactionTemplate, batchSize, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * Encola el evento. No bloquea: si la cola está llena el evento se rechaza y se cuenta.
+     *
+     * @return false si el evento se rechazó
+     */
+    public boolean record(PomodoroSession session, PomodoroEventType type, PomodoroState fromState,
+                          PomodoroState toState, Integer plannedSeconds, Integer remainingSeconds) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            if (rejected.getAndIncrement() % 1_000 == 0) {
+                log.warn("Cola del historial Pomodoro llena ({} eventos): se rechazan eventos nuevos", maxQueued);
+            }
+            return false;
+        }
+        queue.add(new PomodoroEvent(session.getUserId(), session.getCurrentTaskId(), type, fromState, toState,
+                plannedSeconds, remainingSeconds));
+        return true;
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Eventos rechazados por cola llena desde el arranque.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Scheduled(fixedDelayString = "${pomodoro.history.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Persiste todos los eventos encolados, en transacciones de a {@code batchSize} eventos. Si un lote falla
+     * vuelve al frente de la cola, en el mismo orden, y el volcado termina ahí.
+     *
+     * @return cantidad de eventos persistidos
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            while (!queue.isEmpty()) {
+                List<PomodoroEvent> batch = new ArrayList<>(batchSize);
+                PomodoroEvent event;
+                while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                    batch.add(event);
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> eventRepository.saveAll(batch));
+                } catch (RuntimeException e) {
+                    // El historial es la fuente de los rollups: el lote se conserva para el próximo volcado
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        queue.addFirst(batch.get(i));
+                    }
+                    log.warn("No se pudieron guardar {} eventos del historial Pomodoro; se reintentará", batch.size(), e);
+                    return written;
+                }
+                queued.addAndGet(-batch.size());
+                written += batch.size();
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,33 +1,92 @@
 package com.gustavopeiretti.gppomodoro.service;
 
+import com.gustavopeiretti.gppomodoro.config.DatabaseBootstrap;
 import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.metrics.MetricsReporter;
 import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.PomodoroEventType;
 import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
 import com.gustavopeiretti.gppomodoro.model.PomodoroState;
 import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.model.TaskSummary;
 import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
 import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import com.gustavopeiretti.gppomodoro.session.SessionCheckpoint;
+import com.gustavopeiretti.gppomodoro.transfer.TaskTransferService;
 import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
 import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 
 @Service
 public class PomodoroService {
 
     private final TaskRepository taskRepository;
     private final CategoryRepository categoryRepository;
+    private final TaskSummaryCache taskSummaryCache;
+    private final PomodoroCreditWriter creditWriter;
+    private final PomodoroEventLog eventLog;
+    private final ProductivityStatsService statsService;
+    private final MeterRegistry meterRegistry;
+    private final MetricsReporter metricsReporter;
+    private final SessionCheckpoint sessionCheckpoint;
+    private final TaskTransferService taskTransferService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final DatabaseBootstrap databaseBootstrap;
+    private final PomodoroConfig config;
+    private final int taskPageSize;
+    private final int searchMaxResults;
+    private final ConcurrentHashMap<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Counter pomodorosCompleted;
+    private final Counter tasksCreated;
+    private final Counter tasksCompleted;
 
     public static final String DEFAULT_CATEGORY_NAME = "Inbox";
 
     @Autowired
-    public PomodoroService(TaskRepository taskRepository, CategoryRepository categoryRepository) {
+    public PomodoroService(TaskRepository taskRepository, CategoryRepository categoryRepository,
+                           TaskSummaryCache taskSummaryCache, PomodoroCreditWriter creditWriter,
+                           PomodoroEventLog eventLog, ProductivityStatsService statsService,
+                           MeterRegistry meterRegistry, MetricsReporter metricsReporter,
+                           SessionCheckpoint sessionCheckpoint, TaskTransferService taskTransferService,
+                           TaskSearchIndex taskSearchIndex, DatabaseBootstrap databaseBootstrap,
+                           PomodoroConfig config, @Value("${pomodoro.tasks.page-size:20}") int taskPageSize,
+                           @Value("${pomodoro.search.max-results:20}") int searchMaxResults) {
         this.taskRepository = taskRepository;
         this.categoryRepository = categoryRepository;
+        this.taskSummaryCache = taskSummaryCache;
+        this.creditWriter = creditWriter;
+        this.eventLog = eventLog;
+        this.statsService = statsService;
+        this.meterRegistry = meterRegistry;
+        this.metricsReporter = metricsReporter;
+        this.sessionCheckpoint = sessionCheckpoint;
+        this.taskTransferService = taskTransferService;
+        this.taskSearchIndex = taskSearchIndex;
+        this.databaseBootstrap = databaseBootstrap;
+        this.config = config;
+        this.taskPageSize = taskPageSize;
+        this.searchMaxResults = searchMaxResults;
+        this.pomodorosCompleted = meterRegistry.counter("pomodoro.pomodoros.completed");
+        this.tasksCreated = meterRegistry.counter("pomodoro.tasks.created");
+        this.tasksCompleted = meterRegistry.counter("pomodoro.tasks.completed");
     }
 
 //    @PostConstruct
@@ -40,24 +99,52 @@ public class PomodoroService {
 //        }
 //    }
 
+    /**
+     * Ejecuta una operación del servicio midiendo su duración en {@code pomodoro.service.operation}.
+     * Cada operación pública envuelve su propio cuerpo, así se mide igual desde la consola, la API HTTP, el modo
+     * headless o la restauración de una sesión. Un aspecto (@Timed) no vería las que despacha
+     * {@link #handleUserInput} desde este mismo objeto.
+     */
+    private void timed(String operation, Runnable action) {
+        Timer timer = operationTimers.computeIfAbsent(operation, name -> Timer.builder("pomodoro.service.operation")
+                .tag("operation", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+        timer.record(action);
+    }
+
+    // Se invoca en cada tick: lee de la caché, nunca de la base de datos en estado estable
     private String getCurrentTaskName(PomodoroSession session) {
-        if (session.getCurrentTaskId() != null) {
-            return taskRepository.findById(session.getCurrentTaskId())
-                    .map(Task::getName)
-                    .orElse(null);
-        }
-        return null;
+        return taskSummaryCache.findName(session.getCurrentTaskId());
+    }
+
+    // Todo cambio de estado pasa por aquí para quedar registrado en el historial
+    private void transitionTo(PomodoroSession session, PomodoroState newState, PomodoroEventType eventType,
+                              Integer plannedSeconds, Integer remainingSeconds) {
+        PomodoroState previousState = session.getCurrentState();
+        session.setCurrentState(newState);
+        eventLog.record(session, eventType, previousState, newState, plannedSeconds, remainingSeconds);
+    }
+
+    // Eventos sin cambio de estado (fin de un Pomodoro, pausa, reanudación)
+    private void recordEvent(PomodoroSession session, PomodoroEventType eventType, Integer remainingSeconds) {
+        PomodoroState state = session.getCurrentState();
+        eventLog.record(session, eventType, state, state, null, remainingSeconds);
     }
 
     public void startPomodoroCycle(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
-        ui.showMessage("Iniciando ciclo Pomodoro automático...");
-        session.resetCyclePomodoroCount();
-        startNewPomodoro(session, timer, ui);
+        timed("startPomodoroCycle", () -> {
+            ui.showMessage("Iniciando ciclo Pomodoro automático...");
+            session.resetCyclePomodoroCount();
+            startNewPomodoro(session, timer, ui);
+        });
     }
 
     public void startSinglePomodoro(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
-        session.resetCyclePomodoroCount(); // Reinicia para pomodoros individuales
-        startNewPomodoro(session, timer, ui);
+        timed("startSinglePomodoro", () -> {
+            session.resetCyclePomodoroCount(); // Reinicia para pomodoros individuales
+            startNewPomodoro(session, timer, ui);
+        });
     }
 
     private void startNewPomodoro(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
@@ -67,76 +154,89 @@ public class PomodoroService {
         }
         String taskName = getCurrentTaskName(session);
         String forTaskMessage = taskName != null ? " para la tarea '" + taskName + "'" : "";
-        ui.showMessage("Iniciando Pomodoro de " + PomodoroConfig.POMODORO_DURATION_MINUTES + " minutos" + forTaskMessage + "...");
+        int durationSeconds = config.getPomodoroSeconds();
+        ui.showMessage("Iniciando Pomodoro de " + PomodoroConfig.describe(durationSeconds) + forTaskMessage + "...");
         ui.newLine();
-        session.setCurrentState(PomodoroState.POMODORO);
-        timer.start(PomodoroConfig.POMODORO_DURATION_MINUTES * 60,
-                (remainingSeconds) -> { // onTick lambda
-                    session.setRemainingSecondsInTimer(remainingSeconds);
-                    ui.displayTime(session.getCurrentState(), remainingSeconds, getCurrentTaskName(session));
-                },
-                () -> { // onFinish lambda
-                    onPomodoroFinished(session, timer, ui);
-                }
-        );
+        transitionTo(session, PomodoroState.POMODORO, PomodoroEventType.STARTED, durationSeconds, null);
+        startTimer(session, timer, ui, durationSeconds, false);
     }
 
-    public void startShortBreak(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
-        if (timer.isRunning()) {
-            ui.showMessage("Ya hay un temporizador en ejecución. Finalícelo primero.");
-            return;
+    /**
+     * Arranca el timer del estado actual de la sesión (Pomodoro o descanso) y guarda el checkpoint.
+     * {@code paused} lo deja detenido con esa duración restante, como al restaurar una sesión pausada.
+     */
+    private void startTimer(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui, int durationSeconds, boolean paused) {
+        IntConsumer onTick;
+        Runnable onFinish;
+        if (session.getCurrentState() == PomodoroState.POMODORO) {
+            onTick = (remainingSeconds) -> { // onTick lambda
+                session.setRemainingSecondsInTimer(remainingSeconds);
+                ui.displayTime(session.getCurrentState(), remainingSeconds, getCurrentTaskName(session));
+            };
+            onFinish = () -> timed("onPomodoroFinished", () -> onPomodoroFinished(session, timer, ui));
+        } else {
+            onTick = (remainingSeconds) -> {
+                session.setRemainingSecondsInTimer(remainingSeconds);
+                ui.displayTime(session.getCurrentState(), remainingSeconds, null); // Descansos no muestran tarea
+            };
+            onFinish = () -> timed("onBreakFinished", () -> onBreakFinished(session, timer, ui));
         }
-        ui.showMessage("Iniciando Descanso Corto de " + PomodoroConfig.SHORT_BREAK_DURATION_MINUTES + " minutos...");
-        ui.newLine();
-        session.setCurrentState(PomodoroState.SHORT_BREAK);
-        timer.start(PomodoroConfig.SHORT_BREAK_DURATION_MINUTES * 60,
-                (remainingSeconds) -> {
-                    session.setRemainingSecondsInTimer(remainingSeconds);
-                    ui.displayTime(session.getCurrentState(), remainingSeconds, null); // Descansos no muestran tarea
-                },
-                () -> {
-                    onBreakFinished(session, ui);
-                }
-        );
+        if (paused) {
+            timer.startPaused(durationSeconds, onTick, onFinish);
+        } else {
+            timer.start(durationSeconds, onTick, onFinish);
+        }
+        sessionCheckpoint.save(session, timer);
+    }
+
+    public void startShortBreak(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
+        timed("startShortBreak", () -> {
+            if (timer.isRunning()) {
+                ui.showMessage("Ya hay un temporizador en ejecución. Finalícelo primero.");
+                return;
+            }
+            int durationSeconds = config.getShortBreakSeconds();
+            ui.showMessage("Iniciando Descanso Corto de " + PomodoroConfig.describe(durationSeconds) + "...");
+            ui.newLine();
+            transitionTo(session, PomodoroState.SHORT_BREAK, PomodoroEventType.STARTED, durationSeconds, null);
+            startTimer(session, timer, ui, durationSeconds, false);
+        });
     }
 
     public void startLongBreak(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
-        if (timer.isRunning()) {
-            ui.showMessage("Ya hay un temporizador en ejecución. Finalícelo primero.");
-            return;
-        }
-        ui.showMessage("Iniciando Descanso Largo de " + PomodoroConfig.LONG_BREAK_DURATION_MINUTES + " minutos...");
-        ui.newLine();
-        session.setCurrentState(PomodoroState.LONG_BREAK);
-        timer.start(PomodoroConfig.LONG_BREAK_DURATION_MINUTES * 60,
-                (remainingSeconds) -> {
-                    session.setRemainingSecondsInTimer(remainingSeconds);
-                    ui.displayTime(session.getCurrentState(), remainingSeconds, null); // Descansos no muestran tarea
-                },
-                () -> {
-                    onBreakFinished(session, ui);
-                }
-        );
+        timed("startLongBreak", () -> {
+            if (timer.isRunning()) {
+                ui.showMessage("Ya hay un temporizador en ejecución. Finalícelo primero.");
+                return;
+            }
+            int durationSeconds = config.getLongBreakSeconds();
+            ui.showMessage("Iniciando Descanso Largo de " + PomodoroConfig.describe(durationSeconds) + "...");
+            ui.newLine();
+            transitionTo(session, PomodoroState.LONG_BREAK, PomodoroEventType.STARTED, durationSeconds, null);
+            startTimer(session, timer, ui, durationSeconds, false);
+        });
     }
 
-    @Transactional
+    // Corre en el hilo del timer: el crédito se encola y lo vuelca PomodoroCreditWriter, sin bloquear en la base de datos
     protected void onPomodoroFinished(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
         ui.clearLine();
         ui.showMessage("\n¡Tiempo terminado para POMODORO!");
+        recordEvent(session, PomodoroEventType.COMPLETED, 0);
+        pomodorosCompleted.increment();
         session.incrementPomodoroCount();
         session.incrementCyclePomodoroCount();
         ui.showMessage("Pomodoros totales completados: " + session.getPomodoroCount());
-        ui.showMessage("Pomodoros en este ciclo: " + session.getCyclePomodoroCount() + "/" + PomodoroConfig.POMODOROS_UNTIL_LONG_BREAK);
+        ui.showMessage("Pomodoros en este ciclo: " + session.getCyclePomodoroCount() + "/" + config.getPomodorosUntilLongBreak());
 
         if (session.getCurrentTaskId() != null) {
-            taskRepository.findById(session.getCurrentTaskId()).ifPresent(task -> {
-                task.incrementPomodorosSpent();
-                taskRepository.save(task);
-                ui.showMessage("Pomodoro contado para la tarea: '" + task.getName() + "' (Total: " + task.getPomodorosSpent() + ")");
+            taskSummaryCache.get(session.getCurrentTaskId()).ifPresent(task -> {
+                creditWriter.credit(task.id());
+                int total = task.pomodorosSpent() + creditWriter.getPendingCredits(task.id());
+                ui.showMessage("Pomodoro contado para la tarea: '" + task.name() + "' (Total: " + total + ")");
             });
         }
 
-        if (session.getCyclePomodoroCount() % PomodoroConfig.POMODOROS_UNTIL_LONG_BREAK == 0) {
+        if (session.getCyclePomodoroCount() % config.getPomodorosUntilLongBreak() == 0) {
             ui.showMessage("¡Hora de un descanso largo!");
             startLongBreak(session, timer, ui);
         } else {
@@ -145,43 +245,88 @@ public class PomodoroService {
         }
     }
 
-    protected void onBreakFinished(PomodoroSession session, ConsoleUI ui) {
+    protected void onBreakFinished(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
         ui.clearLine();
         ui.showMessage("\n¡Tiempo terminado para " + session.getCurrentState().name().replace("_", " ") + "!");
-        session.setCurrentState(PomodoroState.AWAITING_NEXT_POMODORO);
+        transitionTo(session, PomodoroState.AWAITING_NEXT_POMODORO, PomodoroEventType.COMPLETED, null, 0);
+        sessionCheckpoint.save(session, timer);
+    }
+
+    /**
+     * Retoma la sesión guardada en el checkpoint tras una caída: contadores, tarea, estado y timer. Un timer que
+     * corría descuenta el tiempo que el proceso estuvo caído; si venció mientras tanto termina enseguida por el
+     * camino normal (el Pomodoro se acredita y empieza el descanso).
+     */
+    public void restoreSession(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui, SessionCheckpoint.Snapshot snapshot) {
+        timed("restoreSession", () -> {
+            session.setPomodoroCount(snapshot.pomodoroCount());
+            session.setCyclePomodoroCount(snapshot.cyclePomodoroCount());
+            session.setCurrentTaskId(snapshot.currentTaskId());
+            PomodoroState state = snapshot.state();
+            boolean timerState = state == PomodoroState.POMODORO || state == PomodoroState.SHORT_BREAK
+                    || state == PomodoroState.LONG_BREAK;
+            if (timerState && !snapshot.timerRunning()) {
+                state = PomodoroState.STOPPED; // Un estado con timer pero sin timer no se puede retomar
+            }
+            session.setCurrentState(state);
+            if (!timerState || state == PomodoroState.STOPPED) {
+                session.setRemainingSecondsInTimer(0);
+                sessionCheckpoint.save(session, timer);
+                if (state == PomodoroState.AWAITING_NEXT_POMODORO) {
+                    ui.showMessage("Sesión restaurada: esperando para iniciar el siguiente Pomodoro.");
+                }
+                return;
+            }
+            int remainingSeconds = snapshot.remainingSecondsAt(System.currentTimeMillis());
+            session.setRemainingSecondsInTimer(remainingSeconds);
+            ui.showMessage("Sesión restaurada: " + state + (snapshot.timerPaused() ? " (pausado)" : "") + " con "
+                    + remainingSeconds / 60 + " min " + remainingSeconds % 60 + " s restantes.");
+            recordEvent(session, PomodoroEventType.RESUMED, remainingSeconds);
+            startTimer(session, timer, ui, remainingSeconds, snapshot.timerPaused());
+        });
     }
 
     public void togglePause(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
-        if (!timer.isRunning()) {
-            ui.showMessage("No hay un temporizador en ejecución para pausar/reanudar.");
-            return;
-        }
-        if (timer.isPaused()) {
-            timer.resume();
-            ui.showMessage("\nTemporizador reanudado.");
-        } else {
-            timer.pause();
-            session.setRemainingSecondsInTimer(timer.getRemainingSeconds());
-            ui.showMessage("\nTemporizador pausado.");
-            ui.displayTime(session.getCurrentState(), session.getRemainingSecondsInTimer(), getCurrentTaskName(session));
-            ui.newLine();
-        }
+        timed("togglePause", () -> {
+            if (!timer.isRunning()) {
+                ui.showMessage("No hay un temporizador en ejecución para pausar/reanudar.");
+                return;
+            }
+            if (timer.isPaused()) {
+                timer.resume();
+                recordEvent(session, PomodoroEventType.RESUMED, timer.getRemainingSeconds());
+                sessionCheckpoint.save(session, timer);
+                ui.showMessage("\nTemporizador reanudado.");
+            } else {
+                timer.pause();
+                session.setRemainingSecondsInTimer(timer.getRemainingSeconds());
+                recordEvent(session, PomodoroEventType.PAUSED, session.getRemainingSecondsInTimer());
+                sessionCheckpoint.save(session, timer);
+                ui.showMessage("\nTemporizador pausado.");
+                ui.displayTime(session.getCurrentState(), session.getRemainingSecondsInTimer(), getCurrentTaskName(session));
+                ui.newLine();
+            }
+        });
     }
 
     public void finishCurrentTimerAndCycle(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
-        if (!timer.isRunning() && session.getCurrentState() != PomodoroState.AWAITING_NEXT_POMODORO) {
-            ui.showMessage("No hay un temporizador o ciclo activo para finalizar.");
-            return;
-        }
-        ui.showMessage("\nTemporizador/Ciclo finalizado manualmente.");
-        resetToStoppedState(session, timer, ui);
+        timed("finishCurrentTimerAndCycle", () -> {
+            if (!timer.isRunning() && session.getCurrentState() != PomodoroState.AWAITING_NEXT_POMODORO) {
+                ui.showMessage("No hay un temporizador o ciclo activo para finalizar.");
+                return;
+            }
+            ui.showMessage("\nTemporizador/Ciclo finalizado manualmente.");
+            resetToStoppedState(session, timer, ui);
+        });
     }
 
     private void resetToStoppedState(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
+        int remainingSeconds = timer.getRemainingSeconds();
         timer.stopAndClear();
-        session.setCurrentState(PomodoroState.STOPPED);
+        transitionTo(session, PomodoroState.STOPPED, PomodoroEventType.STOPPED, null, remainingSeconds);
         session.resetCyclePomodoroCount();
         session.setRemainingSecondsInTimer(0);
+        sessionCheckpoint.save(session, timer);
         // No deseleccionamos la tarea aquí automáticamente, el usuario puede hacerlo explícitamente.
         // session.setCurrentTaskId(null);
         ui.showMessage("Volviendo al menú principal...");
@@ -189,117 +334,276 @@ public class PomodoroService {
 
     @Transactional
     public void createTask(ConsoleUI ui) { // No necesita session para crear tarea
-        String taskName = ui.prompt("Nombre de la tarea");
-        if (taskName.isEmpty()) {
-            ui.showMessage("El nombre de la tarea no puede estar vacío.");
-            return;
-        }
-        String description = ui.prompt("Descripción (opcional)");
-
-        List<Category> categories = categoryRepository.findAll();
-        Long categoryId = ui.selectCategoryFromList(categories); // Puede retornar null para default
-
-        Category selectedCategory;
-        if (categoryId != null) {
-            selectedCategory = categoryRepository.findById(categoryId)
-                    .orElseGet(() -> categoryRepository.findByName(DEFAULT_CATEGORY_NAME)
-                            .orElseThrow(() -> new IllegalStateException("Categoría 'Inbox' por defecto no encontrada y categoría seleccionada no existe.")));
-        } else { // Si el usuario presionó Enter, usa Inbox
-            selectedCategory = categoryRepository.findByName(DEFAULT_CATEGORY_NAME)
-                    .orElseThrow(() -> new IllegalStateException("Categoría 'Inbox' por defecto no encontrada."));
-        }
+        timed("createTask", () -> {
+            String taskName = ui.prompt("Nombre de la tarea");
+            if (taskName.isEmpty()) {
+                ui.showMessage("El nombre de la tarea no puede estar vacío.");
+                return;
+            }
+            String description = ui.prompt("Descripción (opcional)");
+
+            List<Category> categories = categoryRepository.findAll();
+            Long categoryId = ui.selectCategoryFromList(categories); // Puede retornar null para default
+
+            Category selectedCategory;
+            if (categoryId != null) {
+                selectedCategory = categoryRepository.findById(categoryId)
+                        .orElseGet(() -> categoryRepository.findByName(DEFAULT_CATEGORY_NAME)
+                                .orElseThrow(() -> new IllegalStateException("Categoría 'Inbox' por defecto no encontrada y categoría seleccionada no existe.")));
+            } else { // Si el usuario presionó Enter, usa Inbox
+                selectedCategory = categoryRepository.findByName(DEFAULT_CATEGORY_NAME)
+                        .orElseThrow(() -> new IllegalStateException("Categoría 'Inbox' por defecto no encontrada."));
+            }
+
+            Task newTask = new Task(taskName, description, selectedCategory);
+            taskRepository.save(newTask);
+            taskSearchIndex.add(newTask.getId(), newTask.getName(), newTask.getDescription());
+            tasksCreated.increment();
+            ui.showMessage("Tarea '" + taskName + "' creada en la categoría '" + selectedCategory.getName() + "'.");
+        });
+    }
+
+    public void importTasks(ConsoleUI ui) {
+        timed("importTasks", () -> {
+            String file = ui.prompt("Archivo a importar (.csv o .jsonl)");
+            if (file.isEmpty()) {
+                return;
+            }
+            try {
+                TaskTransferService.ImportResult result = taskTransferService.importTasks(Path.of(file));
+                taskSearchIndex.catchUp(); // Las importadas tienen ids mayores que todo lo ya indexado
+                tasksCreated.increment(result.imported());
+                ui.showMessage("Tareas importadas: " + result.imported()
+                        + (result.skipped() > 0 ? " (filas inválidas salteadas: " + result.skipped() + ")" : "") + ".");
+            } catch (IOException | IllegalArgumentException e) {
+                ui.showMessage("No se pudieron importar las tareas: " + e.getMessage());
+            }
+        });
+    }
+
+    public void exportTasks(ConsoleUI ui) {
+        timed("exportTasks", () -> {
+            String file = ui.prompt("Archivo de destino (.csv o .jsonl)");
+            if (file.isEmpty()) {
+                return;
+            }
+            try {
+                long exported = taskTransferService.exportTasks(Path.of(file));
+                ui.showMessage("Tareas exportadas: " + exported + " a " + Path.of(file).toAbsolutePath() + ".");
+            } catch (IOException | IllegalArgumentException e) {
+                ui.showMessage("No se pudieron exportar las tareas: " + e.getMessage());
+            }
+        });
+    }
 
-        Task newTask = new Task(taskName, description, selectedCategory);
-        taskRepository.save(newTask);
-        ui.showMessage("Tarea '" + taskName + "' creada en la categoría '" + selectedCategory.getName() + "'.");
+    private Window<Task> findPendingTaskPage(ScrollPosition position) {
+        return taskRepository.findByCompletedFalseOrderByCreationDateAscIdAsc(position, Limit.of(taskPageSize));
     }
 
     public void listPendingTasks(ConsoleUI ui) {
-        List<Task> tasks = taskRepository.findByCompletedFalseOrderByCreationDateAsc();
-        ui.listTasks(tasks);
+        timed("listPendingTasks", () -> {
+            Window<Task> page = findPendingTaskPage(ScrollPosition.keyset());
+            if (page.isEmpty()) {
+                ui.listTasks(page.getContent());
+                return;
+            }
+            // Se trae y muestra una página a la vez; la siguiente solo se consulta si el usuario la pide
+            while (true) {
+                ui.listTasks(page.getContent());
+                if (!page.hasNext() || !ui.confirmNextPage()) {
+                    return;
+                }
+                page = findPendingTaskPage(page.positionAt(page.size() - 1));
+            }
+        });
     }
 
-    public void selectTaskForPomodoro(PomodoroSession session, ConsoleUI ui) {
-        List<Task> tasks = taskRepository.findByCompletedFalseOrderByCreationDateAsc();
-        if (tasks.isEmpty()){
-            ui.showMessage("No hay tareas pendientes para seleccionar.");
-            return;
+    /**
+     * Recorre las tareas pendientes página a página hasta que el usuario elija una o cancele.
+     *
+     * @return ID ingresado por el usuario o null si canceló o no hay tareas pendientes
+     */
+    private Long selectPendingTaskId(ConsoleUI ui, String emptyMessage) {
+        Window<Task> page = findPendingTaskPage(ScrollPosition.keyset());
+        if (page.isEmpty()) {
+            ui.showMessage(emptyMessage);
+            return null;
+        }
+        while (true) {
+            ConsoleUI.PageSelection selection = ui.selectTaskFromPage(page.getContent(), page.hasNext());
+            if (!selection.nextPage()) {
+                return selection.taskId();
+            }
+            page = findPendingTaskPage(page.positionAt(page.size() - 1));
         }
-        Long taskId = ui.selectTaskFromList(tasks);
-        if (taskId != null) {
+    }
+
+    public void selectTaskForPomodoro(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
+        timed("selectTaskForPomodoro", () -> {
+            Long taskId = selectPendingTaskId(ui, "No hay tareas pendientes para seleccionar.");
+            if (taskId != null) {
+                selectTask(session, timer, ui, taskId);
+            } else {
+                // Si el usuario presiona Enter, no se selecciona nada.
+                // ui.showMessage("Ninguna tarea seleccionada."); // Opcional
+            }
+        });
+    }
+
+    /**
+     * Busca tareas pendientes por palabras (o comienzos de palabras) del nombre y la descripción y permite
+     * seleccionar una de los resultados.
+     */
+    public void searchTasks(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
+        timed("searchTasks", () -> {
+            String query = ui.prompt("Buscar");
+            if (query.isBlank()) {
+                return;
+            }
+            if (!taskSearchIndex.isReady()) {
+                ui.showMessage("El índice de búsqueda todavía se está cargando: puede que falten resultados.");
+            }
+            Long taskId = ui.selectTaskFromSearch(taskSearchIndex.search(query, searchMaxResults));
+            if (taskId != null) {
+                selectTask(session, timer, ui, taskId);
+            }
+        });
+    }
+
+    /**
+     * Selecciona la tarea para los próximos Pomodoros de la sesión, si existe.
+     */
+    public void selectTask(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui, Long taskId) {
+        timed("selectTask", () -> {
+            awaitDatabase(ui); // Desde el menú ya se esperó; la API HTTP llega directo
             taskRepository.findById(taskId).ifPresentOrElse(task -> {
                 session.setCurrentTaskId(task.getId());
+                sessionCheckpoint.save(session, timer);
+                taskSummaryCache.put(TaskSummary.of(task)); // Precarga para los ticks del próximo Pomodoro
                 ui.showMessage("Tarea '" + task.getName() + "' seleccionada para el próximo Pomodoro.");
             }, () -> ui.showMessage("Tarea con ID " + taskId + " no encontrada."));
-        } else {
-            // Si el usuario presiona Enter, no se selecciona nada.
-            // ui.showMessage("Ninguna tarea seleccionada."); // Opcional
-        }
+        });
     }
 
-    public void deselectCurrentTask(PomodoroSession session, ConsoleUI ui) {
-        if (session.getCurrentTaskId() == null) {
-            ui.showMessage("No hay ninguna tarea seleccionada actualmente.");
-            return;
-        }
-        String taskName = getCurrentTaskName(session); // Obtener nombre antes de deseleccionar
-        session.setCurrentTaskId(null);
-        ui.showMessage("Tarea '" + (taskName != null ? taskName : "desconocida") + "' deseleccionada.");
+    public void deselectCurrentTask(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
+        timed("deselectCurrentTask", () -> {
+            if (session.getCurrentTaskId() == null) {
+                ui.showMessage("No hay ninguna tarea seleccionada actualmente.");
+                return;
+            }
+            String taskName = getCurrentTaskName(session); // Obtener nombre antes de deseleccionar
+            session.setCurrentTaskId(null);
+            sessionCheckpoint.save(session, timer);
+            ui.showMessage("Tarea '" + (taskName != null ? taskName : "desconocida") + "' deseleccionada.");
+        });
     }
 
     @Transactional
-    public void markTaskAsCompleted(PomodoroSession session, ConsoleUI ui) {
-        List<Task> tasks = taskRepository.findByCompletedFalseOrderByCreationDateAsc();
-        if (tasks.isEmpty()){
-            ui.showMessage("No hay tareas pendientes para marcar como completadas.");
-            return;
-        }
-        Long taskId = ui.selectTaskFromList(tasks);
-        if (taskId != null) {
-            taskRepository.findById(taskId).ifPresentOrElse(task -> {
-                task.setCompleted(true);
-                taskRepository.save(task);
-                ui.showMessage("Tarea '" + task.getName() + "' marcada como completada.");
-                if (session.getCurrentTaskId() != null && session.getCurrentTaskId().equals(task.getId())) {
-                    session.setCurrentTaskId(null);
-                    ui.showMessage("La tarea actual ha sido deseleccionada.");
-                }
-            }, () -> ui.showMessage("Tarea con ID " + taskId + " no encontrada."));
-        }
+    public void markTaskAsCompleted(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
+        timed("markTaskAsCompleted", () -> {
+            Long taskId = selectPendingTaskId(ui, "No hay tareas pendientes para marcar como completadas.");
+            if (taskId != null) {
+                taskRepository.findById(taskId).ifPresentOrElse(task -> {
+                    if (task.isCompleted()) {
+                        ui.showMessage("La tarea '" + task.getName() + "' ya estaba completada.");
+                        return;
+                    }
+                    statsService.completeTask(task); // Guarda la tarea y actualiza los rollups en una transacción
+                    taskSummaryCache.invalidate(task.getId());
+                    taskSearchIndex.remove(task.getId());
+                    tasksCompleted.increment();
+                    ui.showMessage("Tarea '" + task.getName() + "' marcada como completada.");
+                    if (session.getCurrentTaskId() != null && session.getCurrentTaskId().equals(task.getId())) {
+                        session.setCurrentTaskId(null);
+                        sessionCheckpoint.save(session, timer);
+                        ui.showMessage("La tarea actual ha sido deseleccionada.");
+                    }
+                }, () -> ui.showMessage("Tarea con ID " + taskId + " no encontrada."));
+            }
+        });
     }
 
     @Transactional
     public void createCategory(ConsoleUI ui) {
-        String categoryName = ui.prompt("Nombre de la nueva categoría");
-        if (categoryName.isEmpty()) {
-            ui.showMessage("El nombre de la categoría no puede estar vacío.");
-            return;
-        }
-        if (categoryName.equalsIgnoreCase(DEFAULT_CATEGORY_NAME)) {
-            ui.showMessage("No se puede crear una categoría con el nombre reservado '" + DEFAULT_CATEGORY_NAME + "'.");
-            return;
-        }
-        if (categoryRepository.findByName(categoryName).isPresent()) {
-            ui.showMessage("La categoría '" + categoryName + "' ya existe.");
-            return;
-        }
-        Category newCategory = new Category(categoryName);
-        categoryRepository.save(newCategory);
-        ui.showMessage("Categoría '" + categoryName + "' creada.");
+        timed("createCategory", () -> {
+            String categoryName = ui.prompt("Nombre de la nueva categoría");
+            if (categoryName.isEmpty()) {
+                ui.showMessage("El nombre de la categoría no puede estar vacío.");
+                return;
+            }
+            if (categoryName.equalsIgnoreCase(DEFAULT_CATEGORY_NAME)) {
+                ui.showMessage("No se puede crear una categoría con el nombre reservado '" + DEFAULT_CATEGORY_NAME + "'.");
+                return;
+            }
+            if (categoryRepository.findByName(categoryName).isPresent()) {
+                ui.showMessage("La categoría '" + categoryName + "' ya existe.");
+                return;
+            }
+            Category newCategory = new Category(categoryName);
+            categoryRepository.save(newCategory);
+            ui.showMessage("Categoría '" + categoryName + "' creada.");
+        });
     }
 
     public void listCategories(ConsoleUI ui) {
-        List<Category> categories = categoryRepository.findAll();
-        ui.listCategories(categories);
+        timed("listCategories", () -> {
+            List<Category> categories = categoryRepository.findAll();
+            ui.listCategories(categories);
+        });
+    }
+
+    public void showDailyStats(ConsoleUI ui) {
+        timed("showDailyStats", () -> {
+            LocalDate today = LocalDate.now();
+            ui.listCategoryStats("Estadísticas de hoy (" + today + ")", statsService.getDailyStats(today));
+        });
+    }
+
+    public void showWeeklyStats(ConsoleUI ui) {
+        timed("showWeeklyStats", () -> {
+            ui.listCategoryStats("Estadísticas de esta semana", statsService.getWeeklyStats(LocalDate.now()));
+        });
+    }
+
+    public void showTotalStats(ConsoleUI ui) {
+        timed("showTotalStats", () -> {
+            ui.listCategoryStats("Totales por categoría", statsService.getTotalStats());
+        });
+    }
+
+    public void rebuildStats(ConsoleUI ui) {
+        timed("rebuildStats", () -> {
+            // Lo pendiente en memoria tiene que estar en la base para que el recálculo lo incluya
+            creditWriter.flush();
+            eventLog.flush();
+            statsService.rebuild();
+            ui.showMessage("Estadísticas reconstruidas desde el historial y las tareas.");
+        });
+    }
+
+    public void showMetrics(ConsoleUI ui) {
+        ui.showMessage("\n--- Métricas ---");
+        ui.showMessage(metricsReporter.render());
+    }
+
+    public void exportMetrics(ConsoleUI ui) {
+        String fileName = ui.prompt("Archivo de destino (Enter para 'pomodoro-metrics.txt')");
+        Path file = Path.of(fileName.isEmpty() ? "pomodoro-metrics.txt" : fileName);
+        try {
+            metricsReporter.writeTo(file);
+            ui.showMessage("Métricas exportadas a " + file.toAbsolutePath() + ".");
+        } catch (IOException e) {
+            ui.showMessage("No se pudieron exportar las métricas: " + e.getMessage());
+        }
     }
 
     public void handleUserInput(String input, PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
         if (session.getCurrentState() == PomodoroState.AWAITING_NEXT_POMODORO) {
             if ("s".equals(input)) {
-                startNewPomodoro(session, timer, ui);
+                timed("startNewPomodoro", () -> startNewPomodoro(session, timer, ui));
             } else if ("n".equals(input)) {
                 ui.showMessage("Ciclo detenido. Volviendo al menú principal.");
-                resetToStoppedState(session, timer, ui);
+                timed("resetToStoppedState", () -> resetToStoppedState(session, timer, ui));
             } else if (!input.isEmpty()){
                 ui.showMessage("Opción no válida. Ingrese 's' o 'n'.");
             }
@@ -320,7 +624,7 @@ public class PomodoroService {
                 switch (choice) {
                     case 4: togglePause(session, timer, ui); break;
                     case 5: finishCurrentTimerAndCycle(session, timer, ui); break;
-                    case 6: exitApplication(timer, ui); break; // exitApplication se encarga de todo
+                    case 6: exitApplication(session, timer, ui); break; // exitApplication se encarga de todo
                     default: ui.showMessage("Opción no válida mientras el temporizador está activo. Use 4, 5, o 6.");
                 }
             } catch (NumberFormatException e) {
@@ -332,6 +636,9 @@ public class PomodoroService {
             if (input.isEmpty()) return; // No hacer nada si se presiona Enter en el menú principal
             try {
                 int choice = Integer.parseInt(input);
+                if (choice >= 10 && choice < 40) {
+                    awaitDatabase(ui); // Tareas, categorías y estadísticas; el timer (1-4) no usa la base
+                }
                 switch (choice) {
                     // Pomodoro
                     case 1: startPomodoroCycle(session, timer, ui); break;
@@ -341,14 +648,25 @@ public class PomodoroService {
                     // Tareas
                     case 10: createTask(ui); break; // No necesita session para crear
                     case 11: listPendingTasks(ui); break;
-                    case 12: selectTaskForPomodoro(session, ui); break;
-                    case 13: markTaskAsCompleted(session, ui); break;
-                    case 14: deselectCurrentTask(session, ui); break;
+                    case 12: selectTaskForPomodoro(session, timer, ui); break;
+                    case 13: markTaskAsCompleted(session, timer, ui); break;
+                    case 14: deselectCurrentTask(session, timer, ui); break;
+                    case 15: searchTasks(session, timer, ui); break;
+                    case 16: importTasks(ui); break;
+                    case 17: exportTasks(ui); break;
                     // Categorías
                     case 20: createCategory(ui); break;
                     case 21: listCategories(ui); break;
+                    // Estadísticas
+                    case 30: showDailyStats(ui); break;
+                    case 31: showWeeklyStats(ui); break;
+                    case 32: showTotalStats(ui); break;
+                    case 33: rebuildStats(ui); break;
+                    // Diagnóstico (no se miden: son las que leen las métricas)
+                    case 40: showMetrics(ui); break;
+                    case 41: exportMetrics(ui); break;
                     // Salir
-                    case 6: exitApplication(timer, ui); break;
+                    case 6: exitApplication(session, timer, ui); break;
                     default: ui.showMessage("Opción no válida. Por favor, intente de nuevo.");
                 }
             } catch (NumberFormatException e) {
@@ -357,12 +675,29 @@ public class PomodoroService {
         }
     }
 
-    public void exitApplication(PomodoroTimer timer, ConsoleUI ui) {
+    /**
+     * En el modo de inicio rápido, espera a que termine de arrancar la base avisando al usuario; si ya está lista
+     * no hace nada.
+     */
+    private void awaitDatabase(ConsoleUI ui) {
+        if (!databaseBootstrap.isReady()) {
+            ui.showMessage("Esperando a que termine de iniciar la base de datos...");
+            databaseBootstrap.awaitReady();
+        }
+    }
+
+    public void exitApplication(PomodoroSession session, PomodoroTimer timer, ConsoleUI ui) {
         ui.showMessage("\nSaliendo de la aplicación Pomodoro. ¡Adiós!");
         if (timer != null) {
             timer.stopAndClear();
         }
+        // Volcar los pomodoros acreditados y el historial antes de salir; el cierre del contexto vuelve a intentarlo
+        creditWriter.flush();
+        eventLog.flush();
+        if (PomodoroSession.LOCAL_USER_ID.equals(session.getUserId())) {
+            sessionCheckpoint.discard(); // Salida normal: no hay sesión que retomar
+        }
         ui.closeScanner();
-        System.exit(0);
+        ui.exit(0);
     }
 }
\ No newline at end of file
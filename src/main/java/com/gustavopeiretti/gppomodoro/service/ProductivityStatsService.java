@@ -0,0 +1,82 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.model.CategoryStatsRow;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.repository.CategoryStatsRepository;
+import com.gustavopeiretti.gppomodoro.repository.DailyCategoryStatsRepository;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Rollups de productividad por categoría y por día.
+ * <p>
+ * Se actualizan de forma incremental en el mismo camino que acredita pomodoros y completa tareas, así los reportes
+ * leen unas pocas filas precalculadas en lugar de hacer GROUP BY sobre todo el historial.
+ * {@link #rebuild()} los recalcula desde los datos base si alguna vez se desincronizan.
+ */
+@Service
+public class ProductivityStatsService {
+
+    private final TaskRepository taskRepository;
+    private final DailyCategoryStatsRepository dailyStatsRepository;
+    private final CategoryStatsRepository categoryStatsRepository;
+
+    public ProductivityStatsService(TaskRepository taskRepository, DailyCategoryStatsRepository dailyStatsRepository,
+                                    CategoryStatsRepository categoryStatsRepository) {
+        this.taskRepository = taskRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.categoryStatsRepository = categoryStatsRepository;
+    }
+
+    /**
+     * Suma pomodoros a los rollups de la categoría de la tarea. Se une a la transacción del volcado de créditos.
+     */
+    @Transactional
+    public void addPomodoros(LocalDate date, Long taskId, int pomodoros) {
+        dailyStatsRepository.addForTask(date, taskId, pomodoros, 0);
+        categoryStatsRepository.addForTask(taskId, pomodoros, 0);
+    }
+
+    /**
+     * Marca la tarea como completada y actualiza los rollups en la misma transacción.
+     */
+    @Transactional
+    public void completeTask(Task task) {
+        task.setCompleted(true);
+        taskRepository.save(task);
+        dailyStatsRepository.addForTask(task.getCompletionDate().toLocalDate(), task.getId(), 0, 1);
+        categoryStatsRepository.addForTask(task.getId(), 0, 1);
+    }
+
+    public List<CategoryStatsRow> getDailyStats(LocalDate date) {
+        return dailyStatsRepository.summarizeBetween(date, date);
+    }
+
+    public List<CategoryStatsRow> getWeeklyStats(LocalDate dayInWeek) {
+        LocalDate monday = dayInWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return dailyStatsRepository.summarizeBetween(monday, monday.plusDays(6));
+    }
+
+    public List<CategoryStatsRow> getTotalStats() {
+        return categoryStatsRepository.summarizeAll();
+    }
+
+    /**
+     * Recalcula todos los rollups desde {@code task} y {@code pomodoro_event}. Los créditos y eventos pendientes
+     * deben volcarse antes de llamarlo. Los totales se suman desde los diarios recién recalculados, así ambos
+     * coinciden aunque falten eventos en el historial.
+     */
+    @Transactional
+    public void rebuild() {
+        dailyStatsRepository.deleteAllRows();
+        categoryStatsRepository.deleteAllRows();
+        dailyStatsRepository.rebuildFromBaseData();
+        categoryStatsRepository.rebuildFromDailyStats();
+    }
+}
@@ -0,0 +1,175 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.model.TaskSummary;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché LRU acotada de {@link TaskSummary} entre {@link PomodoroService} y {@link TaskRepository}.
+ * <p>
+ * Los ticks del timer y los redibujados del menú leen el nombre de la tarea actual desde aquí, sin tocar JPA/H2.
+ * Toda operación que renombre, complete o elimine una tarea debe llamar a {@link #invalidate(Long)}.
+ */
+@Component
+public class TaskSummaryCache {
+
+    private final TaskRepository taskRepository;
+    private final int maxSize;
+    private final Map<Long, TaskSummary> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Se incrementa en cada invalidación para no volver a cachear una lectura que quedó obsoleta
+    private long invalidationVersion;
+
+    @Autowired
+    public TaskSummaryCache(TaskRepository taskRepository,
+                            @Value("${pomodoro.cache.task-summary.max-size:1024}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("pomodoro.cache.task-summary.max-size debe ser positivo: " + maxSize);
+        }
+        this.taskRepository = taskRepository;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) { // accessOrder=true -> LRU
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TaskSummary> eldest) {
+                if (size() > TaskSummaryCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<TaskSummary> get(Long taskId) {
+        if (taskId == null) {
+            return Optional.empty();
+        }
+        TaskSummary cached;
+        long versionBeforeLoad;
+        lock.lock();
+        try {
+            cached = entries.get(taskId);
+            versionBeforeLoad = invalidationVersion;
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        // La consulta se hace fuera del lock para no bloquear a otros lectores mientras H2 responde
+        Optional<TaskSummary> loaded = taskRepository.findById(taskId).map(TaskSummary::of);
+        loaded.ifPresent(summary -> {
+            lock.lock();
+            try {
+                if (invalidationVersion == versionBeforeLoad) {
+                    entries.put(summary.id(), summary);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        return loaded;
+    }
+
+    public Optional<String> getName(Long taskId) {
+        return get(taskId).map(TaskSummary::name);
+    }
+
+    /**
+     * Como {@link #getName(Long)} pero devuelve null si no existe: en un acierto no crea ningún objeto,
+     * así que es la que se usa en cada tick.
+     */
+    public String findName(Long taskId) {
+        if (taskId == null) {
+            return null;
+        }
+        TaskSummary cached;
+        lock.lock();
+        try {
+            cached = entries.get(taskId);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached.name();
+        }
+        return get(taskId).map(TaskSummary::name).orElse(null);
+    }
+
+    public void put(TaskSummary summary) {
+        lock.lock();
+        try {
+            entries.put(summary.id(), summary);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descarta la entrada de la tarea. Debe llamarse al renombrar, completar o eliminar una tarea.
+     */
+    public void invalidate(Long taskId) {
+        lock.lock();
+        try {
+            entries.remove(taskId);
+            invalidationVersion++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            invalidationVersion++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSummaryCache{size=" + size() + "/" + maxSize
+                + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta las tareas de a una y en orden de llegada sobre un executor compartido. Así los eventos de una misma
+ * sesión nunca se solapan, aunque el executor subyacente lance un hilo (virtual) por tarea.
+ */
+final class SerialExecutor implements Executor {
+
+    private static final Logger log = LoggerFactory.getLogger(SerialExecutor.class);
+
+    private final Executor delegate;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    SerialExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return; // Ya hay un drenado en curso o pendiente que la va a tomar
+        }
+        try {
+            delegate.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            tasks.clear(); // El registro se está cerrando
+            log.debug("Executor de sesiones cerrado; se descartan las tareas pendientes", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Error en una tarea de sesión", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // Una tarea pudo llegar entre el último poll y el reset de la marca
+        if (!tasks.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
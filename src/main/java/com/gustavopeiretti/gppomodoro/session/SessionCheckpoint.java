@@ -0,0 +1,236 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Checkpoint de la sesión de la consola en un archivo pequeño mapeado en memoria, para retomarla si el proceso muere.
+ * <p>
+ * Se guarda en cada transición (inicio, pausa, reanudación, fin, selección de tarea) y, mientras el timer corre,
+ * se refresca el tiempo restante cada {@code pomodoro.checkpoint.refresh-interval-ms}. El camino del tick no se
+ * toca. Lo escrito en el mapeo queda en la caché de páginas del sistema operativo, así que sobrevive a la muerte
+ * de la JVM; solo las transiciones fuerzan además la escritura a disco.
+ * <p>
+ * El archivo tiene dos registros con número de secuencia y CRC que se escriben alternadamente: si el proceso
+ * muere a mitad de una escritura, el registro anterior sigue intacto y es el que se restaura.
+ */
+@Component
+public class SessionCheckpoint {
+
+    private static final int MAGIC = 0x504F4D31; // "POM1"
+    private static final int SLOT_SIZE = 64;
+    private static final int CRC_OFFSET = 48;
+    private static final int FLAG_RUNNING = 1;
+    private static final int FLAG_PAUSED = 2;
+    private static final long NO_TASK = -1;
+
+    private final Path file;
+    private final LongSupplier wallClock;
+    private MappedByteBuffer buffer;
+    private long sequence;
+
+    // Último estado guardado, para que el refresco periódico no lea la sesión desde otro hilo
+    private Snapshot last;
+    private PomodoroTimer lastTimer;
+
+    /**
+     * Estado restaurable de la sesión. {@code remainingSeconds} es el tiempo restante en {@code savedAtEpochMillis}.
+     */
+    public record Snapshot(PomodoroState state, int pomodoroCount, int cyclePomodoroCount, Long currentTaskId,
+                           boolean timerRunning, boolean timerPaused, int remainingSeconds, long savedAtEpochMillis) {
+
+        /**
+         * Segundos que le quedan al timer ahora: si corría, el tiempo con el proceso caído también cuenta.
+         */
+        public int remainingSecondsAt(long nowEpochMillis) {
+            if (!timerRunning || timerPaused) {
+                return remainingSeconds;
+            }
+            long elapsedMillis = Math.max(0, nowEpochMillis - savedAtEpochMillis);
+            long remainingMillis = remainingSeconds * 1000L - elapsedMillis;
+            return remainingMillis <= 0 ? 0 : (int) ((remainingMillis + 999) / 1000);
+        }
+    }
+
+    @Autowired
+    public SessionCheckpoint(@Value("${pomodoro.checkpoint.enabled:false}") boolean enabled,
+                             @Value("${pomodoro.checkpoint.file:}") String file) {
+        this(enabled && !file.isBlank() ? Path.of(file) : null, System::currentTimeMillis);
+    }
+
+    SessionCheckpoint(Path file, LongSupplier wallClock) {
+        this.file = file;
+        this.wallClock = wallClock;
+    }
+
+    /**
+     * Checkpoint que no guarda nada, para cuando no hay dónde persistir la sesión (base en memoria, pruebas).
+     */
+    public static SessionCheckpoint disabled() {
+        return new SessionCheckpoint(null, System::currentTimeMillis);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Guarda el estado de la sesión local tras una transición. Las sesiones de otros usuarios no se guardan.
+     */
+    public synchronized void save(PomodoroSession session, PomodoroTimer timer) {
+        if (!isEnabled() || !PomodoroSession.LOCAL_USER_ID.equals(session.getUserId())) {
+            return;
+        }
+        boolean running = timer != null && timer.isRunning();
+        Snapshot snapshot = new Snapshot(session.getCurrentState(), session.getPomodoroCount(),
+                session.getCyclePomodoroCount(), session.getCurrentTaskId(), running, running && timer.isPaused(),
+                running ? timer.getRemainingSeconds() : 0, wallClock.getAsLong());
+        this.lastTimer = running ? timer : null;
+        write(snapshot, true);
+    }
+
+    /**
+     * Refresca el tiempo restante del timer en marcha. Sin forzar a disco: es una escritura en memoria.
+     */
+    @Scheduled(fixedDelayString = "${pomodoro.checkpoint.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (last == null || lastTimer == null || !last.timerRunning() || last.timerPaused() || !lastTimer.isRunning()) {
+            return;
+        }
+        write(new Snapshot(last.state(), last.pomodoroCount(), last.cyclePomodoroCount(), last.currentTaskId(),
+                true, false, lastTimer.getRemainingSeconds(), wallClock.getAsLong()), false);
+    }
+
+    /**
+     * Último checkpoint válido, si lo hay.
+     */
+    public synchronized Optional<Snapshot> restore() {
+        if (!isEnabled() || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        MappedByteBuffer mapped = mapped();
+        int offset = latestValidSlot(mapped);
+        if (offset < 0) {
+            return Optional.empty();
+        }
+        Snapshot best = read(mapped, offset);
+        this.sequence = mapped.getLong(offset);
+        this.last = best;
+        return Optional.of(best);
+    }
+
+    /**
+     * Offset del registro válido con la secuencia más alta, o -1 si ninguno es válido.
+     */
+    private static int latestValidSlot(MappedByteBuffer mapped) {
+        int best = -1;
+        long bestSequence = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            int offset = slot * SLOT_SIZE;
+            long slotSequence = mapped.getLong(offset);
+            if (mapped.getInt(offset + 8) != MAGIC || mapped.getInt(offset + CRC_OFFSET) != crc(mapped, offset)
+                    || slotSequence <= bestSequence) {
+                continue;
+            }
+            best = offset;
+            bestSequence = slotSequence;
+        }
+        return best;
+    }
+
+    /**
+     * Descarta el checkpoint: tras una salida normal no hay nada que retomar.
+     */
+    public synchronized void discard() {
+        if (!isEnabled() || !Files.exists(file)) {
+            return;
+        }
+        MappedByteBuffer mapped = mapped();
+        for (int i = 0; i < 2 * SLOT_SIZE; i++) {
+            mapped.put(i, (byte) 0);
+        }
+        mapped.force();
+        this.last = null;
+        this.lastTimer = null;
+    }
+
+    private void write(Snapshot snapshot, boolean force) {
+        MappedByteBuffer mapped = mapped();
+        long nextSequence = sequence + 1;
+        int offset = (int) (nextSequence % 2) * SLOT_SIZE;
+        mapped.putLong(offset, nextSequence);
+        mapped.putInt(offset + 8, MAGIC);
+        mapped.putInt(offset + 12, snapshot.state().ordinal());
+        mapped.putInt(offset + 16, snapshot.pomodoroCount());
+        mapped.putInt(offset + 20, snapshot.cyclePomodoroCount());
+        mapped.putInt(offset + 24, snapshot.remainingSeconds());
+        mapped.putInt(offset + 28, (snapshot.timerRunning() ? FLAG_RUNNING : 0) | (snapshot.timerPaused() ? FLAG_PAUSED : 0));
+        mapped.putLong(offset + 32, snapshot.currentTaskId() != null ? snapshot.currentTaskId() : NO_TASK);
+        mapped.putLong(offset + 40, snapshot.savedAtEpochMillis());
+        // El CRC va al final: un registro a medio escribir no lo valida y se usa el otro
+        mapped.putInt(offset + CRC_OFFSET, crc(mapped, offset));
+        if (force) {
+            mapped.force(offset, SLOT_SIZE);
+        }
+        this.sequence = nextSequence;
+        this.last = snapshot;
+    }
+
+    private static Snapshot read(MappedByteBuffer mapped, int offset) {
+        int flags = mapped.getInt(offset + 28);
+        long taskId = mapped.getLong(offset + 32);
+        return new Snapshot(PomodoroState.values()[mapped.getInt(offset + 12)], mapped.getInt(offset + 16),
+                mapped.getInt(offset + 20), taskId == NO_TASK ? null : taskId, (flags & FLAG_RUNNING) != 0,
+                (flags & FLAG_PAUSED) != 0, mapped.getInt(offset + 24), mapped.getLong(offset + 40));
+    }
+
+    private static int crc(MappedByteBuffer mapped, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(mapped.slice(offset, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer mapped() {
+        if (buffer == null) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    // El mapeo sigue siendo válido después de cerrar el canal
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2 * SLOT_SIZE);
+                }
+                // Se sigue la secuencia del archivo aunque no se haya restaurado: empezando de cero, el registro viejo
+                // con secuencia mayor que quedara en el otro lugar ganaría al restaurar
+                int offset = latestValidSlot(buffer);
+                sequence = offset < 0 ? 0 : buffer.getLong(offset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo abrir el checkpoint de la sesión " + file, e);
+            }
+        }
+        return buffer;
+    }
+
+    @PreDestroy
+    synchronized void forceOnShutdown() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.timer.TimerScheduler;
+import com.gustavopeiretti.gppomodoro.timer.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Registro concurrente de sesiones Pomodoro por usuario, para que un mismo proceso atienda a todo un equipo.
+ * <p>
+ * Las sesiones viven en un {@link ConcurrentHashMap} (sin lock global) y cada una tiene su propio lock:
+ * operaciones de usuarios distintos nunca compiten entre sí. Una sesión sin actividad durante
+ * {@code pomodoro.sessions.idle-timeout-minutes} y sin temporizador en marcha se desaloja periódicamente.
+ * <p>
+ * Los callbacks del timer de cada sesión no corren en los hilos de la rueda: se encolan, en orden y con el lock
+ * de la sesión tomado, en el executor de trabajo elegido con {@code pomodoro.threads.mode}. En modo
+ * {@link ThreadingMode#VIRTUAL} cada tarea corre en un hilo virtual, así que miles de sesiones que terminan un
+ * Pomodoro en el mismo segundo pueden bloquear en JDBC sin agotar hilos de plataforma; la rueda sigue
+ * planificando con su pequeño pool.
+ */
+@Component
+public class SessionRegistry {
+
+    private final ConcurrentHashMap<String, UserSession> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private final long evictionIntervalSeconds;
+    private final ThreadingMode threadingMode;
+    private final ExecutorService workExecutor;
+    private final TimerScheduler timerScheduler;
+    private volatile TimingWheel.Timeout evictionTimeout;
+    private volatile boolean closed;
+
+    @Autowired
+    public SessionRegistry(@Value("${pomodoro.sessions.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                           @Value("${pomodoro.sessions.eviction-interval-seconds:60}") long evictionIntervalSeconds,
+                           @Value("${pomodoro.threads.mode:platform}") ThreadingMode threadingMode,
+                           @Value("${pomodoro.threads.platform-pool-size:8}") int platformPoolSize,
+                           PomodoroConfig config) {
+        this(idleTimeoutMinutes, evictionIntervalSeconds, threadingMode, platformPoolSize, config.getTimerScheduler());
+    }
+
+    public SessionRegistry(long idleTimeoutMinutes, long evictionIntervalSeconds, ThreadingMode threadingMode,
+                           int platformPoolSize) {
+        this(idleTimeoutMinutes, evictionIntervalSeconds, threadingMode, platformPoolSize, TimingWheel.shared());
+    }
+
+    /**
+     * Registro cuyos timers usan {@code timerScheduler}; el desalojo de sesiones sigue en la rueda, en tiempo real.
+     */
+    public SessionRegistry(long idleTimeoutMinutes, long evictionIntervalSeconds, ThreadingMode threadingMode,
+                           int platformPoolSize, TimerScheduler timerScheduler) {
+        this.timerScheduler = timerScheduler;
+        this.idleTimeoutNanos = TimeUnit.MINUTES.toNanos(idleTimeoutMinutes);
+        this.evictionIntervalSeconds = evictionIntervalSeconds;
+        this.threadingMode = threadingMode;
+        this.workExecutor = threadingMode == ThreadingMode.VIRTUAL
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pomodoro-session-", 0).factory())
+                : Executors.newFixedThreadPool(platformPoolSize, platformThreadFactory());
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pomodoro-session-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PostConstruct
+    void scheduleEviction() {
+        if (closed || evictionIntervalSeconds <= 0) {
+            return;
+        }
+        evictionTimeout = TimingWheel.shared().schedule(() -> {
+            evictIdleSessions();
+            scheduleEviction();
+        }, evictionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        TimingWheel.Timeout timeout = evictionTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        sessions.values().forEach(userSession -> userSession.getTimer().stopAndClear());
+        workExecutor.shutdown();
+    }
+
+    public ThreadingMode getThreadingMode() {
+        return threadingMode;
+    }
+
+    /**
+     * Devuelve la sesión del usuario, creándola si no existe.
+     */
+    public UserSession getOrCreate(String userId) {
+        return sessions.computeIfAbsent(userId, this::newSession);
+    }
+
+    private UserSession newSession(String userId) {
+        UserSession userSession = new UserSession(userId, new PomodoroTimer(timerScheduler));
+        SerialExecutor serialExecutor = new SerialExecutor(workExecutor);
+        Executor sessionExecutor = task -> serialExecutor.execute(() -> runLocked(userSession, task));
+        userSession.setExecutor(sessionExecutor);
+        userSession.getTimer().setCallbackExecutor(sessionExecutor);
+        return userSession;
+    }
+
+    // ReentrantLock y no synchronized: un hilo virtual que espera el lock no retiene a su hilo portador
+    private static void runLocked(UserSession userSession, Runnable task) {
+        userSession.getLock().lock();
+        try {
+            task.run();
+        } finally {
+            userSession.getLock().unlock();
+        }
+    }
+
+    public Optional<UserSession> find(String userId) {
+        return Optional.ofNullable(sessions.get(userId));
+    }
+
+    /**
+     * Ejecuta {@code action} con el lock de la sesión del usuario tomado. Si la sesión fue desalojada
+     * mientras se esperaba el lock, se reintenta con una sesión nueva.
+     */
+    public <T> T withSession(String userId, Function<UserSession, T> action) {
+        while (true) {
+            UserSession userSession = getOrCreate(userId);
+            userSession.getLock().lock();
+            try {
+                if (userSession.isEvicted()) {
+                    continue;
+                }
+                userSession.touch();
+                return action.apply(userSession);
+            } finally {
+                userSession.getLock().unlock();
+            }
+        }
+    }
+
+    public void execute(String userId, Consumer<UserSession> action) {
+        withSession(userId, userSession -> {
+            action.accept(userSession);
+            return null;
+        });
+    }
+
+    /**
+     * Encola {@code action} en el executor de la sesión: corre después de los eventos ya encolados para ese usuario,
+     * con su lock tomado, y sin bloquear a quien la envía.
+     */
+    public CompletableFuture<Void> submit(String userId, Consumer<UserSession> action) {
+        UserSession userSession = getOrCreate(userId);
+        return CompletableFuture.runAsync(() -> {
+            userSession.touch();
+            action.accept(userSession);
+        }, userSession.getExecutor());
+    }
+
+    /**
+     * Elimina la sesión del usuario deteniendo su temporizador.
+     */
+    public boolean remove(String userId) {
+        UserSession userSession = sessions.get(userId);
+        if (userSession == null) {
+            return false;
+        }
+        userSession.getLock().lock();
+        try {
+            return evict(userSession);
+        } finally {
+            userSession.getLock().unlock();
+        }
+    }
+
+    /**
+     * Desaloja las sesiones inactivas. Las sesiones ocupadas (lock tomado), fijadas o con el timer en marcha se respetan.
+     *
+     * @return cantidad de sesiones desalojadas
+     */
+    public int evictIdleSessions() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (UserSession userSession : sessions.values()) {
+            if (userSession.isPinned() || now - userSession.getLastAccessNanos() < idleTimeoutNanos) {
+                continue;
+            }
+            if (!userSession.getLock().tryLock()) {
+                continue; // Alguien la está usando: no está inactiva
+            }
+            try {
+                if (!userSession.getTimer().isRunning()
+                        && System.nanoTime() - userSession.getLastAccessNanos() >= idleTimeoutNanos
+                        && evict(userSession)) {
+                    evicted++;
+                }
+            } finally {
+                userSession.getLock().unlock();
+            }
+        }
+        return evicted;
+    }
+
+    // Debe llamarse con el lock de la sesión tomado
+    private boolean evict(UserSession userSession) {
+        if (!sessions.remove(userSession.getUserId(), userSession)) {
+            return false;
+        }
+        userSession.markEvicted();
+        userSession.getTimer().stopAndClear();
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public Collection<UserSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+}
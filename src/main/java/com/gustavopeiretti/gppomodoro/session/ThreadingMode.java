@@ -0,0 +1,12 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+/**
+ * Dónde corre el trabajo de cada sesión (callbacks del timer y operaciones encoladas con
+ * {@link SessionRegistry#submit}).
+ */
+public enum ThreadingMode {
+    /** Un pool fijo de hilos de plataforma compartido por todas las sesiones. */
+    PLATFORM,
+    /** Un hilo virtual por tarea: el trabajo bloqueante (JDBC) no retiene hilos de plataforma. */
+    VIRTUAL
+}
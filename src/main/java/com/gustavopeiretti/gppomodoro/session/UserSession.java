@@ -0,0 +1,81 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estado de un usuario dentro del {@link SessionRegistry}: su {@link PomodoroSession}, su {@link PomodoroTimer}
+ * y el lock propio que serializa las operaciones sobre ambos.
+ */
+public class UserSession {
+    private final String userId;
+    private final PomodoroSession session;
+    private final PomodoroTimer timer;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Serializa el trabajo asíncrono de la sesión con su lock tomado; lo asigna el registro
+    private Executor executor = Runnable::run;
+
+    private volatile long lastAccessNanos;
+    // Las sesiones fijadas (p. ej. la de la consola local) nunca se desalojan por inactividad
+    private volatile boolean pinned;
+    // Se marca bajo el lock al desalojar; quien tenga una referencia vieja debe volver a buscarla
+    private boolean evicted;
+
+    UserSession(String userId, PomodoroTimer timer) {
+        this.userId = userId;
+        this.session = new PomodoroSession(userId);
+        this.timer = timer;
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public PomodoroSession getSession() {
+        return session;
+    }
+
+    public PomodoroTimer getTimer() {
+        return timer;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    ReentrantLock getLock() {
+        return lock;
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    void markEvicted() {
+        this.evicted = true;
+    }
+}
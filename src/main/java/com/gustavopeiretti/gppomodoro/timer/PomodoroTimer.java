@@ -1,89 +1,316 @@
 package com.gustavopeiretti.gppomodoro.timer;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
 import java.lang.Runnable;
 
+/**
+ * Temporizador basado en un deadline absoluto sobre el reloj de su {@link TimerScheduler}.
+ * <p>
+ * El tiempo restante se calcula bajo demanda a partir del deadline, por lo que la latencia del planificador,
+ * las pausas de GC o un callback lento no acumulan deriva. Solo se programan despertares útiles: uno cada vez
+ * que cambia el segundo mostrado (si hay {@code onTick}) y otro al vencer. En pausa no se programa ninguno:
+ * pausar guarda el tiempo restante y reanudar desplaza el deadline.
+ * <p>
+ * Los callbacks se entregan a un {@link Executor}: por defecto se ejecutan en el hilo de la rueda, pero la consola
+ * los publica en su bucle de eventos para aplicarlos en el mismo hilo que la entrada del usuario.
+ * <p>
+ * Un tick en régimen no crea objetos: el callback es primitivo ({@link IntConsumer}), el despertar reutiliza su
+ * timeout de la rueda y la entrega al executor reutiliza siempre el mismo {@link Runnable}.
+ * <p>
+ * Además de los callbacks, que manejan la sesión, el timer puede publicar sus eventos (inicio, tick, pausa,
+ * reanudación, vencimiento, detención) en un {@link TimerEventBus} para consumidores independientes.
+ * <p>
+ * El reloj y los despertares salen del {@link TimerScheduler}: por defecto la {@link TimingWheel} compartida, en
+ * tiempo real; con un {@link VirtualTimeScheduler} el mismo timer recorre un Pomodoro en lo que tarde avanzar el
+ * reloj virtual.
+ */
 public class PomodoroTimer {
-    private ScheduledExecutorService scheduler;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Planificador compartido (la rueda, en producción): ya no se crea un hilo por cada timer
+    private final TimerScheduler scheduler;
+    private TimerScheduler.Scheduled pendingWakeup;
+    // Instante ideal del despertar pendiente, para medir con cuánto retraso llega
+    private long scheduledWakeupNanos;
+    // Se incrementa en cada start/pause/stop para descartar despertares de programaciones anteriores
+    private long generation;
+
     // No necesitamos totalDurationSeconds aquí, se gestiona externamente
-    private int remainingSeconds;
-    private boolean isRunning;
-    private boolean isPaused;
+    private long deadlineNanos;
+    private long pausedRemainingNanos;
+    private int lastReportedSeconds;
+    private volatile boolean isRunning;
+    private volatile boolean isPaused;
+    private boolean ticksEnabled = true;
 
-    private Consumer<Integer> onTickCallback;
+    private IntConsumer onTickCallback;
     private Runnable onFinishCallback;
+    private volatile Executor callbackExecutor = Runnable::run;
+    // Se publica con el lock del timer tomado: es lo que hace del timer el único productor del bus. Como el bus solo
+    // tiene consumidores DROP (ver setEventBus), publicar nunca espera y no retiene el lock
+    private TimerEventBus eventBus;
+
+    // Tick pendiente de entrega: si ya hay uno en el executor solo se actualiza el valor, no se encola otro
+    private final Runnable tickDelivery = this::deliverTick;
+    private final AtomicBoolean tickQueued = new AtomicBoolean();
+    private volatile IntConsumer tickTarget;
+    private volatile int tickSeconds;
 
     public PomodoroTimer() {
+        this(TimingWheel.shared());
+    }
+
+    public PomodoroTimer(TimerScheduler scheduler) {
+        this.scheduler = scheduler;
         this.isRunning = false;
         this.isPaused = false;
     }
 
-    public void start(int durationSeconds, Consumer<Integer> onTick, Runnable onFinish) {
-        if (this.scheduler != null && !this.scheduler.isShutdown()) {
-            this.scheduler.shutdownNow();
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Conecta el bus de eventos del timer. Tiene que estar arrancado, así ya no admite consumidores nuevos, y no tener
+     * consumidores {@link TimerEventBus.BackPressure#BLOCK}: el timer publica con su lock tomado, y un consumidor
+     * trabado dejaría esperando a la rueda y a quien pause o detenga el timer, incluido el hilo de la consola.
+     *
+     * @throws IllegalArgumentException si el bus no arrancó o tiene consumidores BLOCK
+     */
+    public synchronized void setEventBus(TimerEventBus eventBus) {
+        if (eventBus != null && (!eventBus.isStarted() || eventBus.hasBlockingConsumers())) {
+            throw new IllegalArgumentException("El bus de eventos del timer tiene que estar arrancado y tener solo "
+                    + "consumidores DROP");
+        }
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Sin ticks el timer ignora {@code onTick} y solo despierta al vencer: para simulaciones donde nadie dibuja el
+     * contador. Se aplica desde el próximo {@link #start}.
+     */
+    public synchronized void setTicksEnabled(boolean ticksEnabled) {
+        this.ticksEnabled = ticksEnabled;
+    }
+
+    private void publishEvent(TimerEventType type, int remainingSeconds) {
+        if (eventBus != null) {
+            eventBus.publish(type, remainingSeconds);
+        }
+    }
+
+    public synchronized void start(int durationSeconds, IntConsumer onTick, Runnable onFinish) {
+        cancelPendingWakeup();
+        if (!isRunning) {
+            TimerMetrics.ACTIVE_TIMERS.incrementAndGet();
         }
-        this.scheduler = Executors.newSingleThreadScheduledExecutor();
-        this.remainingSeconds = durationSeconds; // El timer solo conoce los segundos que le dieron para contar
+        if (!ticksEnabled) {
+            onTick = null;
+        }
+        this.deadlineNanos = scheduler.nanoTime() + durationSeconds * NANOS_PER_SECOND;
+        this.lastReportedSeconds = -1;
         this.onTickCallback = onTick;
         this.onFinishCallback = onFinish;
         this.isRunning = true;
         this.isPaused = false;
+        publishEvent(TimerEventType.STARTED, durationSeconds);
+
+        // Primer despertar inmediato para mostrar la duración completa; sin onTick solo interesa el vencimiento
+        scheduleWakeup(onTick != null ? scheduler.nanoTime() : this.deadlineNanos, null);
+    }
+
+    /**
+     * Arranca el timer ya pausado con {@code durationSeconds} restantes; {@link #resume()} lo pone en marcha.
+     * Se usa al restaurar una sesión que estaba en pausa.
+     */
+    public synchronized void startPaused(int durationSeconds, IntConsumer onTick, Runnable onFinish) {
+        start(durationSeconds, onTick, onFinish);
+        pause(); // Dentro del mismo lock: el despertar inicial ve otra generación y se descarta
+    }
+
+    /**
+     * Programa el próximo despertar. Si {@code reusable} es el despertar que se está procesando, su timeout ya
+     * vencido se vuelve a programar en lugar de crear uno nuevo.
+     */
+    private void scheduleWakeup(long atNanos, Wakeup reusable) {
+        long delayNanos = atNanos - scheduler.nanoTime();
+        this.scheduledWakeupNanos = atNanos;
+        Wakeup wakeup = reusable;
+        if (wakeup == null || wakeup.timeout == null || !wakeup.timeout.reschedule(delayNanos, TimeUnit.NANOSECONDS)) {
+            wakeup = new Wakeup();
+            wakeup.timeout = scheduler.schedule(wakeup, delayNanos, TimeUnit.NANOSECONDS);
+        }
+        // Aunque el timeout ya haya vencido en otro hilo, wakeup() espera este lock antes de leer la generación
+        wakeup.expectedGeneration = ++this.generation;
+        this.pendingWakeup = wakeup.timeout;
+    }
 
-        this.scheduler.scheduleAtFixedRate(() -> {
-            if (isPaused) {
-                return;
+    private void wakeup(Wakeup wakeup) {
+        IntConsumer tickCallback = null;
+        Runnable finishCallback = null;
+        int secondsToReport = 0;
+        synchronized (this) {
+            if (wakeup.expectedGeneration != this.generation || !isRunning || isPaused) {
+                return; // Timer detenido, pausado o reprogramado mientras este despertar estaba pendiente
             }
-            if (remainingSeconds > 0) {
-                remainingSeconds--;
-                if (onTickCallback != null) {
-                    // Pasamos los segundos restantes actuales del timer
-                    onTickCallback.accept(this.remainingSeconds);
-                }
-            } else {
-                // Detener el scheduler ANTES de llamar a onFinish para evitar llamadas concurrentes
+            this.pendingWakeup = null;
+            long now = scheduler.nanoTime();
+            TimerMetrics.TICK_LATENESS.record(Math.max(0, now - scheduledWakeupNanos), TimeUnit.NANOSECONDS);
+            long remainingNanos = deadlineNanos - now;
+            if (remainingNanos <= 0) {
+                // Marcar como no corriendo antes de llamar a onFinish para evitar llamadas concurrentes
                 // o que onFinish intente reiniciar un timer que aún está técnicamente "vivo".
-                ScheduledExecutorService currentScheduler = this.scheduler;
-                this.isRunning = false; // Marcar como no corriendo antes de que onFinish pueda intentar algo
+                this.isRunning = false;
                 this.isPaused = false;
-                if (currentScheduler != null) {
-                    currentScheduler.shutdown();
-                }
-                
-                if (onFinishCallback != null) {
-                    onFinishCallback.run();
+                this.generation++;
+                TimerMetrics.ACTIVE_TIMERS.decrementAndGet();
+                publishEvent(TimerEventType.FINISHED, 0);
+                finishCallback = this.onFinishCallback;
+            } else {
+                int remainingSeconds = toDisplayedSeconds(remainingNanos);
+                if (remainingSeconds != lastReportedSeconds && onTickCallback != null) {
+                    lastReportedSeconds = remainingSeconds;
+                    secondsToReport = remainingSeconds;
+                    tickCallback = this.onTickCallback;
+                    publishEvent(TimerEventType.TICK, remainingSeconds);
                 }
+                scheduleWakeup(nextWakeupNanos(remainingSeconds), wakeup);
             }
-        }, 0, 1, TimeUnit.SECONDS);
+        }
+        // Los callbacks se invocan fuera del lock: onFinish suele volver a llamar a start()
+        if (tickCallback != null) {
+            publishTick(tickCallback, secondsToReport);
+        }
+        if (finishCallback != null) {
+            Runnable callback = finishCallback;
+            callbackExecutor.execute(() -> runFinishCallback(callback));
+        }
+    }
+
+    private void publishTick(IntConsumer callback, int seconds) {
+        this.tickTarget = callback;
+        this.tickSeconds = seconds;
+        if (tickQueued.compareAndSet(false, true)) {
+            callbackExecutor.execute(tickDelivery);
+        }
     }
 
-    public void pause() {
+    private void deliverTick() {
+        // Primero se libera la marca: un tick que llegue mientras tanto se encola y no se pierde
+        tickQueued.set(false);
+        IntConsumer callback = this.tickTarget;
+        int seconds = this.tickSeconds;
+        if (callback == null || !isRunning || isPaused) {
+            return; // Se pausó o detuvo mientras el tick esperaba en el executor: ya no hay que dibujarlo
+        }
+        long callbackStart = System.nanoTime();
+        callback.accept(seconds);
+        TimerMetrics.TICK_CALLBACK.record(System.nanoTime() - callbackStart, TimeUnit.NANOSECONDS);
+    }
+
+    private static void runFinishCallback(Runnable callback) {
+        long callbackStart = System.nanoTime();
+        callback.run();
+        TimerMetrics.FINISH_CALLBACK.record(System.nanoTime() - callbackStart, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Procesa un despertar ya mismo, como si la rueda lo hubiera disparado, entregando siempre el tick.
+     * Solo para benchmarks y pruebas del camino del tick.
+     */
+    void wakeupNow() {
+        Wakeup wakeup = new Wakeup();
+        synchronized (this) {
+            cancelPendingWakeup();
+            this.lastReportedSeconds = -1;
+            this.scheduledWakeupNanos = scheduler.nanoTime();
+            wakeup.expectedGeneration = this.generation;
+        }
+        wakeup(wakeup);
+    }
+
+    /**
+     * Entrega un tick con el valor indicado por el mismo camino que uno real (executor, callback), sin pasar por
+     * la rueda. Solo para benchmarks del camino del tick.
+     */
+    void deliverTickNow(int seconds) {
+        IntConsumer callback;
+        synchronized (this) {
+            callback = this.onTickCallback;
+        }
+        if (callback != null) {
+            publishTick(callback, seconds);
+        }
+    }
+
+    public synchronized void pause() {
         if (isRunning && !isPaused) {
+            this.pausedRemainingNanos = Math.max(0, deadlineNanos - scheduler.nanoTime());
             this.isPaused = true;
+            this.generation++;
+            cancelPendingWakeup(); // En pausa no hay despertares
+            publishEvent(TimerEventType.PAUSED, toDisplayedSeconds(pausedRemainingNanos));
         }
     }
 
-    public void resume() {
+    public synchronized void resume() {
         if (isRunning && isPaused) {
             this.isPaused = false;
+            this.deadlineNanos = scheduler.nanoTime() + pausedRemainingNanos;
+            publishEvent(TimerEventType.RESUMED, toDisplayedSeconds(pausedRemainingNanos));
+            scheduleWakeup(nextWakeupNanos(toDisplayedSeconds(pausedRemainingNanos)), null);
         }
     }
 
-    public void stopAndClear() {
-        if (this.scheduler != null) {
-            this.scheduler.shutdownNow();
+    public synchronized void stopAndClear() {
+        cancelPendingWakeup();
+        if (isRunning) {
+            TimerMetrics.ACTIVE_TIMERS.decrementAndGet();
+            publishEvent(TimerEventType.STOPPED, getRemainingSeconds());
         }
+        this.generation++;
         this.isRunning = false;
         this.isPaused = false;
-        this.remainingSeconds = 0;
+        this.deadlineNanos = 0;
+        this.pausedRemainingNanos = 0;
         this.onTickCallback = null;
         this.onFinishCallback = null;
+        this.tickTarget = null;
+    }
+
+    /**
+     * Próximo despertar: cuando el segundo mostrado cambie, o directamente al vencer si nadie dibuja.
+     */
+    private long nextWakeupNanos(int displayedSeconds) {
+        if (onTickCallback == null || displayedSeconds <= 1) {
+            return deadlineNanos;
+        }
+        return deadlineNanos - (displayedSeconds - 1) * NANOS_PER_SECOND;
+    }
+
+    private void cancelPendingWakeup() {
+        if (this.pendingWakeup != null) {
+            this.pendingWakeup.cancel();
+            this.pendingWakeup = null;
+        }
     }
 
-    public int getRemainingSeconds() {
-        return remainingSeconds;
+    /**
+     * Segundos restantes redondeando hacia arriba: 24:59.3 se muestra como 25:00 hasta que realmente cambia.
+     */
+    private static int toDisplayedSeconds(long remainingNanos) {
+        return (int) ((remainingNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+
+    public synchronized int getRemainingSeconds() {
+        if (!isRunning) {
+            return 0;
+        }
+        long remainingNanos = isPaused ? pausedRemainingNanos : deadlineNanos - scheduler.nanoTime();
+        return remainingNanos <= 0 ? 0 : toDisplayedSeconds(remainingNanos);
     }
 
     public boolean isRunning() {
@@ -93,4 +320,18 @@ public class PomodoroTimer {
     public boolean isPaused() {
         return isPaused;
     }
-}
\ No newline at end of file
+
+    /**
+     * Tarea de despertar registrada en el planificador. Se reutiliza junto con su timeout mientras el timer siga corriendo.
+     */
+    private final class Wakeup implements Runnable {
+        // Protegidos por el lock del timer
+        private long expectedGeneration;
+        private TimerScheduler.Scheduled timeout;
+
+        @Override
+        public void run() {
+            wakeup(this);
+        }
+    }
+}
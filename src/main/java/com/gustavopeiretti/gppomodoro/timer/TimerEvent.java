@@ -0,0 +1,36 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+/**
+ * Entrada del {@link TimerEventBus}. Es mutable y se reutiliza: un consumidor no debe guardarla más allá de
+ * {@link TimerEventHandler#onEvent}.
+ */
+public final class TimerEvent {
+    private TimerEventType type;
+    private int remainingSeconds;
+    private long timestampNanos;
+
+    void set(TimerEventType type, int remainingSeconds, long timestampNanos) {
+        this.type = type;
+        this.remainingSeconds = remainingSeconds;
+        this.timestampNanos = timestampNanos;
+    }
+
+    void copyFrom(TimerEvent other) {
+        set(other.type, other.remainingSeconds, other.timestampNanos);
+    }
+
+    public TimerEventType getType() {
+        return type;
+    }
+
+    public int getRemainingSeconds() {
+        return remainingSeconds;
+    }
+
+    /**
+     * Instante de publicación, en {@link System#nanoTime()}.
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
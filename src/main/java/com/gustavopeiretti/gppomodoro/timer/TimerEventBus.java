@@ -0,0 +1,340 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer de un productor y varios consumidores, al estilo de Disruptor, para los eventos de un
+ * {@link PomodoroTimer}.
+ * <p>
+ * Las entradas se crean al construir el bus y se reutilizan. Publicar escribe la entrada siguiente y avanza el
+ * cursor, sin locks ni objetos nuevos. Cada consumidor corre en su propio hilo con su propia secuencia (lo último
+ * que procesó) y procesa por lotes todo lo que haya entre su secuencia y el cursor.
+ * <p>
+ * Cada consumidor elige qué pasa si se atrasa una vuelta entera del anillo:
+ * <ul>
+ *     <li>{@link BackPressure#BLOCK}: el productor lo espera. No se pierde ningún evento, pero un consumidor trabado
+ *     termina frenando al productor. Por eso un {@link PomodoroTimer} no acepta buses con consumidores BLOCK: los
+ *     usan productores que pueden esperar, como las pruebas y los benchmarks del bus.</li>
+ *     <li>{@link BackPressure#DROP}: el productor no lo espera. El consumidor salta a los eventos más recientes y
+ *     cuenta los que perdió.</li>
+ * </ul>
+ * Hay un solo productor porque el timer publica siempre con su lock tomado: los eventos salen de hilos distintos
+ * (la rueda, el que pausa), pero nunca dos a la vez.
+ */
+public final class TimerEventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerEventBus.class);
+    // Al esperar: primero se gira, después se cede el procesador y recién entonces se duerme
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+
+    public enum BackPressure {
+        BLOCK,
+        DROP
+    }
+
+    private final TimerEvent[] entries;
+    private final int mask;
+    private final Sequence cursor = new Sequence(-1);
+    private Consumer[] consumers = new Consumer[0];
+    // Secuencias de los consumidores BLOCK: el productor no puede adelantarse una vuelta a ninguna
+    private Sequence[] gatingSequences = new Sequence[0];
+    // Solo del productor: mínimo de gatingSequences la última vez que se miró, para no recorrerlas en cada publicación
+    private long cachedGatingSequence = -1;
+    private long producerWaits;
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    public TimerEventBus(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de dos mayor que 1: " + capacity);
+        }
+        this.entries = new TimerEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new TimerEvent();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Agrega un consumidor con su hilo. Todos se agregan antes de {@link #start()}.
+     */
+    public synchronized Consumer addConsumer(String name, BackPressure backPressure, TimerEventHandler handler) {
+        if (started) {
+            throw new IllegalStateException("Los consumidores se agregan antes de start()");
+        }
+        Consumer consumer = new Consumer(name, backPressure, handler);
+        consumers = Arrays.copyOf(consumers, consumers.length + 1);
+        consumers[consumers.length - 1] = consumer;
+        if (backPressure == BackPressure.BLOCK) {
+            gatingSequences = Arrays.copyOf(gatingSequences, gatingSequences.length + 1);
+            gatingSequences[gatingSequences.length - 1] = consumer.sequence;
+        }
+        return consumer;
+    }
+
+    /**
+     * true si algún consumidor es {@link BackPressure#BLOCK}, es decir, si publicar puede tener que esperar.
+     */
+    public synchronized boolean hasBlockingConsumers() {
+        return gatingSequences.length > 0;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    /**
+     * Publica un evento. Lo llama un solo productor a la vez: ver la documentación de la clase.
+     */
+    public void publish(TimerEventType type, int remainingSeconds) {
+        long next = cursor.getPlain() + 1;
+        long wrapPoint = next - entries.length;
+        if (wrapPoint > cachedGatingSequence) {
+            cachedGatingSequence = awaitGatingSequences(wrapPoint);
+        }
+        // Un consumidor DROP que lea esta entrada tiene que ver antes el cursor anterior (ver Consumer.run)
+        VarHandle.storeStoreFence();
+        entries[(int) next & mask].set(type, remainingSeconds, System.nanoTime());
+        // Escritura volátil y no release: ordena el cursor antes de leer sleeping, como hace el consumidor al revés
+        cursor.setVolatile(next);
+        for (Consumer consumer : consumers) {
+            if (consumer.sleeping) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+    }
+
+    private long awaitGatingSequences(long wrapPoint) {
+        long minimum;
+        int tries = 0;
+        while (wrapPoint > (minimum = minimumGatingSequence())) {
+            if (closed || !started) {
+                return wrapPoint; // Sin consumidores en marcha no hay a quién esperar
+            }
+            if (tries++ == 0) {
+                producerWaits++;
+            }
+            if (tries < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (tries < YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+        return minimum;
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Sequence sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Última posición publicada; -1 si todavía no se publicó nada.
+     */
+    public long getCursor() {
+        return cursor.getAcquire();
+    }
+
+    /**
+     * Publicaciones que tuvieron que esperar a un consumidor {@link BackPressure#BLOCK}. Lo lee el productor.
+     */
+    public long getProducerWaits() {
+        return producerWaits;
+    }
+
+    /**
+     * Consumidor del bus con su hilo, su secuencia y su política de contrapresión.
+     */
+    public final class Consumer implements Runnable {
+        private final String name;
+        private final BackPressure backPressure;
+        private final TimerEventHandler handler;
+        private final Sequence sequence = new Sequence(-1);
+        // Copia local: con DROP la entrada del anillo se puede pisar mientras el handler la usa
+        private final TimerEvent event = new TimerEvent();
+        private final Thread thread;
+        private volatile boolean sleeping;
+        private volatile long droppedCount;
+
+        private Consumer(String name, BackPressure backPressure, TimerEventHandler handler) {
+            this.name = name;
+            this.backPressure = backPressure;
+            this.handler = handler;
+            this.thread = new Thread(this, "pomodoro-timer-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.getPlain() + 1;
+            while (true) {
+                long available = waitFor(next);
+                if (available < next) {
+                    return; // Bus cerrado
+                }
+                if (backPressure == BackPressure.DROP && available - next > entries.length - 2) {
+                    // Atrasado una vuelta: lo que sigue ya se pisó o se está pisando
+                    long skipTo = available - entries.length + 2;
+                    droppedCount += skipTo - next;
+                    next = skipTo;
+                }
+                for (; next <= available; next++) {
+                    event.copyFrom(entries[(int) next & mask]);
+                    if (backPressure == BackPressure.DROP) {
+                        // La copia vale si el productor no llegó a esta entrada mientras se leía: cursor + 1 es la que
+                        // puede estar escribiendo ahora
+                        VarHandle.acquireFence();
+                        if (cursor.getAcquire() + 1 - next >= entries.length) {
+                            droppedCount++;
+                            continue;
+                        }
+                    }
+                    try {
+                        handler.onEvent(event, next, next == available);
+                    } catch (RuntimeException e) {
+                        log.warn("El consumidor {} falló con el evento {}", name, event.getType(), e);
+                    }
+                }
+                sequence.setRelease(available);
+            }
+        }
+
+        // Espera hasta que haya algo publicado en next o después; -1 si el bus se cerró
+        private long waitFor(long next) {
+            long available;
+            int tries = 0;
+            while ((available = cursor.getAcquire()) < next) {
+                if (closed) {
+                    return -1;
+                }
+                if (tries < YIELD_TRIES) {
+                    if (tries++ < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                    continue;
+                }
+                sleeping = true;
+                if (cursor.getVolatile() < next && !closed) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+            }
+            return closed ? -1 : available;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BackPressure getBackPressure() {
+            return backPressure;
+        }
+
+        /**
+         * Última posición procesada.
+         */
+        public long getSequence() {
+            return sequence.getAcquire();
+        }
+
+        /**
+         * Eventos que este consumidor no llegó a ver por atrasarse (solo con {@link BackPressure#DROP}).
+         */
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+
+        /**
+         * Eventos publicados que este consumidor todavía no procesó.
+         */
+        public long getLag() {
+            return getCursor() - getSequence();
+        }
+    }
+
+    // Relleno a ambos lados del valor para que el cursor y cada consumidor ocupen líneas de caché distintas: si
+    // compartieran una, cada publicación invalidaría la línea de todos los lectores
+    private static class LeftPadding {
+        @SuppressWarnings("unused")
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class SequenceValue extends LeftPadding {
+        protected long value;
+    }
+
+    private static final class Sequence extends SequenceValue {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @SuppressWarnings("unused")
+        private long p9, p10, p11, p12, p13, p14, p15;
+
+        Sequence(long initialValue) {
+            VALUE.setRelease(this, initialValue);
+        }
+
+        long getPlain() {
+            return value;
+        }
+
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        long getVolatile() {
+            return (long) VALUE.getVolatile(this);
+        }
+
+        void setRelease(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+
+        void setVolatile(long newValue) {
+            VALUE.setVolatile(this, newValue);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+/**
+ * Consumidor de un {@link TimerEventBus}. Corre en su propio hilo, a su ritmo.
+ */
+@FunctionalInterface
+public interface TimerEventHandler {
+
+    /**
+     * @param sequence   posición del evento en el bus; con {@link TimerEventBus.BackPressure#DROP} puede saltar
+     * @param endOfBatch último evento disponible por ahora: buen momento para volcar lo acumulado
+     */
+    void onEvent(TimerEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,53 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumidor de métricas del {@link TimerEventBus}: cuenta los eventos por tipo en {@code pomodoro.timer.events} y
+ * mide en {@code pomodoro.timer.events.delivery} cuánto tardan en llegarle desde que se publican. Como
+ * {@link TimerMetrics}, registra en el registro global de Micrometer.
+ */
+public class TimerEventMetrics implements TimerEventHandler {
+
+    private static final Timer DELIVERY = Timer.builder("pomodoro.timer.events.delivery")
+            .description("Demora entre la publicación de un evento del timer y su consumo")
+            .publishPercentiles(0.5, 0.99)
+            .register(Metrics.globalRegistry);
+
+    private final Counter[] counters = new Counter[TimerEventType.values().length];
+
+    public TimerEventMetrics() {
+        for (TimerEventType type : TimerEventType.values()) {
+            counters[type.ordinal()] = Counter.builder("pomodoro.timer.events")
+                    .description("Eventos publicados por los timers")
+                    .tag("type", type.name().toLowerCase())
+                    .register(Metrics.globalRegistry);
+        }
+    }
+
+    /**
+     * Publica el atraso y los eventos perdidos de un consumidor del bus como {@code pomodoro.timer.events.lag} y
+     * {@code pomodoro.timer.events.dropped}.
+     */
+    public static void monitor(TimerEventBus.Consumer consumer) {
+        Gauge.builder("pomodoro.timer.events.lag", consumer, TimerEventBus.Consumer::getLag)
+                .description("Eventos publicados que el consumidor todavía no procesó")
+                .tag("consumer", consumer.getName())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("pomodoro.timer.events.dropped", consumer, TimerEventBus.Consumer::getDroppedCount)
+                .description("Eventos que el consumidor se salteó por atrasarse")
+                .tag("consumer", consumer.getName())
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public void onEvent(TimerEvent event, long sequence, boolean endOfBatch) {
+        counters[event.getType().ordinal()].increment();
+        DELIVERY.record(System.nanoTime() - event.getTimestampNanos(), TimeUnit.NANOSECONDS);
+    }
+}
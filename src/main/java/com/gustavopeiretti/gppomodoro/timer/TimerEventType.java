@@ -0,0 +1,16 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+/**
+ * Eventos que un {@link PomodoroTimer} publica en su {@link TimerEventBus}.
+ */
+public enum TimerEventType {
+    STARTED,
+    // Cambió el segundo mostrado
+    TICK,
+    PAUSED,
+    RESUMED,
+    // Venció: el timer dejó de correr por sí mismo
+    FINISHED,
+    // Detenido a mano antes de vencer
+    STOPPED
+}
@@ -0,0 +1,45 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas de los timers. Los {@link PomodoroTimer} no son beans, así que se registran en el registro global
+ * de Micrometer, al que Spring Boot agrega el registro de la aplicación.
+ */
+final class TimerMetrics {
+
+    // Timers con start() hecho que todavía no vencieron ni se detuvieron (incluye los pausados)
+    static final AtomicInteger ACTIVE_TIMERS = new AtomicInteger();
+
+    static final Timer TICK_LATENESS = Timer.builder("pomodoro.timer.tick.lateness")
+            .description("Retraso de cada despertar respecto del instante ideal")
+            .publishPercentiles(0.5, 0.99)
+            .register(Metrics.globalRegistry);
+
+    static final Timer TICK_CALLBACK = callbackTimer("tick");
+    static final Timer FINISH_CALLBACK = callbackTimer("finish");
+
+    static {
+        Gauge.builder("pomodoro.timer.active", ACTIVE_TIMERS, AtomicInteger::get)
+                .description("Timers en curso")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("pomodoro.timer.wheel.pending", TimingWheel.shared(), TimingWheel::getActiveCount)
+                .description("Despertares pendientes en la rueda compartida")
+                .register(Metrics.globalRegistry);
+    }
+
+    private TimerMetrics() {
+    }
+
+    private static Timer callbackTimer(String callback) {
+        return Timer.builder("pomodoro.timer.callback")
+                .description("Duración de los callbacks del timer")
+                .tag("callback", callback)
+                .publishPercentiles(0.5, 0.99)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloj y planificador de los {@link PomodoroTimer}. En producción es la {@link TimingWheel} compartida, sobre el
+ * tiempo real; para simulaciones y pruebas del ciclo se usa un {@link VirtualTimeScheduler}.
+ */
+public interface TimerScheduler {
+
+    /**
+     * Instante actual en nanosegundos, con origen arbitrario (como {@link System#nanoTime()}).
+     */
+    long nanoTime();
+
+    /**
+     * Programa {@code task} para ejecutarse pasado {@code delay}, medido con este mismo reloj.
+     */
+    Scheduled schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Tarea programada.
+     */
+    interface Scheduled {
+
+        /**
+         * Cancela la tarea si todavía no se ejecutó. Devuelve {@code false} si ya había vencido o estaba cancelada.
+         */
+        boolean cancel();
+
+        /**
+         * Vuelve a programar la tarea si ya venció; pensado para llamarse desde la propia tarea. Devuelve
+         * {@code false} si sigue pendiente o fue cancelada, y entonces hay que programar otra.
+         */
+        boolean reschedule(long delay, TimeUnit unit);
+    }
+}
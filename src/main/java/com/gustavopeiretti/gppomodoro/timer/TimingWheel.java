@@ -0,0 +1,438 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Planificador jerárquico de tipo "timing wheel" compartido por todos los {@link PomodoroTimer}.
+ * <p>
+ * Un único hilo conductor avanza la rueda cada {@code tickMillis} y entrega los callbacks vencidos
+ * a un pool fijo y pequeño de hilos de trabajo. Programar y cancelar cuesta O(1): las altas y bajas
+ * se encolan y es el hilo conductor quien las aplica sobre los cubos (listas doblemente enlazadas).
+ * <p>
+ * Niveles: el nivel 0 tiene {@value #LEVEL0_SLOTS} cubos de un tick cada uno; cada nivel superior
+ * tiene {@value #UPPER_SLOTS} cubos que cubren una vuelta completa del nivel inferior. Cuando un nivel
+ * da la vuelta, el cubo correspondiente del nivel superior se "desciende" (cascade) al inferior.
+ * <p>
+ * Un timeout vencido puede volver a programarse desde su propia tarea con {@link Timeout#reschedule}: así un timer
+ * que se reprograma en cada tick no crea objetos. Las altas viajan por una cola MPSC intrusiva (el enlace está en
+ * el propio timeout) por la misma razón.
+ */
+public class TimingWheel implements TimerScheduler {
+
+    private static final int LEVEL0_BITS = 9;
+    private static final int LEVEL0_SLOTS = 1 << LEVEL0_BITS;
+    private static final int UPPER_BITS = 6;
+    private static final int UPPER_SLOTS = 1 << UPPER_BITS;
+    private static final int LEVELS = 4;
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Bucket[][] wheels;
+    // Cola MPSC intrusiva de altas (Vyukov): los productores entran por addsHead, el conductor consume desde addsTail
+    private final Timeout addsStub = new Timeout(this, null, 0);
+    private final AtomicReference<Timeout> addsHead = new AtomicReference<>(addsStub);
+    private Timeout addsTail = addsStub;
+    private final ConcurrentLinkedQueue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final ExecutorService workers;
+    private final Thread driver;
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private volatile boolean stopped;
+    private volatile boolean idle;
+    // Solo accedido desde el hilo conductor
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, int workerThreads) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis debe ser positivo: " + tickMillis);
+        }
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("workerThreads debe ser positivo: " + workerThreads);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheels = new Bucket[LEVELS][];
+        for (int level = 0; level < LEVELS; level++) {
+            Bucket[] buckets = new Bucket[level == 0 ? LEVEL0_SLOTS : UPPER_SLOTS];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.wheels[level] = buckets;
+        }
+        this.workers = Executors.newFixedThreadPool(workerThreads, daemonThreadFactory("pomodoro-timer-worker-"));
+        this.startNanos = System.nanoTime();
+        this.driver = daemonThreadFactory("pomodoro-timer-wheel-").newThread(this::runDriver);
+        this.driver.start();
+    }
+
+    /**
+     * Rueda compartida por defecto: tick de {@value #DEFAULT_TICK_MILLIS} ms y un hilo de trabajo por núcleo (máximo 4).
+     */
+    public static TimingWheel shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static final class SharedHolder {
+        private static final TimingWheel INSTANCE = new TimingWheel(DEFAULT_TICK_MILLIS,
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * La rueda corre sobre el tiempo real.
+     */
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Programa {@code task} para ejecutarse en un hilo de trabajo pasado {@code delay}.
+     */
+    @Override
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("TimingWheel detenida");
+        }
+        Timeout timeout = new Timeout(this, task, deadlineFor(delay, unit));
+        submit(timeout);
+        return timeout;
+    }
+
+    boolean reschedule(Timeout timeout, long delay, TimeUnit unit) {
+        if (stopped || !timeout.markRescheduled()) {
+            return false;
+        }
+        timeout.deadlineNanos = deadlineFor(delay, unit);
+        submit(timeout);
+        return true;
+    }
+
+    private long deadlineFor(long delay, TimeUnit unit) {
+        return System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+    }
+
+    private void submit(Timeout timeout) {
+        activeCount.incrementAndGet();
+        enqueueAdd(timeout);
+        if (idle) {
+            LockSupport.unpark(driver);
+        }
+    }
+
+    private void enqueueAdd(Timeout timeout) {
+        timeout.nextAdd = null;
+        Timeout previous = addsHead.getAndSet(timeout);
+        previous.nextAdd = timeout;
+    }
+
+    // Solo desde el hilo conductor. Devuelve null si está vacía o si un productor está a mitad de un alta.
+    private Timeout pollAdd() {
+        Timeout tail = addsTail;
+        Timeout next = tail.nextAdd;
+        if (tail == addsStub) {
+            if (next == null) {
+                return null;
+            }
+            addsTail = next;
+            tail = next;
+            next = next.nextAdd;
+        }
+        if (next != null) {
+            addsTail = next;
+            return tail;
+        }
+        if (tail != addsHead.get()) {
+            return null;
+        }
+        enqueueAdd(addsStub);
+        next = tail.nextAdd;
+        if (next != null) {
+            addsTail = next;
+            return tail;
+        }
+        return null;
+    }
+
+    private boolean hasPendingAdds() {
+        return addsTail != addsStub || addsStub.nextAdd != null;
+    }
+
+    /**
+     * Cantidad de timeouts programados y aún no vencidos ni cancelados.
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(driver);
+        workers.shutdownNow();
+    }
+
+    private void runDriver() {
+        while (!stopped) {
+            if (activeCount.get() == 0 && !hasPendingAdds()) {
+                // Sin timeouts: dormir hasta que alguien programe uno en lugar de despertar cada tick
+                processCancels();
+                idle = true;
+                if (activeCount.get() == 0 && !hasPendingAdds()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // Ningún cubo tiene entradas: se puede saltar directamente al tick actual
+                currentTick = Math.max(currentTick, elapsedTicks());
+                continue;
+            }
+
+            long targetTick = elapsedTicks();
+            while (currentTick < targetTick && !stopped) {
+                processCancels();
+                processAdds();
+                currentTick++;
+                cascade();
+                expire(wheels[0][(int) (currentTick & (LEVEL0_SLOTS - 1))]);
+            }
+            processCancels();
+            processAdds();
+
+            long nextTickAt = (currentTick + 1) * tickNanos;
+            long sleepNanos = nextTickAt - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+        }
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    private void processAdds() {
+        Timeout timeout;
+        while ((timeout = pollAdd()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            place(timeout);
+        }
+    }
+
+    private void processCancels() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long deadlineTick = ceilDiv(timeout.deadlineNanos, tickNanos);
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            fire(timeout);
+            return;
+        }
+        int shift = 0;
+        long span = LEVEL0_SLOTS;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < span || level == LEVELS - 1) {
+                Bucket[] buckets = wheels[level];
+                long clamped = level == LEVELS - 1 ? Math.min(deadlineTick, currentTick + (span >>> UPPER_BITS) * (UPPER_SLOTS - 1)) : deadlineTick;
+                buckets[(int) ((clamped >>> shift) & (buckets.length - 1))].add(timeout);
+                return;
+            }
+            shift += level == 0 ? LEVEL0_BITS : UPPER_BITS;
+            span <<= UPPER_BITS;
+        }
+    }
+
+    private void cascade() {
+        int shift = LEVEL0_BITS;
+        long mask = LEVEL0_SLOTS - 1;
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & mask) != 0) {
+                return;
+            }
+            Bucket bucket = wheels[level][(int) ((currentTick >>> shift) & (UPPER_SLOTS - 1))];
+            Timeout timeout = bucket.drain();
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                place(timeout);
+                timeout = next;
+            }
+            shift += UPPER_BITS;
+            mask = (mask << UPPER_BITS) | (UPPER_SLOTS - 1);
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        long deadlineLimit = currentTick * tickNanos;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.deadlineNanos <= deadlineLimit) {
+                bucket.remove(timeout);
+                fire(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        if (!timeout.markExpired()) {
+            return;
+        }
+        activeCount.decrementAndGet();
+        try {
+            workers.execute(timeout.task);
+        } catch (RuntimeException e) {
+            // Pool detenido: el timeout se descarta igual que en un ScheduledExecutorService apagado
+        }
+    }
+
+    void cancel(Timeout timeout) {
+        activeCount.decrementAndGet();
+        pendingCancels.add(timeout);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Cubo de la rueda: lista doblemente enlazada, solo tocada por el hilo conductor.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Vacía el cubo devolviendo la cabeza de la lista (enlazada por {@code next}).
+         */
+        Timeout drain() {
+            Timeout first = head;
+            for (Timeout t = head; t != null; t = t.next) {
+                t.bucket = null;
+                t.prev = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    /**
+     * Referencia a una tarea programada en la rueda; permite cancelarla en O(1).
+     */
+    public static final class Timeout implements TimerScheduler.Scheduled {
+        private static final int ST_WAITING = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        // Lo escribe quien programa antes de encolar; el conductor lo lee después de desencolar
+        private long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(ST_WAITING);
+        private volatile Timeout nextAdd;
+
+        // Enlaces del cubo, solo accedidos desde el hilo conductor
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineNanos) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancela la tarea si todavía no se ejecutó. Devuelve {@code false} si ya había vencido o estaba cancelada.
+         */
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_WAITING, ST_CANCELLED)) {
+                return false;
+            }
+            wheel.cancel(this);
+            return true;
+        }
+
+        /**
+         * Vuelve a programar este timeout, con la misma tarea, si ya venció. Pensado para llamarse desde la propia
+         * tarea; devuelve {@code false} si el timeout sigue pendiente o fue cancelado.
+         */
+        @Override
+        public boolean reschedule(long delay, TimeUnit unit) {
+            return wheel.reschedule(this, delay, unit);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private boolean markExpired() {
+            return state.compareAndSet(ST_WAITING, ST_EXPIRED);
+        }
+
+        private boolean markRescheduled() {
+            return state.compareAndSet(ST_EXPIRED, ST_WAITING);
+        }
+    }
+}
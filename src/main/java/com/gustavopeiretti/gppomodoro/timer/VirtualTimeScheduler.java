@@ -0,0 +1,244 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Planificador sobre un reloj virtual, para recorrer ciclos Pomodoro completos sin esperar el tiempo real.
+ * <p>
+ * El reloj solo avanza cuando se lo pide: {@link #advance} y {@link #runUntilIdle()} saltan de un vencimiento al
+ * siguiente y ejecutan cada tarea en el hilo que llama, en orden de vencimiento (y de alta, a igual vencimiento).
+ * Una tarea puede programar otras durante el avance; si vencen dentro del tramo pedido también se ejecutan. Con un
+ * executor de callbacks síncrono, un timer recorre así su Pomodoro de forma determinista y en microsegundos.
+ * <p>
+ * {@link #accelerated(double)} arranca además un hilo que hace avanzar el reloj a N veces la velocidad real, para
+ * usar la aplicación con la interfaz de siempre pero con Pomodoros de segundos.
+ */
+public final class VirtualTimeScheduler implements TimerScheduler, AutoCloseable {
+
+    // Máximo que duerme el hilo del modo acelerado sin mirar si hay tareas nuevas, en tiempo real
+    private static final long MAX_DRIVER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Protegidos por lock
+    private final PriorityQueue<Task> queue = new PriorityQueue<>();
+    private long nextSequence;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private volatile long nowNanos;
+    private volatile Thread driver;
+    private volatile boolean closed;
+
+    public VirtualTimeScheduler() {
+    }
+
+    /**
+     * Reloj virtual que avanza solo, {@code speed} veces más rápido que el real, desde un hilo propio.
+     */
+    public static VirtualTimeScheduler accelerated(double speed) {
+        if (!(speed > 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("La velocidad debe ser positiva: " + speed);
+        }
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        Thread thread = new Thread(() -> scheduler.runAccelerated(speed), "pomodoro-virtual-clock");
+        thread.setDaemon(true);
+        scheduler.driver = thread;
+        thread.start();
+        return scheduler;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nowNanos;
+    }
+
+    @Override
+    public Scheduled schedule(Runnable task, long delay, TimeUnit unit) {
+        if (closed) {
+            throw new IllegalStateException("VirtualTimeScheduler cerrado");
+        }
+        Task scheduled = new Task(task);
+        enqueue(scheduled, delay, unit);
+        return scheduled;
+    }
+
+    private void enqueue(Task task, long delay, TimeUnit unit) {
+        lock.lock();
+        try {
+            task.deadlineNanos = nowNanos + unit.toNanos(Math.max(0, delay));
+            task.sequence = nextSequence++;
+            queue.add(task);
+            pendingCount.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = driver;
+        if (thread != null) {
+            LockSupport.unpark(thread); // Puede vencer antes de lo que el hilo del modo acelerado pensaba dormir
+        }
+    }
+
+    /**
+     * Avanza el reloj {@code duration} ejecutando todas las tareas que vencen en el tramo.
+     *
+     * @return cantidad de tareas ejecutadas
+     */
+    public long advance(long duration, TimeUnit unit) {
+        return advanceTo(nowNanos + unit.toNanos(duration));
+    }
+
+    /**
+     * Avanza el reloj hasta que no queden tareas, saltando directamente de un vencimiento al siguiente.
+     * Un timer sin ticks vence así en una sola tarea; uno con ticks, en una por segundo mostrado.
+     *
+     * @return cantidad de tareas ejecutadas
+     */
+    public long runUntilIdle() {
+        return advanceTo(Long.MAX_VALUE);
+    }
+
+    private long advanceTo(long targetNanos) {
+        long executed = 0;
+        Task task;
+        while ((task = pollDue(targetNanos)) != null) {
+            task.run();
+            executed++;
+        }
+        if (targetNanos != Long.MAX_VALUE) {
+            lock.lock();
+            try {
+                // Otro hilo pudo haber avanzado más mientras tanto: el reloj nunca retrocede
+                nowNanos = Math.max(nowNanos, targetNanos);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return executed;
+    }
+
+    /**
+     * Saca la próxima tarea que vence hasta {@code targetNanos} y lleva el reloj a su vencimiento.
+     * Las canceladas se descartan aquí y no antes: cancelar no recorre la cola.
+     */
+    private Task pollDue(long targetNanos) {
+        lock.lock();
+        try {
+            while (true) {
+                Task head = queue.peek();
+                if (head == null || head.deadlineNanos > targetNanos) {
+                    return null;
+                }
+                queue.poll();
+                if (!head.markExpired()) {
+                    continue; // Cancelada: ya se descontó de las pendientes al cancelarla
+                }
+                pendingCount.decrementAndGet();
+                nowNanos = Math.max(nowNanos, head.deadlineNanos);
+                return head;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cantidad de tareas programadas y aún no vencidas ni canceladas.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    private void runAccelerated(double speed) {
+        long realStart = System.nanoTime();
+        long virtualStart = nowNanos;
+        while (!closed) {
+            long target = virtualStart + (long) ((System.nanoTime() - realStart) * speed);
+            advanceTo(target);
+            long parkNanos = MAX_DRIVER_PARK_NANOS;
+            lock.lock();
+            try {
+                Task head = queue.peek();
+                if (head != null) {
+                    parkNanos = Math.min(parkNanos, (long) ((head.deadlineNanos - nowNanos) / speed));
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (parkNanos > 0) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+    }
+
+    /**
+     * Detiene el hilo del modo acelerado y descarta las tareas pendientes.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = driver;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        lock.lock();
+        try {
+            Task task;
+            while ((task = queue.poll()) != null) {
+                task.cancel();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Task implements Scheduled, Comparable<Task> {
+        private static final int ST_WAITING = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(ST_WAITING);
+        // Protegidos por el lock del planificador mientras la tarea está en la cola
+        private long deadlineNanos;
+        private long sequence;
+
+        private Task(Runnable task) {
+            this.task = task;
+        }
+
+        void run() {
+            task.run();
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_WAITING, ST_CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean reschedule(long delay, TimeUnit unit) {
+            if (closed || !state.compareAndSet(ST_EXPIRED, ST_WAITING)) {
+                return false;
+            }
+            enqueue(this, delay, unit);
+            return true;
+        }
+
+        private boolean markExpired() {
+            return state.compareAndSet(ST_WAITING, ST_EXPIRED);
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byDeadline = Long.compare(deadlineNanos, other.deadlineNanos);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV según RFC 4180: separador coma, campos entre comillas dobles con {@code ""} como comilla escapada y saltos de
+ * línea permitidos dentro de las comillas. La primera fila es la cabecera; las columnas se buscan por nombre, así que
+ * el orden es libre y solo {@code name} es obligatoria.
+ */
+class CsvTaskRecordReader implements TaskRecordReader {
+
+    private final Reader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    private int pushedBack = -2; // -2: nada devuelto al lector
+
+    CsvTaskRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        if (!readRow()) {
+            throw new IllegalArgumentException("El archivo CSV está vacío");
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            columns.put(fields.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey(TaskRecord.NAME)) {
+            throw new IllegalArgumentException("La cabecera del CSV no tiene la columna '" + TaskRecord.NAME + "'");
+        }
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        while (readRow()) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // Línea en blanco
+            }
+            return new TaskRecord(column(TaskRecord.NAME), column(TaskRecord.DESCRIPTION), column(TaskRecord.CATEGORY),
+                    TaskRecord.parseDate(column(TaskRecord.CREATION_DATE)),
+                    TaskRecord.parseDate(column(TaskRecord.COMPLETION_DATE)),
+                    TaskRecord.parseBoolean(column(TaskRecord.COMPLETED)),
+                    TaskRecord.parseInt(column(TaskRecord.POMODOROS_SPENT)));
+        }
+        return null;
+    }
+
+    @Override
+    public long getLineNumber() {
+        return recordLineNumber;
+    }
+
+    // Un campo vacío vale null: CSV no distingue entre los dos
+    private String column(String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Lee una fila completa en {@link #fields}. Devuelve false al final del archivo.
+     */
+    private boolean readRow() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLineNumber = lineNumber;
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Comillas sin cerrar en la fila de la línea " + recordLineNumber);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
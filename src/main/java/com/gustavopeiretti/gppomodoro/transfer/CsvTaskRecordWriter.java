@@ -0,0 +1,73 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * Escribe el CSV que lee {@link CsvTaskRecordReader}: cabecera con {@link TaskRecord#COLUMNS} y comillas solo en los
+ * campos que las necesitan.
+ */
+class CsvTaskRecordWriter implements TaskRecordWriter {
+
+    private final Writer writer;
+
+    CsvTaskRecordWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(String.join(",", TaskRecord.COLUMNS));
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(TaskRecord task) throws IOException {
+        writeField(task.name());
+        writer.write(',');
+        writeField(task.description());
+        writer.write(',');
+        writeField(task.category());
+        writer.write(',');
+        writeDate(task.creationDate());
+        writer.write(',');
+        writeDate(task.completionDate());
+        writer.write(',');
+        writer.write(task.completed() ? "true" : "false");
+        writer.write(',');
+        writer.write(Integer.toString(task.pomodorosSpent()));
+        writer.write('\n');
+    }
+
+    private void writeDate(LocalDateTime date) throws IOException {
+        if (date != null) {
+            writer.write(date.toString());
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
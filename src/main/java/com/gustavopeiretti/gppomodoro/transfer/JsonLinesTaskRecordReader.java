@@ -0,0 +1,94 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * JSON Lines: un objeto por línea con las mismas claves que las columnas del CSV. Cada línea se lee con su propio
+ * parser de streaming de Jackson; las claves desconocidas se ignoran.
+ * <p>
+ * Que el parser sea por línea es lo que permite seguir tras una fila inválida: un valor que no se puede convertir o
+ * un JSON mal formado descartan solo esa línea, y la siguiente empieza siempre con un parser limpio.
+ */
+class JsonLinesTaskRecordReader implements TaskRecordReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    JsonLinesTaskRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+        try (JsonParser parser = JSON.createParser(line)) {
+            return parse(parser);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido en la línea " + lineNumber + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private TaskRecord parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Se esperaba un objeto JSON en la línea " + lineNumber);
+        }
+        String name = null;
+        String description = null;
+        String category = null;
+        String creationDate = null;
+        String completionDate = null;
+        boolean completed = false;
+        int pomodorosSpent = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (key) {
+                case TaskRecord.NAME -> name = text(parser, value);
+                case TaskRecord.DESCRIPTION -> description = text(parser, value);
+                case TaskRecord.CATEGORY -> category = text(parser, value);
+                case TaskRecord.CREATION_DATE -> creationDate = text(parser, value);
+                case TaskRecord.COMPLETION_DATE -> completionDate = text(parser, value);
+                case TaskRecord.COMPLETED -> completed = value == JsonToken.VALUE_TRUE
+                        || (value == JsonToken.VALUE_STRING && TaskRecord.parseBoolean(parser.getText()));
+                case TaskRecord.POMODOROS_SPENT -> pomodorosSpent = value == JsonToken.VALUE_NUMBER_INT
+                        ? parser.getIntValue() : TaskRecord.parseInt(text(parser, value));
+                default -> parser.skipChildren(); // Clave desconocida: se saltea con todo su contenido
+            }
+        }
+        if (parser.nextToken() != null) {
+            throw new IllegalArgumentException("Contenido después del objeto JSON en la línea " + lineNumber);
+        }
+        return new TaskRecord(name, description, category, TaskRecord.parseDate(creationDate),
+                TaskRecord.parseDate(completionDate), completed, pomodorosSpent);
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    @Override
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,48 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * Escribe un objeto JSON por línea con el generador de streaming de Jackson.
+ */
+class JsonLinesTaskRecordWriter implements TaskRecordWriter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    JsonLinesTaskRecordWriter(Writer writer) throws IOException {
+        this.generator = JSON.createGenerator(writer);
+        generator.setRootValueSeparator(null); // El separador entre objetos es el salto de línea que se escribe a mano
+    }
+
+    @Override
+    public void write(TaskRecord task) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(TaskRecord.NAME, task.name());
+        writeOptional(TaskRecord.DESCRIPTION, task.description());
+        writeOptional(TaskRecord.CATEGORY, task.category());
+        writeOptional(TaskRecord.CREATION_DATE, task.creationDate());
+        writeOptional(TaskRecord.COMPLETION_DATE, task.completionDate());
+        generator.writeBooleanField(TaskRecord.COMPLETED, task.completed());
+        generator.writeNumberField(TaskRecord.POMODOROS_SPENT, task.pomodorosSpent());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeOptional(String key, Object value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(key, value.toString());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Una tarea tal como viaja en los archivos de importación/exportación: la categoría va por nombre, no por id,
+ * para que el archivo se pueda cargar en otra base.
+ *
+ * @param category nombre de la categoría; vacío o null usa 'Inbox'
+ * @param creationDate null al importar usa el momento de la importación
+ */
+public record TaskRecord(String name, String description, String category, LocalDateTime creationDate,
+                         LocalDateTime completionDate, boolean completed, int pomodorosSpent) {
+
+    // Columnas de CSV y claves de JSON Lines, en el orden en que se exportan
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String CREATION_DATE = "creation_date";
+    static final String COMPLETION_DATE = "completion_date";
+    static final String COMPLETED = "completed";
+    static final String POMODOROS_SPENT = "pomodoros_spent";
+    static final String[] COLUMNS = {NAME, DESCRIPTION, CATEGORY, CREATION_DATE, COMPLETION_DATE, COMPLETED, POMODOROS_SPENT};
+
+    public TaskRecord {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("La tarea no tiene nombre");
+        }
+        if (pomodorosSpent < 0) {
+            throw new IllegalArgumentException("pomodoros_spent no puede ser negativo: " + pomodorosSpent);
+        }
+    }
+
+    static LocalDateTime parseDate(String value) {
+        return value == null || value.isEmpty() ? null : LocalDateTime.parse(value);
+    }
+
+    static boolean parseBoolean(String value) {
+        return value != null && (value.equalsIgnoreCase("true") || value.equals("1"));
+    }
+
+    static int parseInt(String value) {
+        return value == null || value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+}
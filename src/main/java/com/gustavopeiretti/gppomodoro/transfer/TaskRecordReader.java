@@ -0,0 +1,22 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lee tareas de un archivo de a una, sin cargarlo entero en memoria.
+ */
+public interface TaskRecordReader extends Closeable {
+
+    /**
+     * Siguiente tarea, o null al final del archivo.
+     *
+     * @throws IllegalArgumentException si la fila no es válida; la lectura puede continuar con la siguiente
+     */
+    TaskRecord next() throws IOException;
+
+    /**
+     * Línea del archivo donde empieza la última fila leída, para los mensajes de error.
+     */
+    long getLineNumber();
+}
@@ -0,0 +1,12 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Escribe tareas en un archivo a medida que llegan.
+ */
+public interface TaskRecordWriter extends Closeable {
+
+    void write(TaskRecord task) throws IOException;
+}
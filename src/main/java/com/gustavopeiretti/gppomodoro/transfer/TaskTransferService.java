@@ -0,0 +1,195 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.service.ProductivityStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación y exportación masiva de tareas en CSV o JSON Lines, con memoria acotada.
+ * <p>
+ * La importación lee el archivo de a una fila y la inserta en lotes de {@code pomodoro.transfer.batch-size}: cada
+ * lote resuelve sus categorías con una sola consulta (creando las que falten) y se inserta con un
+ * {@code batchUpdate} JDBC en su propia transacción. La exportación recorre las tareas por keyset sobre el id, de a
+ * un lote, y escribe cada fila a medida que la lee, así que nunca hay más de un lote en memoria.
+ * <p>
+ * Como los INSERT no pasan por Hibernate, al terminar una importación se vacía la caché de consultas: si no, el
+ * listado de pendientes y el de categorías seguirían mostrando lo que había antes.
+ */
+@Service
+public class TaskTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTransferService.class);
+
+    private static final String INSERT_TASK = "INSERT INTO task (name, description, creation_date, completion_date, "
+            + "category_id, completed, pomodoros_spent) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String EXPORT_PAGE = "SELECT t.id, t.name, t.description, c.name AS category, t.creation_date, "
+            + "t.completion_date, t.completed, t.pomodoros_spent FROM task t JOIN category c ON c.id = t.category_id "
+            + "WHERE t.id > :lastId ORDER BY t.id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductivityStatsService statsService;
+    private final int batchSize;
+
+    public TaskTransferService(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               EntityManagerFactory entityManagerFactory, ProductivityStatsService statsService,
+                               @Value("${pomodoro.transfer.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.statsService = statsService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Resultado de una importación. Las filas inválidas se saltean y se cuentan en {@code skipped}.
+     */
+    public record ImportResult(long imported, long skipped) {
+    }
+
+    /**
+     * Importa las tareas del archivo; el formato sale de la extensión ({@link TransferFormat#fromPath}).
+     * Al terminar se recalculan los rollups de estadísticas una sola vez, porque las tareas importadas pueden venir
+     * completadas o con pomodoros.
+     */
+    public ImportResult importTasks(Path file) throws IOException {
+        TransferFormat format = TransferFormat.fromPath(file);
+        long imported = 0;
+        long skipped = 0;
+        List<TaskRecord> batch = new ArrayList<>(batchSize);
+        try (TaskRecordReader reader = format.openReader(file)) {
+            while (true) {
+                TaskRecord task;
+                try {
+                    task = reader.next();
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    skipped++;
+                    log.warn("Fila inválida en {} (línea {}): {}", file.getFileName(), reader.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (task == null) {
+                    break;
+                }
+                batch.add(task);
+                if (batch.size() == batchSize) {
+                    imported += insertBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += insertBatch(batch);
+        }
+        if (imported > 0) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            statsService.rebuild();
+        }
+        return new ImportResult(imported, skipped);
+    }
+
+    private int insertBatch(List<TaskRecord> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            Map<String, Long> categoryIds = resolveCategories(batch);
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (TaskRecord task : batch) {
+                rows.add(new Object[]{task.name(), task.description(),
+                        Timestamp.valueOf(task.creationDate() != null ? task.creationDate() : now),
+                        task.completionDate() != null ? Timestamp.valueOf(task.completionDate()) : null,
+                        categoryIds.get(categoryName(task)), task.completed(), task.pomodorosSpent()});
+            }
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_TASK, rows);
+            return batch.size();
+        });
+    }
+
+    /**
+     * Ids de las categorías del lote por nombre: una consulta para las existentes y un lote de INSERT para las nuevas.
+     */
+    private Map<String, Long> resolveCategories(List<TaskRecord> batch) {
+        Set<String> names = new LinkedHashSet<>();
+        for (TaskRecord task : batch) {
+            names.add(categoryName(task));
+        }
+        Map<String, Long> ids = new HashMap<>(names.size() * 2);
+        jdbcTemplate.query("SELECT id, name FROM category WHERE name IN (:names)", Map.of("names", names),
+                rs -> {
+                    ids.put(rs.getString("name"), rs.getLong("id"));
+                });
+        if (ids.size() < names.size()) {
+            List<Object[]> missing = new ArrayList<>();
+            for (String name : names) {
+                if (!ids.containsKey(name)) {
+                    missing.add(new Object[]{name});
+                }
+            }
+            jdbcTemplate.getJdbcTemplate().batchUpdate("INSERT INTO category (name) VALUES (?)", missing);
+            jdbcTemplate.query("SELECT id, name FROM category WHERE name IN (:names)", Map.of("names", names),
+                    rs -> {
+                        ids.put(rs.getString("name"), rs.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    private static String categoryName(TaskRecord task) {
+        return task.category() == null || task.category().isBlank()
+                ? PomodoroService.DEFAULT_CATEGORY_NAME : task.category().trim();
+    }
+
+    /**
+     * Exporta todas las tareas, en orden de id, al archivo; el formato sale de la extensión.
+     *
+     * @return cantidad de tareas exportadas
+     */
+    public long exportTasks(Path file) throws IOException {
+        TransferFormat format = TransferFormat.fromPath(file);
+        try (TaskRecordWriter writer = format.openWriter(file)) {
+            long exported = 0;
+            long[] lastId = {0};
+            int[] pageSize = new int[1];
+            do {
+                pageSize[0] = 0;
+                jdbcTemplate.query(EXPORT_PAGE, Map.of("lastId", lastId[0], "limit", batchSize), rs -> {
+                    lastId[0] = rs.getLong("id");
+                    pageSize[0]++;
+                    Timestamp completionDate = rs.getTimestamp("completion_date");
+                    TaskRecord task = new TaskRecord(rs.getString("name"), rs.getString("description"),
+                            rs.getString("category"), rs.getTimestamp("creation_date").toLocalDateTime(),
+                            completionDate != null ? completionDate.toLocalDateTime() : null,
+                            rs.getBoolean("completed"), rs.getInt("pomodoros_spent"));
+                    try {
+                        writer.write(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // RowCallbackHandler no admite IOException
+                    }
+                });
+                exported += pageSize[0];
+            } while (pageSize[0] == batchSize);
+            return exported;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de archivo de importación/exportación, elegidos por la extensión.
+ */
+public enum TransferFormat {
+    CSV,
+    JSON_LINES;
+
+    /**
+     * {@code .csv} o {@code .jsonl}/{@code .ndjson}.
+     *
+     * @throws IllegalArgumentException si la extensión no es ninguna de esas
+     */
+    public static TransferFormat fromPath(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Formato no soportado: " + file.getFileName() + " (use .csv o .jsonl)");
+    }
+
+    public TaskRecordReader openReader(Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return this == CSV ? new CsvTaskRecordReader(reader) : new JsonLinesTaskRecordReader(reader);
+    }
+
+    public TaskRecordWriter openWriter(Path file) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        return this == CSV ? new CsvTaskRecordWriter(writer) : new JsonLinesTaskRecordWriter(writer);
+    }
+}
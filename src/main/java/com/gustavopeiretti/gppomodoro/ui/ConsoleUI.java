@@ -1,104 +1,235 @@
 package com.gustavopeiretti.gppomodoro.ui;
 
+import com.gustavopeiretti.gppomodoro.event.EventLoop;
 import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.CategoryStatsRow;
 import com.gustavopeiretti.gppomodoro.model.PomodoroState;
 import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Scanner;
 
 public class ConsoleUI {
+
+    /**
+     * Lo que eligió el usuario en una página de tareas: una tarea, la página siguiente o nada (canceló).
+     */
+    public record PageSelection(Long taskId, boolean nextPage) {
+        public static final PageSelection NEXT_PAGE = new PageSelection(null, true);
+        public static final PageSelection NONE = new PageSelection(null, false);
+
+        public static PageSelection task(long taskId) {
+            return new PageSelection(taskId, false);
+        }
+    }
+
+    // Tablas precalculadas para componer MM:SS y el nombre del estado sin crear objetos en cada tick
+    private static final char[] TENS = new char[100];
+    private static final char[] ONES = new char[100];
+    private static final String[] STATE_NAMES = new String[PomodoroState.values().length];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            TENS[i] = (char) ('0' + i / 10);
+            ONES[i] = (char) ('0' + i % 10);
+        }
+        for (PomodoroState state : PomodoroState.values()) {
+            STATE_NAMES[state.ordinal()] = state.name().replace("_", " ");
+        }
+    }
+
     private final Scanner scanner;
+    // Si hay bucle de eventos, las líneas llegan por él y mientras se espera se siguen procesando los ticks
+    private final EventLoop eventLoop;
+    private final TerminalRenderer renderer;
+    // Recibe cada tick además de la terminal (la API HTTP lo publica por SSE); null si nadie escucha
+    private volatile TimeListener timeListener;
+
+    /**
+     * Observador de los ticks que muestra la consola.
+     */
+    @FunctionalInterface
+    public interface TimeListener {
+        void onTime(PomodoroState state, int remainingSeconds, String taskName);
+    }
 
     public ConsoleUI() {
-        this.scanner = new Scanner(System.in);
+        this(TerminalRenderer.forStdout(0));
+    }
+
+    public ConsoleUI(TerminalRenderer renderer) {
+        this(System.in, renderer);
+    }
+
+    /**
+     * Lee las líneas directamente de {@code input}, sin bucle de eventos (pruebas, modo headless).
+     */
+    public ConsoleUI(InputStream input, TerminalRenderer renderer) {
+        this.scanner = new Scanner(input);
+        this.eventLoop = null;
+        this.renderer = renderer;
+    }
+
+    public ConsoleUI(EventLoop eventLoop, TerminalRenderer renderer) {
+        this.scanner = null;
+        this.eventLoop = eventLoop;
+        this.renderer = renderer;
+    }
+
+    // null cuando la entrada terminó
+    private String readLine() {
+        if (eventLoop != null) {
+            return eventLoop.nextLine();
+        }
+        return scanner.hasNextLine() ? scanner.nextLine() : null;
     }
 
     public void displayMenu(PomodoroState currentState, boolean isTimerRunning, boolean isTimerPaused, String currentTaskName) {
-        System.out.println("\n--- Menú Pomodoro ---");
+        renderer.println("\n--- Menú Pomodoro ---");
 
         if (currentTaskName != null && !currentTaskName.isEmpty()) {
-            System.out.println(">> Tarea Actual: " + currentTaskName + " <<");
+            renderer.println(">> Tarea Actual: " + currentTaskName + " <<");
         }
 
         if (currentState == PomodoroState.AWAITING_NEXT_POMODORO) {
-            System.out.println("Descanso terminado.");
-            System.out.println("s. Iniciar siguiente Pomodoro" + (currentTaskName != null ? " (para '" + currentTaskName + "')" : ""));
-            System.out.println("n. No iniciar (volver al menú principal)");
-            System.out.print("Seleccione una opción: ");
+            renderer.println("Descanso terminado.");
+            renderer.println("s. Iniciar siguiente Pomodoro" + (currentTaskName != null ? " (para '" + currentTaskName + "')" : ""));
+            renderer.println("n. No iniciar (volver al menú principal)");
+            renderer.print("Seleccione una opción: ");
+            renderer.flush();
             return;
         }
 
         if (isTimerRunning) {
-            System.out.println("Temporizador actual: " + formatStateName(currentState) +
+            renderer.println("Temporizador actual: " + formatStateName(currentState) +
                     (isTimerPaused ? " (Pausado)" : " (En curso)"));
-            System.out.println("4. " + (isTimerPaused ? "Reanudar" : "Pausar"));
-            System.out.println("5. Finalizar Temporizador/Ciclo Actual");
+            renderer.println("4. " + (isTimerPaused ? "Reanudar" : "Pausar"));
+            renderer.println("5. Finalizar Temporizador/Ciclo Actual");
             // Opciones de Tareas mientras el timer corre podrían ser limitadas o no existir
-            System.out.println("6. Salir de la Aplicación");
-            System.out.print("Seleccione una opción (o presione Enter para actualizar tiempo si está en curso): ");
+            renderer.println("6. Salir de la Aplicación");
+            renderer.print("Seleccione una opción (o presione Enter para actualizar tiempo si está en curso): ");
         } else { // currentState es STOPPED
-            System.out.println("--- Gestión de Pomodoros ---");
-            System.out.println("1. Iniciar Ciclo Pomodoro" + (currentTaskName != null ? " (para '" + currentTaskName + "')" : ""));
-            System.out.println("2. Iniciar Pomodoro Individual" + (currentTaskName != null ? " (para '" + currentTaskName + "')" : ""));
-            System.out.println("3. Iniciar Descanso Corto");
-            System.out.println("4. Iniciar Descanso Largo");
-            System.out.println("--- Gestión de Tareas ---");
-            System.out.println("10. Crear Nueva Tarea");
-            System.out.println("11. Listar Tareas Pendientes");
-            System.out.println("12. Seleccionar Tarea para Pomodoro");
-            System.out.println("13. Marcar Tarea como Completada");
-            System.out.println("14. Deseleccionar Tarea Actual");
-            System.out.println("--- Gestión de Categorías ---");
-            System.out.println("20. Crear Nueva Categoría");
-            System.out.println("21. Listar Categorías");
-            System.out.println("--- Salir ---");
-            System.out.println("6. Salir de la Aplicación");
-            System.out.print("Seleccione una opción: ");
+            renderer.println("--- Gestión de Pomodoros ---");
+            renderer.println("1. Iniciar Ciclo Pomodoro" + (currentTaskName != null ? " (para '" + currentTaskName + "')" : ""));
+            renderer.println("2. Iniciar Pomodoro Individual" + (currentTaskName != null ? " (para '" + currentTaskName + "')" : ""));
+            renderer.println("3. Iniciar Descanso Corto");
+            renderer.println("4. Iniciar Descanso Largo");
+            renderer.println("--- Gestión de Tareas ---");
+            renderer.println("10. Crear Nueva Tarea");
+            renderer.println("11. Listar Tareas Pendientes");
+            renderer.println("12. Seleccionar Tarea para Pomodoro");
+            renderer.println("13. Marcar Tarea como Completada");
+            renderer.println("14. Deseleccionar Tarea Actual");
+            renderer.println("15. Buscar Tareas");
+            renderer.println("16. Importar Tareas (CSV/JSONL)");
+            renderer.println("17. Exportar Tareas (CSV/JSONL)");
+            renderer.println("--- Gestión de Categorías ---");
+            renderer.println("20. Crear Nueva Categoría");
+            renderer.println("21. Listar Categorías");
+            renderer.println("--- Estadísticas ---");
+            renderer.println("30. Estadísticas de Hoy por Categoría");
+            renderer.println("31. Estadísticas de la Semana por Categoría");
+            renderer.println("32. Totales por Categoría");
+            renderer.println("33. Reconstruir Estadísticas");
+            renderer.println("--- Diagnóstico ---");
+            renderer.println("40. Mostrar Métricas");
+            renderer.println("41. Exportar Métricas a Archivo");
+            renderer.println("--- Salir ---");
+            renderer.println("6. Salir de la Aplicación");
+            renderer.print("Seleccione una opción: ");
         }
+        renderer.flush(); // Todo el menú sale en una sola escritura
+    }
+
+    public void setTimeListener(TimeListener timeListener) {
+        this.timeListener = timeListener;
     }
 
     public void displayTime(PomodoroState state, int remainingSeconds, String taskName) {
-        int minutes = remainingSeconds / 60;
-        int seconds = remainingSeconds % 60;
-        String taskInfo = taskName != null && !taskName.isEmpty() ? " [" + taskName + "]" : "";
-        System.out.printf("\rTiempo restante (%s)%s: %02d:%02d ", formatStateName(state), taskInfo, minutes, seconds);
+        TimeListener listener = this.timeListener;
+        if (listener != null) {
+            listener.onTime(state, remainingSeconds, taskName); // Antes del límite de frecuencia: no se saltea ningún segundo
+        }
+        StringBuilder frame = renderer.beginFrame();
+        if (frame == null) {
+            return; // Descartado por el límite de frecuencia de dibujo
+        }
+        try {
+            frame.append("Tiempo restante (").append(formatStateName(state)).append(')');
+            if (taskName != null && !taskName.isEmpty()) {
+                frame.append(" [").append(taskName).append(']');
+            }
+            frame.append(": ");
+            appendTwoDigits(frame, remainingSeconds / 60);
+            frame.append(':');
+            appendTwoDigits(frame, remainingSeconds % 60);
+            frame.append(' ');
+        } finally {
+            renderer.commitFrame(); // Solo se escriben los caracteres que cambiaron
+        }
     }
 
-    public String getUserInput() {
-        if (scanner.hasNextLine()) {
-            return scanner.nextLine().trim().toLowerCase();
+    private static void appendTwoDigits(StringBuilder out, int value) {
+        if (value >= 100) {
+            out.append(value); // Más de 99 minutos: no ocurre con las duraciones configuradas
+            return;
         }
-        return "";
+        out.append(TENS[value]).append(ONES[value]);
+    }
+
+    /**
+     * Espera la próxima opción del usuario. Devuelve null si la entrada terminó (EOF).
+     */
+    public String getUserInput() {
+        String line = readLine();
+        return line != null ? line.trim().toLowerCase() : null;
     }
 
     public String prompt(String message) {
-        System.out.print(message + ": ");
-        return scanner.nextLine().trim();
+        renderer.print(message + ": ");
+        renderer.flush();
+        String line = readLine();
+        return line != null ? line.trim() : ""; // Sin entrada se comporta como Enter: cancela o usa el valor por defecto
     }
 
     public void showMessage(String message) {
-        System.out.println(message);
+        renderer.println(message);
+        renderer.flush();
     }
 
     public void showInlineMessage(String message) {
-        System.out.print(message);
+        renderer.print(message);
+        renderer.flush();
     }
 
     public void clearLine() {
-        System.out.print("\r" + " ".repeat(120) + "\r"); // Aumentar el espacio si es necesario
+        renderer.clearStatus();
     }
 
     public void newLine() {
-        System.out.println();
+        renderer.println();
+        renderer.flush();
     }
 
     private String formatStateName(PomodoroState state) {
         if (state == null) return "N/A";
-        return state.name().replace("_", " ");
+        return STATE_NAMES[state.ordinal()];
+    }
+
+    /**
+     * Último paso de la salida de la aplicación: la consola termina el proceso. Una UI sin terminal (modo headless)
+     * termina solo su sesión.
+     */
+    public void exit(int status) {
+        System.exit(status);
     }
 
     public void closeScanner() {
-        scanner.close();
+        renderer.flush();
+        if (scanner != null) {
+            scanner.close();
+        }
     }
 
     public void listTasks(List<Task> tasks) {
@@ -123,6 +254,18 @@ public class ConsoleUI {
         }
     }
 
+    public void listCategoryStats(String title, List<CategoryStatsRow> rows) {
+        if (rows.isEmpty()) {
+            showMessage("No hay estadísticas para mostrar.");
+            return;
+        }
+        showMessage("\n--- " + title + " ---");
+        for (CategoryStatsRow row : rows) {
+            showMessage(String.format("%-20s | Pomodoros: %d | Tareas completadas: %d",
+                    row.categoryName(), row.pomodoros(), row.tasksCompleted()));
+        }
+    }
+
     public Long selectTaskFromList(List<Task> tasks) {
         if (tasks.isEmpty()) {
             showMessage("No hay tareas disponibles para seleccionar.");
@@ -139,6 +282,52 @@ public class ConsoleUI {
         }
     }
 
+    public boolean confirmNextPage() {
+        String input = prompt("Presione Enter para ver más tareas (o 'q' para terminar)");
+        return !input.equalsIgnoreCase("q");
+    }
+
+    /**
+     * Muestra una página de tareas y pide un ID: devuelve la tarea elegida, la página siguiente si el usuario
+     * la pide o {@link PageSelection#NONE} si cancela.
+     */
+    public PageSelection selectTaskFromPage(List<Task> tasks, boolean hasMore) {
+        listTasks(tasks);
+        String input = prompt(hasMore
+                ? "Ingrese el ID de la tarea a seleccionar (Enter para ver más tareas, 'q' para cancelar)"
+                : "Ingrese el ID de la tarea a seleccionar (o presione Enter para cancelar)");
+        if (input.isEmpty()) return hasMore ? PageSelection.NEXT_PAGE : PageSelection.NONE;
+        if (input.equalsIgnoreCase("q")) return PageSelection.NONE;
+        try {
+            return PageSelection.task(Long.parseLong(input));
+        } catch (NumberFormatException e) {
+            showMessage("ID inválido.");
+            return PageSelection.NONE;
+        }
+    }
+
+    /**
+     * Muestra los resultados de una búsqueda y pide un ID. Devuelve null si no hay resultados o el usuario cancela.
+     */
+    public Long selectTaskFromSearch(List<TaskSearchIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            showMessage("Ninguna tarea pendiente coincide con la búsqueda.");
+            return null;
+        }
+        showMessage("\n--- Resultados ---");
+        for (TaskSearchIndex.Hit hit : hits) {
+            showMessage(hit.taskId() + ". " + hit.name());
+        }
+        String input = prompt("Ingrese el ID de la tarea a seleccionar (o presione Enter para cancelar)");
+        if (input.isEmpty()) return null;
+        try {
+            return Long.parseLong(input);
+        } catch (NumberFormatException e) {
+            showMessage("ID inválido.");
+            return null;
+        }
+    }
+
     public Long selectCategoryFromList(List<Category> categories) {
         if (categories.isEmpty()) {
             showMessage("No hay categorías disponibles.");
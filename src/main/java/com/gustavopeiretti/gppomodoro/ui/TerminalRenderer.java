@@ -0,0 +1,233 @@
+package com.gustavopeiretti.gppomodoro.ui;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Capa de dibujo de {@link ConsoleUI}: acumula el texto en un buffer reutilizable y lo escribe en una sola
+ * operación por el canal, en vez de un {@code println} sincronizado por línea.
+ * <p>
+ * La línea de estado (el contador que se reescribe con {@code \r}) se compone como un frame y solo se escriben
+ * los caracteres que cambiaron respecto del frame anterior: normalmente un par de dígitos. Los frames que llegan
+ * antes de {@code minFrameInterval} se descartan, así que la frecuencia de dibujo no depende de la de los ticks.
+ */
+public class TerminalRenderer {
+
+    private static final int BYTE_BUFFER_SIZE = 8192;
+    // Ancho que se borra cuando no se sabe qué hay en la línea de estado
+    private static final int DEFAULT_CLEAR_WIDTH = 120;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final boolean flushSystemOut;
+    private final long minFrameIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final StringBuilder pending = new StringBuilder(1024);
+    private final StringBuilder frame = new StringBuilder(128);
+    private final StringBuilder shownFrame = new StringBuilder(128);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private char[] chars = new char[1024];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    // false cuando el cursor ya no está al final del frame mostrado (se escribió otra cosa)
+    private boolean frameShown;
+    private long lastFrameNanos;
+
+    public TerminalRenderer(WritableByteChannel channel, Charset charset, long minFrameIntervalMillis) {
+        this(channel, charset, minFrameIntervalMillis, false);
+    }
+
+    private TerminalRenderer(WritableByteChannel channel, Charset charset, long minFrameIntervalMillis,
+                             boolean flushSystemOut) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.minFrameIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minFrameIntervalMillis);
+        this.flushSystemOut = flushSystemOut;
+    }
+
+    /**
+     * Renderer sobre el descriptor de la salida estándar. Antes de cada escritura vacía {@code System.out},
+     * que siguen usando los logs, para no desordenar la salida.
+     */
+    public static TerminalRenderer forStdout(long minFrameIntervalMillis) {
+        String encoding = System.getProperty("stdout.encoding");
+        Charset charset = encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+        return new TerminalRenderer(new FileOutputStream(FileDescriptor.out).getChannel(), charset,
+                minFrameIntervalMillis, true);
+    }
+
+    /**
+     * Renderer que descarta todo lo que escribe, para el modo headless: se sigue componiendo la salida, pero no hay
+     * terminal.
+     */
+    public static TerminalRenderer discarding() {
+        return new TerminalRenderer(Channels.newChannel(OutputStream.nullOutputStream()), StandardCharsets.UTF_8, 0);
+    }
+
+    public void print(CharSequence text) {
+        lock.lock();
+        try {
+            pending.append(text);
+            frameShown = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void println(CharSequence text) {
+        lock.lock();
+        try {
+            pending.append(text).append(System.lineSeparator());
+            frameShown = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void println() {
+        println("");
+    }
+
+    /**
+     * Borra la línea de estado y deja el cursor al principio.
+     */
+    public void clearStatus() {
+        lock.lock();
+        try {
+            int width = frameShown ? shownFrame.length() : DEFAULT_CLEAR_WIDTH;
+            pending.append('\r');
+            appendRepeated(' ', width);
+            pending.append('\r');
+            frameShown = false;
+            shownFrame.setLength(0);
+            flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Empieza un frame de la línea de estado. Devuelve el buffer a completar, o null si el frame se descarta por
+     * el límite de frecuencia; si no es null hay que cerrarlo siempre con {@link #commitFrame()}.
+     */
+    public StringBuilder beginFrame() {
+        lock.lock();
+        if (frameShown && System.nanoTime() - lastFrameNanos < minFrameIntervalNanos) {
+            lock.unlock();
+            return null;
+        }
+        frame.setLength(0);
+        return frame;
+    }
+
+    /**
+     * Escribe la diferencia entre el frame compuesto y el que está en pantalla, y libera el renderer.
+     */
+    public void commitFrame() {
+        try {
+            if (!frameShown) {
+                pending.append('\r').append(frame);
+            } else {
+                appendFrameDiff();
+            }
+            shownFrame.setLength(0);
+            shownFrame.append(frame);
+            frameShown = true;
+            lastFrameNanos = System.nanoTime();
+            flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // El cursor está al final del frame mostrado: retrocede hasta el primer carácter distinto y reescribe desde ahí
+    private void appendFrameDiff() {
+        int shownLength = shownFrame.length();
+        int newLength = frame.length();
+        int common = 0;
+        int limit = Math.min(shownLength, newLength);
+        while (common < limit && shownFrame.charAt(common) == frame.charAt(common)) {
+            common++;
+        }
+        if (common == shownLength && common == newLength) {
+            return; // Sin cambios: no se escribe nada
+        }
+        appendRepeated('\b', shownLength - common);
+        pending.append(frame, common, newLength);
+        if (newLength < shownLength) {
+            // Tapar lo que sobra del frame anterior y volver al final del nuevo
+            appendRepeated(' ', shownLength - newLength);
+            appendRepeated('\b', shownLength - newLength);
+        }
+    }
+
+    private void appendRepeated(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            pending.append(c);
+        }
+    }
+
+    /**
+     * Escribe todo lo acumulado en una sola pasada por el canal.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            int length = pending.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+                charView = CharBuffer.wrap(chars);
+            }
+            pending.getChars(0, length, chars, 0);
+            pending.setLength(0);
+            charView.clear().limit(length);
+            if (flushSystemOut) {
+                System.out.flush();
+            }
+            write(charView);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(CharBuffer text) {
+        encoder.reset();
+        bytes.clear();
+        try {
+            while (encoder.encode(text, bytes, true).isOverflow()) {
+                drainBytes();
+            }
+            while (encoder.flush(bytes).isOverflow()) {
+                drainBytes();
+            }
+            drainBytes();
+        } catch (IOException e) {
+            // Como PrintStream: un error de la terminal no debe tirar abajo el timer ni el bucle de la consola
+        }
+    }
+
+    private void drainBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,64 @@
+-- Esquema inicial. Flyway aplica cada migración una sola vez y la registra en flyway_schema_history,
+-- así que la base en archivo (perfil persistent) conserva los datos entre reinicios.
+-- Los cambios de esquema van en una migración nueva (V3__..., V4__...), nunca editando las ya aplicadas.
+
+-- Crear tabla Category
+CREATE TABLE category (
+                          id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                          name VARCHAR(255) NOT NULL UNIQUE
+);
+
+-- Crear tabla Task
+CREATE TABLE task (
+                      id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                      name VARCHAR(255) NOT NULL,
+                      description VARCHAR(1000),
+                      creation_date TIMESTAMP NOT NULL,
+                      completion_date TIMESTAMP,
+                      category_id BIGINT NOT NULL,
+                      completed BOOLEAN DEFAULT FALSE NOT NULL,
+                      pomodoros_spent INT DEFAULT 0 NOT NULL,
+                      CONSTRAINT fk_task_category FOREIGN KEY (category_id) REFERENCES category(id)
+);
+
+-- Historial append-only de eventos Pomodoro (una fila por transición de estado, pausa o reanudación)
+-- INCREMENT BY debe coincidir con el allocationSize de PomodoroEvent para que Hibernate reserve ids en bloque
+CREATE SEQUENCE pomodoro_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE pomodoro_event (
+                      id BIGINT PRIMARY KEY,
+                      user_id VARCHAR(100) NOT NULL,
+                      task_id BIGINT,
+                      event_type VARCHAR(20) NOT NULL,
+                      from_state VARCHAR(30) NOT NULL,
+                      to_state VARCHAR(30) NOT NULL,
+                      occurred_at TIMESTAMP NOT NULL,
+                      planned_seconds INT,
+                      remaining_seconds INT
+);
+
+-- Rollups de productividad, mantenidos incrementalmente al acreditar pomodoros y completar tareas
+CREATE TABLE daily_category_stats (
+                      stat_date DATE NOT NULL,
+                      category_id BIGINT NOT NULL,
+                      pomodoros INT DEFAULT 0 NOT NULL,
+                      tasks_completed INT DEFAULT 0 NOT NULL,
+                      PRIMARY KEY (stat_date, category_id),
+                      CONSTRAINT fk_daily_stats_category FOREIGN KEY (category_id) REFERENCES category(id)
+);
+
+CREATE TABLE category_stats (
+                      category_id BIGINT PRIMARY KEY,
+                      pomodoros INT DEFAULT 0 NOT NULL,
+                      tasks_completed INT DEFAULT 0 NOT NULL,
+                      CONSTRAINT fk_category_stats_category FOREIGN KEY (category_id) REFERENCES category(id)
+);
+
+-- Opcional: Crear índices para mejorar el rendimiento de las búsquedas comunes
+-- Índice compuesto para la paginación por keyset de tareas pendientes (WHERE completed ORDER BY creation_date, id).
+-- Reemplaza a idx_task_completed, que es un prefijo suyo y no servía para el ORDER BY.
+CREATE INDEX IF NOT EXISTS idx_task_pending_keyset ON task(completed, creation_date, id);
+CREATE INDEX IF NOT EXISTS idx_task_category_id ON task(category_id);
+CREATE INDEX IF NOT EXISTS idx_category_name ON category(name);
+CREATE INDEX IF NOT EXISTS idx_pomodoro_event_task_id ON pomodoro_event(task_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_pomodoro_event_user_id ON pomodoro_event(user_id, occurred_at);
@@ -0,0 +1,2 @@
+-- Categoría por defecto "Inbox" (PomodoroService la usa para las tareas sin categoría)
+INSERT INTO category (name) VALUES ('Inbox');
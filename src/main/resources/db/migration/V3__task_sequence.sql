@@ -0,0 +1,8 @@
+-- Los ids de task pasan de IDENTITY a una secuencia. Con IDENTITY Hibernate recién conoce el id después del INSERT y
+-- no guarda la tarea nueva en la caché de segundo nivel; con la secuencia la guarda al confirmar.
+-- La columna sigue teniendo valor por defecto (de la misma secuencia), así los INSERT por JDBC sin id siguen andando.
+-- INCREMENT BY debe coincidir con el allocationSize de Task.
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 1;
+ALTER SEQUENCE task_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM task);
+ALTER TABLE task ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE task ALTER COLUMN id SET DEFAULT NEXT VALUE FOR task_seq;
@@ -0,0 +1,45 @@
+package com.gustavopeiretti.gppomodoro;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Consola desactivada y API activa: main() no debe terminar el proceso mientras la API atiende.
+ * <p>
+ * La aplicación se levanta acá y no con {@code @SpringBootTest}: la prueba cierra el contexto, y el de
+ * {@code @SpringBootTest} es del framework de pruebas, que lo guarda en caché y lo sigue usando después.
+ */
+class ApiOnlyModeTests {
+
+    @Test
+    void mainWaitsForTheApiUntilTheContextCloses() throws Exception {
+        // Como argumentos, igual que los recibe main(): las propiedades por defecto del builder no pisan las del archivo
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PomodoroApplication.class)
+                .run("--pomodoro.console.enabled=false", "--pomodoro.api.enabled=true", "--pomodoro.api.port=0");
+        try {
+            PomodoroApplication application = context.getBean(PomodoroApplication.class);
+            CompletableFuture<Boolean> waited = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return application.awaitApiOnlyMode();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> waited.get(300, TimeUnit.MILLISECONDS));
+
+            context.close(); // Lo mismo que hace el shutdown hook con Ctrl+C o SIGTERM
+
+            assertTrue(waited.get(5, TimeUnit.SECONDS));
+        } finally {
+            context.close();
+        }
+    }
+}
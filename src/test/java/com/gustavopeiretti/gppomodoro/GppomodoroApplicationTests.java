@@ -1,13 +1,24 @@
 package com.gustavopeiretti.gppomodoro;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = "pomodoro.console.enabled=false")
 class GppomodoroApplicationTests {
 
+    @Autowired
+    private PomodoroApplication application;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void withoutTheApiMainDoesNotWait() throws InterruptedException {
+        assertFalse(application.awaitApiOnlyMode());
+    }
+
 }
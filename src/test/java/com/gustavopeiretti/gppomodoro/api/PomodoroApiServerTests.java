@@ -0,0 +1,172 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.service.TaskSummaryCache;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import com.gustavopeiretti.gppomodoro.session.ThreadingMode;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PomodoroApiServerTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SessionRegistry registry;
+    private PomodoroService service;
+    private PomodoroApiServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SessionRegistry(30, 0, ThreadingMode.PLATFORM, 2);
+        service = mock(PomodoroService.class);
+        // El servicio simulado muestra un mensaje y dibuja un tick, como al iniciar un Pomodoro
+        doAnswer(invocation -> {
+            PomodoroSession session = invocation.getArgument(0);
+            ConsoleUI ui = invocation.getArgument(2);
+            session.setCurrentState(PomodoroState.POMODORO);
+            ui.showMessage("\nIniciando Pomodoro de 25 minutos...");
+            ui.displayTime(PomodoroState.POMODORO, 1500, null);
+            return null;
+        }).when(service).startSinglePomodoro(any(PomodoroSession.class), any(PomodoroTimer.class), any(ConsoleUI.class));
+        server = new PomodoroApiServer(service, registry, mock(TaskSummaryCache.class), true, 0, 2, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        registry.remove("ana");
+    }
+
+    @Test
+    void operationsRunOnTheUserSessionAndReturnItsStateAndMessages() throws Exception {
+        HttpResponse<String> response = send("POST", "/api/sessions/ana/pomodoro");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"userId\":\"ana\",\"state\":\"POMODORO\""), response.body());
+        assertTrue(response.body().endsWith("\"messages\":[\"Iniciando Pomodoro de 25 minutos...\"]}"), response.body());
+        assertEquals(PomodoroState.POMODORO, registry.find("ana").orElseThrow().getSession().getCurrentState());
+
+        assertEquals(200, send("GET", "/api/sessions/ana").statusCode());
+        assertEquals(200, send("PUT", "/api/sessions/ana/task/7").statusCode());
+        verify(service).selectTask(any(PomodoroSession.class), any(PomodoroTimer.class), any(ConsoleUI.class), any(Long.class));
+    }
+
+    @Test
+    void rejectsUnknownRoutesWrongMethodsAndTheConsoleSession() throws Exception {
+        assertEquals(404, send("POST", "/api/sessions/ana/dance").statusCode());
+        assertEquals(405, send("GET", "/api/sessions/ana/pause").statusCode());
+        assertEquals(400, send("PUT", "/api/sessions/ana/task/abc").statusCode());
+        assertEquals(404, send("GET", "/api/sessions/nadie").statusCode());
+        assertEquals(409, send("POST", "/api/sessions/local/pause").statusCode());
+        assertEquals(409, send("POST", "/api/sessions/ana/next").statusCode()); // No está esperando tras un descanso
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void readsDoNotWaitForTheSessionLock() throws Exception {
+        registry.getOrCreate("ana");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Como la consola, que retiene el lock mientras espera una respuesta del usuario
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> registry.execute("ana", userSession -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            assertEquals(200, assertTimeoutPreemptively(TIMEOUT, () -> send("GET", "/api/sessions/ana")).statusCode());
+            Iterator<String> lines = subscribe("/api/sessions/ana/ticks");
+            assertTrue(assertTimeoutPreemptively(TIMEOUT, () -> nextData(lines, "event: state"))
+                    .startsWith("data: {\"userId\":\"ana\",\"state\":\"STOPPED\""));
+        } finally {
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void subscribersShareTheTicksOfTheSessionUpToTheLimit() throws Exception {
+        Iterator<String> first = subscribe("/api/sessions/ana/ticks");
+        Iterator<String> second = subscribe("/api/sessions/ana/ticks");
+        assertEquals(503, send("GET", "/api/sessions/ana/ticks").statusCode()); // max-subscribers = 2
+
+        send("POST", "/api/sessions/ana/pomodoro");
+
+        // Cada suscriptor guarda solo el último evento pendiente: el tick que dibuja la operación puede quedar pisado
+        // por el estado publicado después. El estado es el último evento, así que llega siempre
+        for (Iterator<String> lines : List.of(first, second)) {
+            assertTrue(assertTimeoutPreemptively(TIMEOUT, () -> nextData(lines, "event: state"))
+                    .startsWith("data: {\"userId\":\"ana\",\"state\":\"POMODORO\""));
+        }
+        // Un tick publicado después del estado llega a los dos
+        ConsoleUI console = mock(ConsoleUI.class);
+        server.mirror("ana", console);
+        ArgumentCaptor<ConsoleUI.TimeListener> listener = ArgumentCaptor.forClass(ConsoleUI.TimeListener.class);
+        verify(console).setTimeListener(listener.capture());
+        listener.getValue().onTime(PomodoroState.POMODORO, 1499, null);
+
+        String tick = "data: {\"state\":\"POMODORO\",\"remainingSeconds\":1499}";
+        assertEquals(tick, assertTimeoutPreemptively(TIMEOUT, () -> nextData(first, "event: tick")));
+        assertEquals(tick, assertTimeoutPreemptively(TIMEOUT, () -> nextData(second, "event: tick")));
+        assertEquals(2, server.getSubscriberCount());
+    }
+
+    private HttpResponse<String> send(String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Iterator<String> subscribe(String path) throws Exception {
+        HttpResponse<Stream<String>> response = client.sendAsync(HttpRequest.newBuilder(uri(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofLines()).get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        assertEquals("text/event-stream; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+        return response.body().iterator();
+    }
+
+    // Línea de datos del próximo evento del tipo indicado; los latidos y otros eventos se saltean
+    private static String nextData(Iterator<String> lines, String event) {
+        while (lines.hasNext()) {
+            if (lines.next().equals(event)) {
+                return lines.next();
+            }
+        }
+        throw new AssertionError("El stream terminó sin " + event);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
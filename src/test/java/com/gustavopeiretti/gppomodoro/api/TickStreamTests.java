@@ -0,0 +1,138 @@
+package com.gustavopeiretti.gppomodoro.api;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickStreamTests {
+
+    // Las escrituras quedan encoladas hasta que la prueba las ejecuta, como un cliente que todavía no leyó
+    private final Queue<Runnable> writes = new ArrayDeque<>();
+    private final TickStream stream = new TickStream(writes::add);
+
+    @Test
+    void everySubscriberGetsTheSameEncodedTick() {
+        RecordingStream first = new RecordingStream();
+        RecordingStream second = new RecordingStream();
+        stream.subscribe(first, () -> { });
+        stream.subscribe(second, () -> { });
+
+        stream.publishTick(PomodoroState.POMODORO, 1499, "Informe");
+        runWrites();
+
+        assertEquals(1, first.events.size());
+        assertSame(first.events.get(0), second.events.get(0)); // Un solo byte[] para todos
+        assertEquals("event: tick\ndata: {\"state\":\"POMODORO\",\"remainingSeconds\":1499,\"taskName\":\"Informe\"}\n\n",
+                new String(first.events.get(0), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void aSlowSubscriberSkipsToTheLatestTick() {
+        RecordingStream out = new RecordingStream();
+        stream.subscribe(out, () -> { });
+
+        stream.publishTick(PomodoroState.POMODORO, 3, null);
+        stream.publishTick(PomodoroState.POMODORO, 2, null);
+        stream.publishTick(PomodoroState.POMODORO, 1, null);
+        stream.heartbeat(); // No reemplaza al tick pendiente
+
+        assertEquals(1, writes.size()); // Una sola escritura en curso por suscriptor
+        runWrites();
+        assertEquals(List.of("event: tick\ndata: {\"state\":\"POMODORO\",\"remainingSeconds\":1}\n\n"), out.texts());
+
+        stream.heartbeat();
+        runWrites();
+        assertEquals(": \n\n", out.texts().get(1));
+    }
+
+    @Test
+    void aFailedWriteUnsubscribesAndClosesTheConnection() {
+        AtomicBoolean connectionClosed = new AtomicBoolean();
+        TickStream.Subscriber subscriber = stream.subscribe(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        }, () -> connectionClosed.set(true));
+
+        stream.publishTick(PomodoroState.SHORT_BREAK, 60, null);
+        runWrites();
+
+        assertTrue(subscriber.isClosed());
+        assertTrue(connectionClosed.get());
+        assertEquals(0, stream.size());
+    }
+
+    @Test
+    void stateIsPublishedOnlyWhenItChanges() {
+        RecordingStream out = new RecordingStream();
+        stream.subscribe(out, () -> { });
+
+        stream.publishTick(PomodoroState.POMODORO, 10, null);
+        runWrites();
+        stream.publishState(view(PomodoroState.POMODORO, true, false)); // Ya lo dijo el tick
+        stream.publishState(view(PomodoroState.POMODORO, true, true));
+        runWrites();
+        stream.publishState(view(PomodoroState.POMODORO, true, true));
+        runWrites();
+
+        assertEquals(2, out.events.size());
+        assertTrue(out.texts().get(1).startsWith("event: state\ndata: {\"userId\":\"ana\",\"state\":\"POMODORO\""));
+        assertTrue(out.texts().get(1).contains("\"timerPaused\":true"));
+    }
+
+    @Test
+    void closeAllEndsEverySubscription() {
+        RecordingStream out = new RecordingStream();
+        TickStream.Subscriber subscriber = stream.subscribe(out, () -> { });
+
+        stream.closeAll();
+        stream.publishTick(PomodoroState.POMODORO, 5, null);
+
+        assertTrue(subscriber.isClosed());
+        assertTrue(writes.isEmpty());
+        assertTrue(out.events.isEmpty());
+    }
+
+    private void runWrites() {
+        Runnable write;
+        while ((write = writes.poll()) != null) {
+            write.run();
+        }
+    }
+
+    private static SessionView view(PomodoroState state, boolean running, boolean paused) {
+        return new SessionView("ana", state, running, paused, 10, 0, 0, null, null);
+    }
+
+    // Guarda los arreglos tal como llegan, sin copiarlos
+    private static final class RecordingStream extends OutputStream {
+        private final List<byte[]> events = new ArrayList<>();
+
+        @Override
+        public void write(int b) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(byte[] b) {
+            events.add(b);
+        }
+
+        List<String> texts() {
+            return events.stream().map(event -> new String(event, StandardCharsets.UTF_8)).toList();
+        }
+    }
+}
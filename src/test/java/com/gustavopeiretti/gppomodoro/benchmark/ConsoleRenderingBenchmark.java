@@ -0,0 +1,61 @@
+package com.gustavopeiretti.gppomodoro.benchmark;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.TerminalRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de formateo de {@link ConsoleUI#displayTime} y {@link ConsoleUI#clearLine}, con la salida descartada
+ * para medir solo el armado del frame, el diff y la codificación, y no la terminal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConsoleRenderingBenchmark {
+
+    private ConsoleUI ui;
+    private int remainingSeconds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Sin límite de frecuencia: cada llamada compone y escribe su frame
+        ui = new ConsoleUI(new TerminalRenderer(Channels.newChannel(OutputStream.nullOutputStream()),
+                StandardCharsets.UTF_8, 0));
+    }
+
+    @Benchmark
+    public void displayTimeWithTask() {
+        remainingSeconds = remainingSeconds == 0 ? 1500 : remainingSeconds - 1;
+        ui.displayTime(PomodoroState.POMODORO, remainingSeconds, "Escribir informe trimestral");
+    }
+
+    @Benchmark
+    public void displayTimeWithoutTask() {
+        remainingSeconds = remainingSeconds == 0 ? 300 : remainingSeconds - 1;
+        ui.displayTime(PomodoroState.SHORT_BREAK, remainingSeconds, null);
+    }
+
+    @Benchmark
+    public void clearLine() {
+        ui.clearLine();
+    }
+}
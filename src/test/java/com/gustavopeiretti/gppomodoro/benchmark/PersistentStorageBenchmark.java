@@ -0,0 +1,183 @@
+package com.gustavopeiretti.gppomodoro.benchmark;
+
+import com.gustavopeiretti.gppomodoro.PomodoroApplication;
+import com.gustavopeiretti.gppomodoro.model.PomodoroEventType;
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import com.gustavopeiretti.gppomodoro.service.PomodoroCreditWriter;
+import com.gustavopeiretti.gppomodoro.service.PomodoroEventLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Perfil persistent (H2 en archivo) con 10^4 a 3·10^6 tareas:
+ * <ul>
+ *     <li>{@code startup}: arranque del contexto sobre una base existente (Flyway valida, no migra) hasta
+ *     leer la primera página de pendientes.</li>
+ *     <li>{@code finishPomodoro}: la escritura de {@code onPomodoroFinished}, un crédito más un evento del historial,
+ *     volcados como lo hacen los flush programados.</li>
+ * </ul>
+ */
+@Fork(1)
+public class PersistentStorageBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    /**
+     * Base en un directorio temporal, creada y poblada una vez por cada tamaño.
+     */
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        @Param({"10000", "1000000", "3000000"})
+        public int taskCount;
+
+        Path directory;
+        long firstTaskId;
+
+        @Setup(Level.Trial)
+        public void create() throws IOException {
+            directory = Files.createTempDirectory("gppomodoro-jmh");
+            try (ConfigurableApplicationContext context = start(directory)) {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                populate(jdbcTemplate, taskCount);
+                firstTaskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM task", Long.class);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Contexto abierto sobre la base poblada, para medir escrituras.
+     */
+    @State(Scope.Benchmark)
+    public static class OpenStore {
+
+        ConfigurableApplicationContext context;
+        PomodoroCreditWriter creditWriter;
+        PomodoroEventLog eventLog;
+        PomodoroSession session;
+
+        @Setup(Level.Trial)
+        public void open(Store store) {
+            context = start(store.directory);
+            creditWriter = context.getBean(PomodoroCreditWriter.class);
+            eventLog = context.getBean(PomodoroEventLog.class);
+            session = new PomodoroSession();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            context.close();
+        }
+    }
+
+    /**
+     * Contexto abierto por {@code startup}; se cierra fuera de la medición.
+     */
+    @State(Scope.Thread)
+    public static class Startup {
+
+        ConfigurableApplicationContext context;
+
+        @TearDown(Level.Invocation)
+        public void close() {
+            if (context != null) {
+                context.close();
+                context = null;
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object startup(Store store, Startup startup) {
+        startup.context = start(store.directory);
+        return startup.context.getBean(TaskRepository.class)
+                .findByCompletedFalseOrderByCreationDateAscIdAsc(ScrollPosition.keyset(), Limit.of(20));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public int finishPomodoro(Store store, OpenStore open) {
+        long taskId = store.firstTaskId + ThreadLocalRandom.current().nextInt(store.taskCount);
+        open.session.setCurrentTaskId(taskId);
+        open.creditWriter.credit(taskId);
+        open.eventLog.record(open.session, PomodoroEventType.COMPLETED, PomodoroState.POMODORO,
+                PomodoroState.SHORT_BREAK, 25 * 60, 0);
+        return open.creditWriter.flush() + open.eventLog.flush();
+    }
+
+    private static ConfigurableApplicationContext start(Path directory) {
+        return new SpringApplicationBuilder(PomodoroApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .properties(
+                        "pomodoro.console.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "pomodoro.storage.dir=" + directory.toAbsolutePath(),
+                        // Los flush programados se dejan fuera: los hace el benchmark
+                        "pomodoro.credit.flush-interval-ms=3600000",
+                        "pomodoro.history.flush-interval-ms=3600000")
+                .run();
+    }
+
+    private static void populate(JdbcTemplate jdbcTemplate, int taskCount) {
+        Long inboxId = jdbcTemplate.queryForObject("SELECT id FROM category WHERE name = 'Inbox'", Long.class);
+        LocalDateTime base = LocalDateTime.now().minusYears(2);
+        String sql = "INSERT INTO task (name, description, creation_date, category_id, completed, pomodoros_spent) VALUES (?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < taskCount; from += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = from; i < Math.min(taskCount, from + INSERT_BATCH); i++) {
+                rows.add(new Object[]{"Tarea " + i, "Descripción " + i, Timestamp.valueOf(base.plusSeconds(i)),
+                        inboxId, i % 10 == 0, i % 8});
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
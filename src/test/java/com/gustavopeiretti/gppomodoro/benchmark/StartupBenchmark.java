@@ -0,0 +1,76 @@
+package com.gustavopeiretti.gppomodoro.benchmark;
+
+import com.gustavopeiretti.gppomodoro.PomodoroApplication;
+import com.gustavopeiretti.gppomodoro.config.DatabaseBootstrap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arranque en frío de la aplicación, con y sin el perfil fast-start. Cada medición es un JVM nuevo (una sola
+ * iteración por fork), así que incluye la carga de clases como al abrir la consola.
+ * <ul>
+ *     <li>{@code timeToFirstPrompt}: hasta que terminan de correr los runners. Con la consola desactivada el runner
+ *     vuelve justo donde mostraría el primer menú.</li>
+ *     <li>{@code timeToDatabaseReady}: además espera a que JPA esté listo; con fast-start muestra cuánto del arranque
+ *     pasó a segundo plano.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"default", "fast-start"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext timeToFirstPrompt() {
+        context = start();
+        return context;
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext timeToDatabaseReady() {
+        context = start();
+        context.getBean(DatabaseBootstrap.class).awaitReady();
+        return context;
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(PomodoroApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("default".equals(profile) ? new String[0] : new String[]{profile})
+                .properties(
+                        "pomodoro.console.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gustavopeiretti.gppomodoro.benchmark;
+
+import com.gustavopeiretti.gppomodoro.PomodoroApplication;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas calientes de {@link TaskRepository} contra un H2 en memoria precargado con 10^5 o 10^6 tareas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate transactionTemplate;
+    private ScrollPosition middlePosition;
+    private long firstTaskId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PomodoroApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "pomodoro.console.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:jmh-tasks;DB_CLOSE_DELAY=-1")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        populate(context.getBean(JdbcTemplate.class));
+
+        firstTaskId = taskRepository.findByCompletedFalseOrderByCreationDateAscIdAsc(ScrollPosition.keyset(), Limit.of(1))
+                .getContent().get(0).getId();
+        Task middle = taskRepository.findById(firstTaskId + taskCount / 2).orElseThrow();
+        middlePosition = ScrollPosition.forward(Map.of("creationDate", middle.getCreationDate(), "id", middle.getId()));
+    }
+
+    private void populate(JdbcTemplate jdbcTemplate) {
+        Long inboxId = jdbcTemplate.queryForObject("SELECT id FROM category WHERE name = 'Inbox'", Long.class);
+        LocalDateTime base = LocalDateTime.now().minusYears(2);
+        String sql = "INSERT INTO task (name, description, creation_date, category_id, completed, pomodoros_spent) VALUES (?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < taskCount; from += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = from; i < Math.min(taskCount, from + INSERT_BATCH); i++) {
+                rows.add(new Object[]{"Tarea " + i, "Descripción " + i, Timestamp.valueOf(base.plusSeconds(i)),
+                        inboxId, i % 10 == 0, i % 8});
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Window<Task> firstPendingPage() {
+        return taskRepository.findByCompletedFalseOrderByCreationDateAscIdAsc(ScrollPosition.keyset(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Window<Task> deepPendingPage() {
+        return taskRepository.findByCompletedFalseOrderByCreationDateAscIdAsc(middlePosition, Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Object findByIdRandom() {
+        return taskRepository.findById(firstTaskId + ThreadLocalRandom.current().nextInt(taskCount));
+    }
+
+    @Benchmark
+    public Integer creditPomodorosRandom() {
+        long id = firstTaskId + ThreadLocalRandom.current().nextInt(taskCount);
+        return transactionTemplate.execute(status -> taskRepository.creditPomodoros(id, 1));
+    }
+}
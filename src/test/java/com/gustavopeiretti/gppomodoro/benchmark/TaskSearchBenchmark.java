@@ -0,0 +1,84 @@
+package com.gustavopeiretti.gppomodoro.benchmark;
+
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda en {@link TaskSearchIndex} con hasta un millón de tareas sintéticas: nombres de 4 palabras de un
+ * vocabulario sesgado (unas pocas palabras muy frecuentes, como en un backlog real) y descripciones de 8 palabras
+ * uniformes. Las consultas cubren una palabra frecuente, una rara, un prefijo corto y dos palabras.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 50_000;
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    @Param({"frequent", "rare", "prefix", "twoWords"})
+    public String queryKind;
+
+    private TaskSearchIndex index;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 4 + random.nextInt(6); j > 0; j--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        index = new TaskSearchIndex(null);
+        StringBuilder name = new StringBuilder();
+        StringBuilder description = new StringBuilder();
+        for (int id = 1; id <= taskCount; id++) {
+            name.setLength(0);
+            description.setLength(0);
+            for (int j = 0; j < 4; j++) {
+                int rank = (int) Math.min(VOCABULARY_SIZE - 1, Math.abs(random.nextGaussian()) * 3000);
+                name.append(vocabulary[rank]).append(' ');
+            }
+            for (int j = 0; j < 8; j++) {
+                description.append(vocabulary[random.nextInt(VOCABULARY_SIZE)]).append(' ');
+            }
+            index.add(id, name.toString(), description.toString());
+        }
+        query = switch (queryKind) {
+            case "frequent" -> vocabulary[0];
+            case "rare" -> vocabulary[VOCABULARY_SIZE - 1];
+            case "prefix" -> vocabulary[1].substring(0, 3);
+            case "twoWords" -> vocabulary[0] + " " + vocabulary[1];
+            default -> throw new IllegalArgumentException(queryKind);
+        };
+    }
+
+    @Benchmark
+    public List<TaskSearchIndex.Hit> search() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gustavopeiretti.gppomodoro.benchmark;
+
+import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link Task#toString()} sobre listas grandes, como las que imprime ConsoleUI.listTasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskToStringBenchmark {
+
+    @Param({"1000", "100000"})
+    public int taskCount;
+
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Category inbox = new Category("Inbox");
+        inbox.setId(1L);
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Tarea " + i, "Descripción de la tarea " + i, inbox);
+            task.setId((long) i);
+            task.setPomodorosSpent(i % 8);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public void toStringAll(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(task.toString());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gustavopeiretti.gppomodoro.config;
+
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "pomodoro.console.enabled=false")
+@ActiveProfiles("fast-start")
+class DatabaseBootstrapTests {
+
+    @Autowired
+    private DatabaseBootstrap databaseBootstrap;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void repositoriesAreUsableOnceTheBackgroundBootstrapFinishes() {
+        assertTrue(databaseBootstrap.isDeferred());
+
+        databaseBootstrap.awaitReady();
+
+        assertTrue(databaseBootstrap.isReady());
+        assertTrue(categoryRepository.findByName("Inbox").isPresent());
+    }
+
+    @Test
+    void theDefaultModeIsReadyFromTheStart() {
+        assertTrue(DatabaseBootstrap.immediate().isReady());
+    }
+}
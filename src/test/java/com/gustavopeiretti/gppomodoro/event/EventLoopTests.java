@@ -0,0 +1,86 @@
+package com.gustavopeiretti.gppomodoro.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLoopTests {
+
+    @Test
+    void timerEventsAreDispatchedOnTheReadingThreadWhileWaitingForInput() throws InterruptedException {
+        EventLoop eventLoop = new EventLoop(16);
+        List<String> dispatchedOn = new ArrayList<>();
+        CountDownLatch ticked = new CountDownLatch(1);
+
+        Thread timer = new Thread(() -> {
+            eventLoop.execute(() -> {
+                dispatchedOn.add(Thread.currentThread().getName());
+                ticked.countDown();
+            });
+            eventLoop.submitLine("4");
+        });
+        timer.start();
+
+        assertEquals("4", eventLoop.nextLine());
+        assertTrue(ticked.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(Thread.currentThread().getName()), dispatchedOn);
+    }
+
+    @Test
+    void nestedPromptsKeepProcessingEventsInOrder() {
+        EventLoop eventLoop = new EventLoop(16);
+        List<String> trace = new ArrayList<>();
+        eventLoop.submitLine("10");
+        eventLoop.execute(() -> trace.add("tick"));
+        eventLoop.submitLine("Escribir informe");
+
+        trace.add("opción " + eventLoop.nextLine());
+        // Dentro de la opción, un prompt anidado vuelve a esperar y despacha el tick que llegó en el medio
+        trace.add("nombre " + eventLoop.nextLine());
+
+        assertEquals(List.of("opción 10", "tick", "nombre Escribir informe"), trace);
+    }
+
+    @Test
+    void eventsPublishedByTheDispatcherWaitTheirTurnWhenTheQueueIsFull() {
+        EventLoop eventLoop = new EventLoop(2);
+        List<Integer> ran = new ArrayList<>();
+        List<String> dispatchedOn = new ArrayList<>();
+        eventLoop.execute(() -> {
+            eventLoop.execute(() -> ran.add(1)); // Ocupa el último lugar libre de la cola
+            eventLoop.execute(() -> { // Cola llena: espera detrás del anterior, no se ejecuta en el lugar
+                ran.add(2);
+                dispatchedOn.add(Thread.currentThread().getName());
+            });
+        });
+        eventLoop.submitLine("5");
+
+        assertEquals("5", eventLoop.nextLine());
+        assertEquals(List.of(), ran);
+        assertEquals(2, eventLoop.getQueuedCount());
+        eventLoop.submitEndOfInput();
+        assertNull(eventLoop.nextLine());
+        assertEquals(List.of(1, 2), ran);
+        assertEquals(List.of(Thread.currentThread().getName()), dispatchedOn);
+    }
+
+    @Test
+    void endOfInputFromTheReaderEndsTheLoop() {
+        EventLoop eventLoop = new EventLoop(16);
+        byte[] input = "1\n\n".getBytes(StandardCharsets.UTF_8);
+        new ConsoleInputReader(new ByteArrayInputStream(input), eventLoop).start();
+
+        assertEquals("1", eventLoop.nextLine());
+        assertEquals("", eventLoop.nextLine());
+        assertNull(eventLoop.nextLine());
+    }
+}
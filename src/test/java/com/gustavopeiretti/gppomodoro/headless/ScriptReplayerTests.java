@@ -0,0 +1,97 @@
+package com.gustavopeiretti.gppomodoro.headless;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import com.gustavopeiretti.gppomodoro.session.ThreadingMode;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ScriptReplayerTests {
+
+    // Crear una tarea (nombre y descripción), seleccionar, un Enter suelto, salir y una línea que ya no se ejecuta
+    private static final String SCRIPT = "10\nEscribir informe\n\n12\n\n6\n11\n";
+
+    private SessionRegistry registry;
+    private ScriptReplayer replayer;
+    private final List<String> answers = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionRegistry(30, 0, ThreadingMode.PLATFORM, 2);
+        PomodoroService service = mock(PomodoroService.class);
+        // El servicio simulado consume las respuestas de los prompts como lo haría el real
+        doAnswer(invocation -> {
+            String input = invocation.getArgument(0);
+            ConsoleUI ui = invocation.getArgument(3);
+            switch (input) {
+                case "10" -> {
+                    answers.add(ui.prompt("Nombre de la tarea"));
+                    answers.add(ui.prompt("Descripción (opcional)"));
+                }
+                case "6" -> ui.exit(0);
+                default -> {
+                }
+            }
+            return null;
+        }).when(service).handleUserInput(anyString(), any(PomodoroSession.class), any(PomodoroTimer.class), any(ConsoleUI.class));
+        replayer = new ScriptReplayer(service, registry);
+    }
+
+    @Test
+    void eachCommandConsumesItsPromptAnswersAndExitEndsTheSession() throws Exception {
+        ReplayReport report = replayer.replay(() -> new ByteArrayInputStream(SCRIPT.getBytes(StandardCharsets.UTF_8)), 3);
+
+        assertEquals(3, report.getCommandCount("10"));
+        assertEquals(3, report.getCommandCount("12"));
+        assertEquals(3, report.getCommandCount("(enter)"));
+        assertEquals(3, report.getCommandCount("6"));
+        assertEquals(0, report.getCommandCount("11"));
+        assertEquals(12, report.getCommandCount());
+        assertEquals(0, report.getErrorCount());
+        assertTrue(answers.containsAll(List.of("Escribir informe", "")));
+        assertEquals(6, answers.size());
+        assertTrue(registry.find("replay-0").isEmpty()); // La sesión se elimina al terminar
+        assertTrue(report.getThroughputPerSecond() > 0);
+    }
+
+    @Test
+    void percentilesUseTheNearestRank() {
+        long[] sorted = new long[100];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1;
+        }
+        assertEquals(50, ReplayReport.percentile(sorted, 0.5));
+        assertEquals(99, ReplayReport.percentile(sorted, 0.99));
+        assertEquals(7, ReplayReport.percentile(new long[]{7}, 0.99));
+    }
+
+    @Test
+    void theReportHasOneLinePerCommandAndATotal() {
+        ReplayReport report = new ReplayReport();
+        report.record("2", 2_000_000, false);
+        report.record("4", 1_000_000, true);
+        report.setWallNanos(1_000_000_000);
+
+        String[] lines = report.render().split(System.lineSeparator());
+
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("2 "));
+        assertTrue(lines[2].matches("4 +1 +1 +1\\.000 .*"));
+        assertEquals("total: 2 comandos (1 con error) en 1000.0 ms, 2.0 comandos/s", lines[3]);
+    }
+}
@@ -0,0 +1,301 @@
+package com.gustavopeiretti.gppomodoro.load;
+
+import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import com.gustavopeiretti.gppomodoro.service.PomodoroCreditWriter;
+import com.gustavopeiretti.gppomodoro.service.PomodoroEventLog;
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.session.SessionRegistry;
+import com.gustavopeiretti.gppomodoro.ui.QuietConsoleUI;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Genera carga con {@code users} usuarios simulados sobre el contexto de la aplicación ya arrancado.
+ * <p>
+ * Cada usuario tiene su propia sesión en {@link SessionRegistry} y, en cada ciclo, hace lo mismo que haría en la
+ * consola: crea una tarea, la busca y la selecciona, corre un ciclo completo (un Pomodoro y su descanso tras otro
+ * hasta el descanso largo), detiene el ciclo y marca la tarea como completada. Los comandos pasan por
+ * {@link PomodoroService#handleUserInput} con el lock de la sesión, como en la consola; los Pomodoros vencen por
+ * los timers reales, así que los créditos, el historial y los callbacks compiten con los comandos de los demás.
+ * <p>
+ * Los usuarios corren en hilos virtuales para que los clientes no se cuenten entre los hilos de la aplicación.
+ */
+final class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final String USER_PREFIX = "load-";
+    // Cada cuánto se mira el estado de la sesión mientras se espera el fin de un descanso
+    private static final long STATE_POLL_MILLIS = 20;
+
+    private final ConfigurableApplicationContext context;
+    private final PomodoroService service;
+    private final SessionRegistry registry;
+    private final PomodoroConfig config;
+    private final int users;
+    private final int cycles;
+    private final long rampUpMillis;
+
+    LoadGenerator(ConfigurableApplicationContext context, int users, int cycles, long rampUpMillis) {
+        this.context = context;
+        this.service = context.getBean(PomodoroService.class);
+        this.registry = context.getBean(SessionRegistry.class);
+        this.config = context.getBean(PomodoroConfig.class);
+        this.users = users;
+        this.cycles = cycles;
+        this.rampUpMillis = rampUpMillis;
+    }
+
+    LoadReport run(String label) throws InterruptedException {
+        LoadReport report = new LoadReport(label);
+        report.setting("users", users);
+        report.setting("cycles", cycles);
+        report.setting("rampUpMillis", rampUpMillis);
+        report.setting("pomodoroSeconds", config.getPomodoroSeconds());
+        report.setting("breakSeconds", config.getShortBreakSeconds() + "/" + config.getLongBreakSeconds());
+        report.setting("threadingMode", registry.getThreadingMode());
+        report.setting("cores", Runtime.getRuntime().availableProcessors());
+
+        TaskSearchIndex searchIndex = context.getBean(TaskSearchIndex.class);
+        while (!searchIndex.isReady()) {
+            TimeUnit.MILLISECONDS.sleep(50); // Sin el índice cargado la búsqueda no encuentra las tareas nuevas
+        }
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+        long start = System.nanoTime();
+        try (ResourceSampler sampler = new ResourceSampler(meterRegistry, 100)) {
+            List<Thread> threads = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                long delayMillis = users > 1 ? rampUpMillis * i / (users - 1) : 0;
+                threads.add(Thread.ofVirtual().name("load-user-" + i).start(() -> runUser(index, delayMillis, report)));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            report.setWallNanos(System.nanoTime() - start);
+            // Lo que quedó encolado cuenta como parte de la corrida: sin esto las tareas no tendrían sus créditos
+            long flushStart = System.nanoTime();
+            context.getBean(PomodoroCreditWriter.class).flush();
+            context.getBean(PomodoroEventLog.class).flush();
+            report.metric("run.final_flush_ms", (System.nanoTime() - flushStart) / 1e6);
+            sampler.report(report);
+        }
+        collectServerMetrics(report, meterRegistry, statistics);
+        collectDatabaseTotals(report);
+        return report;
+    }
+
+    private void runUser(int index, long delayMillis, LoadReport report) {
+        String userId = USER_PREFIX + index;
+        UserConsoleUI ui = new UserConsoleUI();
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+            for (int cycle = 0; cycle < cycles; cycle++) {
+                if (!runCycle(userId, "u" + index + "c" + cycle, ui, report)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            registry.remove(userId); // Detiene el timer si el usuario abandonó a mitad de un ciclo
+        }
+    }
+
+    /**
+     * Un ciclo del usuario. Devuelve false si algo falló y el usuario no puede seguir.
+     */
+    private boolean runCycle(String userId, String token, UserConsoleUI ui, LoadReport report) throws InterruptedException {
+        String taskName = "Carga " + token;
+        ui.answer(taskName, "Tarea generada por la prueba de carga", "");
+        if (!command(userId, "10", "crear", ui, report)) {
+            return false;
+        }
+        ui.searchFor(taskName);
+        ui.answer(token);
+        if (!command(userId, "15", "buscar", ui, report)) {
+            return false;
+        }
+        if (ui.selectedTaskId == null) {
+            report.record("sin_resultado", 0, true); // El índice no encontró la tarea recién creada
+            return false;
+        }
+        if (!command(userId, "1", "ciclo", ui, report)) {
+            return false;
+        }
+        int pomodoros = config.getPomodorosUntilLongBreak();
+        // Un Pomodoro más su descanso, con margen para un sistema saturado
+        long timeoutSeconds = 10L * (config.getPomodoroSeconds() + config.getLongBreakSeconds()) + 30;
+        for (int pomodoro = 1; pomodoro <= pomodoros; pomodoro++) {
+            long waitStart = System.nanoTime();
+            if (!awaitNextPomodoro(userId, timeoutSeconds)) {
+                report.record("vencimiento", System.nanoTime() - waitStart, true);
+                log.warn("El timer de {} no venció en {} s", userId, timeoutSeconds);
+                return false;
+            }
+            if (!command(userId, pomodoro < pomodoros ? "s" : "n", pomodoro < pomodoros ? "siguiente" : "detener", ui, report)) {
+                return false;
+            }
+        }
+        return command(userId, "13", "completar", ui, report);
+    }
+
+    /**
+     * Espera a que termine el descanso: la sesión queda en AWAITING_NEXT_POMODORO. El estado se lee con el lock de
+     * la sesión, así que el comando siguiente lo encuentra igual. Devuelve false si no llega a tiempo.
+     */
+    private boolean awaitNextPomodoro(String userId, long timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (registry.withSession(userId, userSession -> userSession.getSession().getCurrentState())
+                != PomodoroState.AWAITING_NEXT_POMODORO) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(STATE_POLL_MILLIS);
+        }
+        return true;
+    }
+
+    private boolean command(String userId, String input, String operation, UserConsoleUI ui, LoadReport report) {
+        boolean failed = false;
+        long start = System.nanoTime();
+        try {
+            registry.execute(userId, userSession -> {
+                if (input.equals("s") || input.equals("n")) {
+                    PomodoroState state = userSession.getSession().getCurrentState();
+                    if (state != PomodoroState.AWAITING_NEXT_POMODORO) {
+                        throw new IllegalStateException("Se esperaba AWAITING_NEXT_POMODORO y la sesión está en " + state);
+                    }
+                }
+                service.handleUserInput(input, userSession.getSession(), userSession.getTimer(), ui);
+            });
+        } catch (RuntimeException e) {
+            failed = true;
+            log.warn("La operación {} falló para {}", operation, userId, e);
+        }
+        report.record(operation, System.nanoTime() - start, failed);
+        return !failed;
+    }
+
+    /**
+     * Percentiles que la aplicación publica en Micrometer: operaciones del servicio (incluidos los callbacks de
+     * vencimiento), repositorios, retraso de los despertares y espera por una conexión del pool.
+     */
+    private static void collectServerMetrics(LoadReport report, MeterRegistry registry, Statistics statistics) {
+        for (Timer timer : registry.find("pomodoro.service.operation").timers()) {
+            percentiles(report, "service." + timer.getId().getTag("operation"), timer);
+        }
+        for (Timer timer : registry.find("spring.data.repository.invocations").timers()) {
+            String repository = timer.getId().getTag("repository");
+            if (repository != null && timer.count() > 0) {
+                percentiles(report, "repository." + repository + "." + timer.getId().getTag("method"), timer);
+            }
+        }
+        // Los timers no son beans y registran en el registro global
+        Timer lateness = Metrics.globalRegistry.find("pomodoro.timer.tick.lateness").timer();
+        if (lateness != null) {
+            percentiles(report, "timer.lateness", lateness);
+        }
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            report.metric("db.acquire.count", acquire.count());
+            report.metric("db.acquire.mean_ms", acquire.mean(TimeUnit.MILLISECONDS));
+            report.metric("db.acquire.max_ms", acquire.max(TimeUnit.MILLISECONDS));
+        }
+        Counter timeouts = registry.find("hikaricp.connections.timeout").counter();
+        if (timeouts != null) {
+            report.metric("db.acquire.timeouts", timeouts.count());
+        }
+        report.metric("db.transactions", statistics.getTransactionCount());
+        report.metric("db.transactions.failed", statistics.getTransactionCount() - statistics.getSuccessfulTransactionCount());
+        report.metric("db.optimistic_failures", statistics.getOptimisticFailureCount());
+        report.metric("db.statements", statistics.getPrepareStatementCount());
+        report.metric("db.query.max_ms", statistics.getQueryExecutionMaxTime());
+    }
+
+    private static void percentiles(LoadReport report, String name, Timer timer) {
+        report.metric(name + ".count", timer.count());
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            String percentile = value.percentile() == 0.5 ? "p50" : value.percentile() == 0.99 ? "p99" : null;
+            if (percentile != null) {
+                report.metric(name + "." + percentile + "_ms", value.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        report.metric(name + ".max_ms", timer.max(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Lo que quedó en la base: tareas completadas y Pomodoros acreditados, para verificar que no se perdió nada.
+     */
+    private void collectDatabaseTotals(LoadReport report) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        report.metric("db.tasks.completed", jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task WHERE completed AND name LIKE 'Carga u%'", Long.class));
+        report.metric("db.tasks.pomodoros", jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(pomodoros_spent), 0) FROM task WHERE name LIKE 'Carga u%'", Long.class));
+    }
+
+    /**
+     * Consola de un usuario simulado: contesta los prompts con lo que le encola el generador, elige de los
+     * resultados de búsqueda la tarea que acaba de crear y completa la tarea del ciclo.
+     */
+    private static final class UserConsoleUI extends QuietConsoleUI {
+        private final Deque<String> answers = new ArrayDeque<>();
+        private String expectedTaskName;
+        private volatile Long selectedTaskId;
+
+        void answer(String... lines) {
+            answers.clear();
+            answers.addAll(List.of(lines));
+        }
+
+        void searchFor(String taskName) {
+            this.expectedTaskName = taskName;
+            this.selectedTaskId = null;
+        }
+
+        @Override
+        public String prompt(String message) {
+            String answer = answers.poll();
+            return answer != null ? answer : "";
+        }
+
+        @Override
+        public Long selectTaskFromSearch(List<TaskSearchIndex.Hit> hits) {
+            for (TaskSearchIndex.Hit hit : hits) {
+                if (hit.name().equals(expectedTaskName)) {
+                    selectedTaskId = hit.taskId();
+                    return hit.taskId();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public PageSelection selectTaskFromPage(List<Task> tasks, boolean hasMore) {
+            Long taskId = selectedTaskId;
+            return taskId != null ? PageSelection.task(taskId) : PageSelection.NONE; // La página de pendientes se consulta igual; se completa la tarea del ciclo
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.gustavopeiretti.gppomodoro.load;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resultado de una corrida de carga: latencia de cada operación vista por los usuarios simulados (todas las
+ * muestras, percentiles exactos) y un mapa plano de métricas del proceso (servicio, repositorios, pool de
+ * conexiones, Hibernate, hilos).
+ * <p>
+ * Se guarda en JSON con el mapa plano, así dos corridas de versiones distintas se comparan clave por clave con
+ * {@link #compare}.
+ */
+final class LoadReport {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String label;
+    private final Map<String, String> settings = new LinkedHashMap<>();
+    private final Map<String, Samples> operations = new ConcurrentHashMap<>();
+    private final Map<String, Double> metrics = new LinkedHashMap<>();
+    private long wallNanos;
+
+    LoadReport(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Latencias de una operación. Cada usuario registra desde su hilo, así que se sincroniza por operación.
+     */
+    private static final class Samples {
+        private long[] nanos = new long[256];
+        private int size;
+        private int errors;
+
+        synchronized void add(long value, boolean failed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    void setting(String name, Object value) {
+        settings.put(name, String.valueOf(value));
+    }
+
+    void record(String operation, long nanos, boolean failed) {
+        operations.computeIfAbsent(operation, key -> new Samples()).add(nanos, failed);
+    }
+
+    void metric(String name, double value) {
+        metrics.put(name, value);
+    }
+
+    void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    long getErrorCount() {
+        return operations.values().stream().mapToLong(samples -> samples.errors).sum();
+    }
+
+    long getOperationCount(String operation) {
+        Samples samples = operations.get(operation);
+        return samples != null ? samples.sorted().length : 0;
+    }
+
+    Double getMetric(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Pasa las latencias de cada operación al mapa plano ({@code op.<operación>.p50_ms}, etc.).
+     */
+    private Map<String, Double> flatten() {
+        Map<String, Double> flat = new LinkedHashMap<>();
+        new TreeMap<>(operations).forEach((operation, samples) -> {
+            long[] sorted = samples.sorted();
+            if (sorted.length == 0) {
+                return;
+            }
+            flat.put("op." + operation + ".count", (double) sorted.length);
+            flat.put("op." + operation + ".errors", (double) samples.errors);
+            flat.put("op." + operation + ".p50_ms", millis(percentile(sorted, 0.5)));
+            flat.put("op." + operation + ".p99_ms", millis(percentile(sorted, 0.99)));
+            flat.put("op." + operation + ".max_ms", millis(sorted[sorted.length - 1]));
+        });
+        flat.put("run.wall_s", wallNanos / 1e9);
+        flat.putAll(metrics);
+        return flat;
+    }
+
+    String render() {
+        StringBuilder out = new StringBuilder();
+        out.append("Carga '").append(label).append("' ").append(settings).append(System.lineSeparator());
+        out.append(String.format(Locale.ROOT, "%-12s %9s %7s %10s %10s %10s%n",
+                "operación", "cantidad", "errores", "p50_ms", "p99_ms", "max_ms"));
+        new TreeMap<>(operations).forEach((operation, samples) -> {
+            long[] sorted = samples.sorted();
+            if (sorted.length == 0) {
+                return;
+            }
+            out.append(String.format(Locale.ROOT, "%-12s %9d %7d %10.3f %10.3f %10.3f%n", operation, sorted.length,
+                    samples.errors, millis(percentile(sorted, 0.5)), millis(percentile(sorted, 0.99)),
+                    millis(sorted[sorted.length - 1])));
+        });
+        out.append(String.format(Locale.ROOT, "tiempo total: %.1f s%n", wallNanos / 1e9));
+        metrics.forEach((name, value) -> out.append(String.format(Locale.ROOT, "%-60s %14.3f%n", name, value)));
+        return out.toString();
+    }
+
+    /**
+     * Guarda el reporte en {@code <directory>/<label>.json} y devuelve la ruta.
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(label + ".json");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             JsonGenerator generator = JSON.createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeStringField("label", label);
+            generator.writeObjectFieldStart("settings");
+            for (Map.Entry<String, String> setting : settings.entrySet()) {
+                generator.writeStringField(setting.getKey(), setting.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("metrics");
+            for (Map.Entry<String, Double> metric : flatten().entrySet()) {
+                generator.writeNumberField(metric.getKey(), metric.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        return file;
+    }
+
+    /**
+     * Métricas de un reporte guardado con {@link #write}.
+     */
+    static Map<String, Double> readMetrics(Path file) throws IOException {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        try (JsonParser parser = JSON.createParser(file.toFile())) {
+            boolean inMetrics = false;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && !inMetrics && "metrics".equals(parser.currentName())
+                        && parser.getParsingContext().getParent().inRoot()) {
+                    inMetrics = parser.nextToken() == JsonToken.START_OBJECT;
+                } else if (inMetrics && token == JsonToken.END_OBJECT) {
+                    break;
+                } else if (inMetrics && token.isNumeric()) {
+                    metrics.put(parser.currentName(), parser.getDoubleValue());
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Tabla de diferencias contra un reporte anterior: solo las métricas que están en los dos.
+     */
+    String compare(Map<String, Double> baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-60s %14s %14s %9s%n", "métrica", "base", "actual", "cambio"));
+        flatten().forEach((name, value) -> {
+            Double before = baseline.get(name);
+            if (before == null) {
+                return;
+            }
+            String change = before == 0 ? (value == 0 ? "=" : "nuevo")
+                    : String.format(Locale.ROOT, "%+.1f%%", (value - before) * 100 / before);
+            out.append(String.format(Locale.ROOT, "%-60s %14.3f %14.3f %9s%n", name, before, value, change));
+        });
+        return out.toString();
+    }
+
+    // Percentil por rango más cercano sobre las muestras ordenadas
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.gustavopeiretti.gppomodoro.load;
+
+import com.gustavopeiretti.gppomodoro.PomodoroApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga de punta a punta: N usuarios simulados ({@link LoadGenerator}) sobre la aplicación completa, con
+ * la base, los timers y los volcados programados reales. Imprime el reporte y lo guarda en
+ * {@code target/load/<label>.json}; con {@code -Dload.baseline} lo compara además con el de otra corrida.
+ * <p>
+ * Ejecutar con: mvn test -Pload [-Dload.users=200] [-Dload.cycles=2] [-Dload.pomodoro-seconds=2]
+ * [-Dload.break-seconds=1] [-Dload.ramp-up-ms=1000] [-Dload.profile=persistent] [-Dload.threads-mode=virtual]
+ * [-Dload.pool-size=10] [-Dload.label=v1.4] [-Dload.baseline=target/load/v1.3.json]
+ */
+@Tag("load")
+class LoadTests {
+
+    @TempDir
+    Path storage;
+
+    @Test
+    void simulatedUsersRunFullCyclesWithoutErrors() throws Exception {
+        int users = Integer.getInteger("load.users", 200);
+        int cycles = Integer.getInteger("load.cycles", 2);
+        String label = System.getProperty("load.label", "local");
+
+        LoadReport report;
+        try (ConfigurableApplicationContext context = start()) {
+            report = new LoadGenerator(context, users, cycles, Long.getLong("load.ramp-up-ms", 1_000)).run(label);
+        }
+        report.setting("profile", System.getProperty("load.profile", "default"));
+        System.out.println(report.render());
+        Path file = report.write(Path.of("target", "load"));
+        System.out.println("Reporte: " + file.toAbsolutePath());
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            System.out.println(report.compare(LoadReport.readMetrics(Path.of(baseline))));
+        }
+
+        assertEquals(0, report.getErrorCount());
+        assertEquals(users * cycles, report.getOperationCount("completar"));
+        assertEquals((double) users * cycles, report.getMetric("db.tasks.completed"));
+        // Cada Pomodoro vencido se acredita a la tarea del ciclo: ninguno se pierde entre el timer y la base
+        assertEquals((double) users * cycles * 4, report.getMetric("db.tasks.pomodoros"));
+    }
+
+    private ConfigurableApplicationContext start() {
+        List<String> properties = new ArrayList<>(List.of(
+                "pomodoro.console.enabled=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "pomodoro.storage.dir=" + storage.toAbsolutePath(),
+                "pomodoro.checkpoint.enabled=false",
+                "pomodoro.durations.pomodoro-seconds=" + Integer.getInteger("load.pomodoro-seconds", 2),
+                "pomodoro.durations.short-break-seconds=" + Integer.getInteger("load.break-seconds", 1),
+                "pomodoro.durations.long-break-seconds=" + Integer.getInteger("load.break-seconds", 1),
+                "pomodoro.durations.pomodoros-until-long-break=4",
+                "pomodoro.threads.mode=" + System.getProperty("load.threads-mode", "platform")));
+        String poolSize = System.getProperty("load.pool-size");
+        if (poolSize != null) {
+            properties.add("spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PomodoroApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new));
+        String profile = System.getProperty("load.profile");
+        if (profile != null && !profile.isBlank()) {
+            builder.profiles(profile);
+        }
+        return builder.run();
+    }
+}
@@ -0,0 +1,130 @@
+package com.gustavopeiretti.gppomodoro.load;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Muestrea cada {@code intervalMillis}, desde un hilo propio, los hilos vivos por grupo y el estado del pool de
+ * conexiones (conexiones en uso e hilos esperando una). Se queda con el máximo y el promedio de cada serie.
+ * <p>
+ * Los hilos virtuales no aparecen en {@link ThreadMXBean}: se cuentan los portadores, que son los que importan.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    // Prefijos de los hilos de la aplicación; el resto se cuenta como "otros"
+    private static final List<String> GROUPS = List.of("pomodoro-session-", "pomodoro-timer-worker-",
+            "pomodoro-timer-wheel-", "HikariPool", "ForkJoinPool", "scheduling-");
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MeterRegistry registry;
+    private final long intervalMillis;
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private final Thread sampler;
+    private volatile boolean stopped;
+
+    private static final class Series {
+        private double max;
+        private double sum;
+        private long count;
+
+        void add(double value) {
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+        }
+    }
+
+    ResourceSampler(MeterRegistry registry, long intervalMillis) {
+        this.registry = registry;
+        this.intervalMillis = intervalMillis;
+        if (threads.isThreadContentionMonitoringSupported()) {
+            threads.setThreadContentionMonitoringEnabled(true);
+        }
+        threads.resetPeakThreadCount();
+        this.sampler = Thread.ofPlatform().daemon().name("load-sampler").start(this::run);
+    }
+
+    private void run() {
+        while (!stopped) {
+            sample();
+            try {
+                TimeUnit.MILLISECONDS.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized void sample() {
+        Map<String, Integer> byGroup = new LinkedHashMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null) {
+                byGroup.merge(group(info.getThreadName()), 1, Integer::sum);
+            }
+        }
+        add("threads.live", threads.getThreadCount());
+        for (String group : GROUPS) {
+            add("threads." + group.replaceAll("-$", ""), byGroup.getOrDefault(group, 0));
+        }
+        add("threads.otros", byGroup.getOrDefault("otros", 0));
+        gauge("hikaricp.connections.active", "db.connections.active");
+        gauge("hikaricp.connections.pending", "db.connections.pending");
+    }
+
+    private void gauge(String meter, String name) {
+        Gauge gauge = registry.find(meter).gauge();
+        if (gauge != null) {
+            add(name, gauge.value());
+        }
+    }
+
+    private void add(String name, double value) {
+        series.computeIfAbsent(name, key -> new Series()).add(value);
+    }
+
+    private static String group(String threadName) {
+        for (String group : GROUPS) {
+            if (threadName.startsWith(group)) {
+                return group;
+            }
+        }
+        return "otros";
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stopped = true;
+        sampler.interrupt();
+        sampler.join();
+    }
+
+    /**
+     * Vuelca las series al reporte ({@code <serie>.max}, {@code <serie>.mean}), el pico de hilos y cuánto
+     * estuvieron bloqueados en monitores los hilos de trabajo de las sesiones.
+     */
+    synchronized void report(LoadReport report) {
+        series.forEach((name, values) -> {
+            report.metric(name + ".max", values.max);
+            report.metric(name + ".mean", values.count > 0 ? values.sum / values.count : 0);
+        });
+        report.metric("threads.peak", threads.getPeakThreadCount());
+        long blockedCount = 0;
+        long blockedMillis = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("pomodoro-")) {
+                blockedCount += info.getBlockedCount();
+                blockedMillis += Math.max(0, info.getBlockedTime());
+            }
+        }
+        report.metric("threads.pomodoro.blocked.count", blockedCount);
+        report.metric("threads.pomodoro.blocked.ms", blockedMillis);
+    }
+}
@@ -0,0 +1,66 @@
+package com.gustavopeiretti.gppomodoro.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsReporterTests {
+
+    private SimpleMeterRegistry registry;
+    private MetricsReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        reporter = new MetricsReporter(registry);
+    }
+
+    @Test
+    void rendersOneLinePerMeterWithTagsAndStatistics() {
+        registry.counter("pomodoro.pomodoros.completed").increment(3);
+        Timer timer = Timer.builder("pomodoro.service.operation")
+                .tag("operation", "togglePause")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        timer.record(20, TimeUnit.MILLISECONDS);
+
+        String[] lines = reporter.render().split(System.lineSeparator());
+
+        assertEquals(2, lines.length);
+        assertEquals("pomodoro.pomodoros.completed count=3.000", lines[0]);
+        assertTrue(lines[1].startsWith("pomodoro.service.operation{operation=togglePause} count=1 mean_ms=20.000"));
+        assertTrue(lines[1].contains(" p50_ms="));
+        assertTrue(lines[1].contains(" p99_ms="));
+    }
+
+    @Test
+    void addsTheHitRatioOfCachesThatCountHitsAndMisses() {
+        registry.counter("hibernate.second.level.cache.requests", "region", "task", "result", "hit").increment(3);
+        registry.counter("hibernate.second.level.cache.requests", "region", "task", "result", "miss").increment();
+        registry.counter("hibernate.second.level.cache.requests", "region", "category", "result", "miss");
+
+        String[] lines = reporter.render().split(System.lineSeparator());
+
+        assertEquals(4, lines.length); // Tres contadores y una sola tasa: la región sin pedidos no tiene
+        assertEquals("hibernate.second.level.cache.requests{region=task} hit_ratio=0.750", lines[3]);
+    }
+
+    @Test
+    void writesTheSameDumpToAFile(@TempDir Path dir) throws Exception {
+        registry.gauge("pomodoro.sessions.active", 7);
+        Path file = dir.resolve("metrics.txt");
+
+        reporter.writeTo(file);
+
+        assertEquals(reporter.render(), Files.readString(file));
+    }
+}
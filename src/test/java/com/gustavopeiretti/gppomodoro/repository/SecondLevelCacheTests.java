@@ -0,0 +1,106 @@
+package com.gustavopeiretti.gppomodoro.repository;
+
+import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.transfer.TaskRecord;
+import com.gustavopeiretti.gppomodoro.transfer.TaskRecordWriter;
+import com.gustavopeiretti.gppomodoro.transfer.TaskTransferService;
+import com.gustavopeiretti.gppomodoro.transfer.TransferFormat;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "pomodoro.console.enabled=false")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskTransferService transferService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions(); // El contexto se comparte con otras clases de prueba
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void categoryListComesFromTheQueryCacheUntilACategoryIsSaved() {
+        categoryRepository.findAll();
+        categoryRepository.findAll();
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        categoryRepository.save(new Category("Lecturas"));
+
+        assertTrue(names(categoryRepository.findAll()).contains("Lecturas"));
+    }
+
+    @Test
+    void taskReadsByIdHitTheTaskRegion() {
+        Category inbox = categoryRepository.findByName("Inbox").orElseThrow();
+        Task task = taskRepository.save(new Task("Tarea en caché", inbox));
+        statistics.clear();
+
+        taskRepository.findById(task.getId());
+        taskRepository.findById(task.getId());
+
+        assertEquals(2, statistics.getDomainDataRegionStatistics("task").getHitCount());
+        assertEquals(0, statistics.getEntityLoadCount()); // Ni la tarea ni su categoría se leyeron de la base
+    }
+
+    @Test
+    void creditingATaskKeepsTheOtherCachedTasks() {
+        Category inbox = categoryRepository.findByName("Inbox").orElseThrow();
+        Task credited = taskRepository.save(new Task("Tarea acreditada", inbox));
+        Task other = taskRepository.save(new Task("Otra tarea en caché", inbox));
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.creditPomodoros(credited.getId(), 2));
+        statistics.clear();
+
+        assertEquals(2, taskRepository.findById(credited.getId()).orElseThrow().getPomodorosSpent());
+        taskRepository.findById(other.getId());
+
+        // Las dos salen de la región task: la acreditada con su valor nuevo y la otra sin haber sido desalojada
+        assertEquals(2, statistics.getDomainDataRegionStatistics("task").getHitCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void anImportThroughJdbcInvalidatesCachedQueries(@TempDir Path dir) throws Exception {
+        categoryRepository.findAll(); // Queda en la caché de consultas
+        Path file = dir.resolve("tareas.csv");
+        try (TaskRecordWriter writer = TransferFormat.CSV.openWriter(file)) {
+            writer.write(new TaskRecord("Preparar charla", null, "Eventos", null, null, false, 0));
+        }
+
+        transferService.importTasks(file);
+
+        assertTrue(names(categoryRepository.findAll()).contains("Eventos"));
+    }
+
+    private static List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.gustavopeiretti.gppomodoro.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTests {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(null); // Sin base: las pruebas indexan a mano
+        index.add(1L, "Escribir informe trimestral", "Ventas e informática del trimestre");
+        index.add(2L, "Informática: migrar servidor", null);
+        index.add(3L, "Llamar a María", "Pedirle el informe");
+        index.add(4L, "Reunión de planificación", "Planificar el sprint");
+    }
+
+    @Test
+    void tokenizeIgnoresCaseAccentsAndPunctuation() {
+        assertArrayEquals(new String[]{"reunion", "de", "planificacion", "v2"},
+                TaskSearchIndex.tokenize("¡Reunión de PLANIFICACIÓN (v2)!"));
+        assertEquals(0, TaskSearchIndex.tokenize("  ").length);
+    }
+
+    @Test
+    void matchesWithoutAccentsAndByPrefix() {
+        assertEquals(List.of(3L), ids("maria"));
+        assertEquals(List.of(4L), ids("reunion"));
+        assertEquals(List.of(4L), ids("planif"));
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertEquals(List.of(1L), ids("informe ventas"));
+        assertTrue(ids("informe servidor").isEmpty());
+        assertTrue(ids("inexistente").isEmpty());
+    }
+
+    @Test
+    void nameMatchesAndWholeWordsRankFirst() {
+        // "informe" está en el nombre de 1 y en la descripción de 3
+        assertEquals(List.of(1L, 3L), ids("informe"));
+        assertTrue(index.search("informe", 10).get(0).score() > index.search("inform", 10).get(0).score());
+        // Como prefijo, 1 ("informe") y 2 ("informatica") empatan en el nombre: primero la más antigua
+        assertEquals(List.of(1L, 2L, 3L), ids("inform"));
+    }
+
+    @Test
+    void tiesKeepTheOldestTaskFirstAndRespectTheLimit() {
+        index.add(5L, "Tarea", null);
+        index.add(6L, "Tarea", null);
+        index.add(7L, "Tarea", null);
+
+        assertEquals(List.of(5L, 6L), index.search("tarea", 2).stream().map(TaskSearchIndex.Hit::taskId).toList());
+    }
+
+    @Test
+    void removedAndDuplicatedTasksAreNotReturnedTwice() {
+        index.add(1L, "Escribir informe trimestral", null); // Ya indexada: se ignora
+        index.remove(3L);
+        index.remove(3L);
+
+        assertEquals(List.of(1L), ids("informe"));
+        assertTrue(ids("maria").isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void idsOfUnusedTermsAreReused() {
+        index.add(5L, "Palabrasolitaria", null);
+        index.remove(5L);
+        index.add(6L, "Otrapalabra", null);
+
+        assertEquals(List.of(6L), ids("otrapalabra"));
+        assertTrue(ids("palabrasolitaria").isEmpty());
+        assertEquals(List.of(1L, 3L), ids("informe"));
+    }
+
+    @Test
+    void aTaskCompletedWhileItsPageLoadsIsNotIndexed() throws Exception {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        TaskSearchIndex loaded = new TaskSearchIndex(jdbcTemplate, 0);
+        doAnswer(invocation -> {
+            loaded.remove(10L); // La tarea se completa después de que la consulta la leyó pendiente
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(row(10L, "Tarea completada durante la carga"));
+            handler.processRow(row(11L, "Tarea pendiente"));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+
+        assertEquals(2, loaded.catchUp());
+
+        assertEquals(1, loaded.size());
+        assertEquals(List.of(11L), loaded.search("tarea", 10).stream().map(TaskSearchIndex.Hit::taskId).toList());
+    }
+
+    @Test
+    void aFailedLoadIsRetriedFromTheLastTaskRead() throws Exception {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        TaskSearchIndex loaded = new TaskSearchIndex(jdbcTemplate, 0);
+        doThrow(new DataAccessResourceFailureException("base no disponible"))
+                .doAnswer(invocation -> {
+                    assertEquals(0L, invocation.<Map<String, Object>>getArgument(1).get("lastId"));
+                    RowCallbackHandler handler = invocation.getArgument(2);
+                    handler.processRow(row(20L, "Cargada al reintentar"));
+                    return null;
+                })
+                .when(jdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+        assertFalse(loaded.isReady());
+
+        loaded.loadUntilReady();
+
+        assertTrue(loaded.isReady());
+        assertEquals(1, loaded.size());
+    }
+
+    private static ResultSet row(long id, String name) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("name")).thenReturn(name);
+        return rs;
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(TaskSearchIndex.Hit::taskId).toList();
+    }
+}
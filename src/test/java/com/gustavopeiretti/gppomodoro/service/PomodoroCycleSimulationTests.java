@@ -0,0 +1,156 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.config.DatabaseBootstrap;
+import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.metrics.MetricsReporter;
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import com.gustavopeiretti.gppomodoro.repository.PomodoroEventRepository;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import com.gustavopeiretti.gppomodoro.session.SessionCheckpoint;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.timer.VirtualTimeScheduler;
+import com.gustavopeiretti.gppomodoro.transfer.TaskTransferService;
+import com.gustavopeiretti.gppomodoro.ui.QuietConsoleUI;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * El ciclo Pomodoro completo de {@link PomodoroService} sobre un reloj virtual: cada prueba recorre horas de
+ * Pomodoros en milisegundos y siempre de la misma forma.
+ */
+class PomodoroCycleSimulationTests {
+
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    private final PomodoroSession session = new PomodoroSession();
+    private final PomodoroTimer timer = new PomodoroTimer(scheduler);
+    private final StateRecorder ui = new StateRecorder();
+    private PomodoroEventLog eventLog;
+    private PomodoroService service;
+
+    @BeforeEach
+    void setUp() {
+        eventLog = new PomodoroEventLog(mock(PomodoroEventRepository.class), mock(TransactionTemplate.class), 50);
+        service = newService(new PomodoroConfig(1500, 300, 900, 4, scheduler), eventLog);
+    }
+
+    @Test
+    void everyFourthPomodoroIsFollowedByALongBreak() {
+        service.handleUserInput("1", session, timer, ui);
+        for (int pomodoro = 1; pomodoro <= 8; pomodoro++) {
+            long startedAt = scheduler.nanoTime();
+            scheduler.runUntilIdle();
+
+            assertEquals(PomodoroState.AWAITING_NEXT_POMODORO, session.getCurrentState());
+            assertEquals(pomodoro, session.getPomodoroCount());
+            assertEquals(pomodoro, session.getCyclePomodoroCount());
+            long breakSeconds = pomodoro % 4 == 0 ? 900 : 300;
+            assertEquals(TimeUnit.SECONDS.toNanos(1500 + breakSeconds), scheduler.nanoTime() - startedAt);
+            service.handleUserInput("s", session, timer, ui);
+        }
+        service.handleUserInput("5", session, timer, ui);
+
+        assertEquals(List.of(PomodoroState.POMODORO, PomodoroState.SHORT_BREAK, PomodoroState.POMODORO,
+                PomodoroState.SHORT_BREAK, PomodoroState.POMODORO, PomodoroState.SHORT_BREAK, PomodoroState.POMODORO,
+                PomodoroState.LONG_BREAK), ui.displayedStates.subList(0, 8));
+        assertEquals(ui.displayedStates.subList(0, 8), ui.displayedStates.subList(8, 16));
+        assertEquals(PomodoroState.STOPPED, session.getCurrentState());
+        assertFalse(timer.isRunning());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void aPauseDelaysTheEndOfThePomodoroByItsLength() {
+        service.handleUserInput("2", session, timer, ui);
+        scheduler.advance(1000, TimeUnit.SECONDS);
+        assertEquals(500, session.getRemainingSecondsInTimer());
+
+        service.handleUserInput("4", session, timer, ui);
+        scheduler.advance(2, TimeUnit.HOURS);
+        assertEquals(PomodoroState.POMODORO, session.getCurrentState());
+
+        service.handleUserInput("4", session, timer, ui);
+        scheduler.advance(499, TimeUnit.SECONDS);
+        assertEquals(PomodoroState.POMODORO, session.getCurrentState());
+        assertEquals(1, session.getRemainingSecondsInTimer());
+        scheduler.advance(1, TimeUnit.SECONDS);
+        assertEquals(PomodoroState.SHORT_BREAK, session.getCurrentState());
+        assertEquals(1, session.getPomodoroCount());
+    }
+
+    @Test
+    void aSimulationWithoutTicksOnlyWakesUpOncePerTimer() {
+        timer.setTicksEnabled(false);
+        service.handleUserInput("1", session, timer, ui);
+        long wakeups = 0;
+        for (int pomodoro = 0; pomodoro < 4_000; pomodoro++) {
+            wakeups += scheduler.runUntilIdle();
+            service.handleUserInput("s", session, timer, ui);
+            eventLog.flush(); // El historial se acumula en memoria hasta el volcado
+        }
+
+        assertEquals(8_000, wakeups); // Un vencimiento por Pomodoro y otro por descanso
+        assertEquals(4_000, session.getPomodoroCount());
+        assertEquals(TimeUnit.SECONDS.toNanos(1000L * (4 * 1500 + 3 * 300 + 900)), scheduler.nanoTime());
+        assertEquals(List.of(), ui.displayedStates);
+    }
+
+    @Test
+    void operationsCalledOutsideTheMenuAreTimedToo() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = newService(new PomodoroConfig(1500, 300, 900, 4, scheduler), eventLog, meterRegistry);
+
+        service.deselectCurrentTask(session, timer, ui); // Como la API HTTP, sin pasar por handleUserInput
+        service.handleUserInput("2", session, timer, ui);
+        scheduler.runUntilIdle();
+
+        for (String operation : List.of("deselectCurrentTask", "startSinglePomodoro", "onPomodoroFinished",
+                "startShortBreak", "onBreakFinished")) {
+            assertEquals(1, meterRegistry.get("pomodoro.service.operation").tag("operation", operation).timer().count(),
+                    operation);
+        }
+    }
+
+    static PomodoroService newService(PomodoroConfig config, PomodoroEventLog eventLog) {
+        return newService(config, eventLog, new SimpleMeterRegistry());
+    }
+
+    static PomodoroService newService(PomodoroConfig config, PomodoroEventLog eventLog, SimpleMeterRegistry meterRegistry) {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        TaskSummaryCache taskSummaryCache = new TaskSummaryCache(taskRepository, 1024);
+        ProductivityStatsService statsService = mock(ProductivityStatsService.class);
+        return new PomodoroService(taskRepository, mock(CategoryRepository.class), taskSummaryCache,
+                new PomodoroCreditWriter(taskRepository, mock(TransactionTemplate.class), taskSummaryCache, statsService),
+                eventLog, statsService, meterRegistry, new MetricsReporter(meterRegistry),
+                SessionCheckpoint.disabled(), mock(TaskTransferService.class),
+                mock(TaskSearchIndex.class), DatabaseBootstrap.immediate(), config, 20, 20);
+    }
+
+    /**
+     * Guarda el estado de cada timer dibujado, una vez por timer: el primer tick de cada uno.
+     */
+    private static final class StateRecorder extends QuietConsoleUI {
+        private final List<PomodoroState> displayedStates = new ArrayList<>();
+        private int lastSeconds = Integer.MAX_VALUE;
+
+        @Override
+        public void displayTime(PomodoroState state, int remainingSeconds, String taskName) {
+            if (remainingSeconds > lastSeconds || displayedStates.isEmpty()) {
+                displayedStates.add(state);
+            }
+            lastSeconds = remainingSeconds;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.repository.PomodoroEventRepository;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import com.gustavopeiretti.gppomodoro.timer.VirtualTimeScheduler;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.QuietConsoleUI;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Un millón de ciclos completos (cuatro Pomodoros con sus descansos) por {@link PomodoroService} sobre un reloj
+ * virtual y sin ticks: mide cuántos ciclos por segundo recorre la máquina de estados.
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=PomodoroCycleSimulationThroughputTests
+ */
+@Tag("benchmark")
+class PomodoroCycleSimulationThroughputTests {
+
+    private static final int CYCLES = 1_000_000;
+
+    @Test
+    void simulatesAMillionCyclesOnVirtualTime() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        PomodoroEventLog eventLog = new PomodoroEventLog(mock(PomodoroEventRepository.class),
+                mock(TransactionTemplate.class), 50);
+        PomodoroService service = PomodoroCycleSimulationTests.newService(
+                new PomodoroConfig(1500, 300, 900, 4, scheduler), eventLog);
+        PomodoroSession session = new PomodoroSession();
+        PomodoroTimer timer = new PomodoroTimer(scheduler);
+        timer.setTicksEnabled(false);
+        ConsoleUI ui = new QuietConsoleUI();
+
+        long start = System.nanoTime();
+        service.handleUserInput("1", session, timer, ui);
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            for (int pomodoro = 0; pomodoro < 4; pomodoro++) {
+                scheduler.runUntilIdle();
+                service.handleUserInput("s", session, timer, ui);
+            }
+            if (cycle % 1_000 == 0) {
+                eventLog.flush();
+            }
+        }
+        service.handleUserInput("5", session, timer, ui);
+        long elapsedNanos = System.nanoTime() - start;
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("ciclos=%,d  tiempo real=%.2f s  %,.0f ciclos/s  tiempo virtual=%,d días%n", CYCLES,
+                seconds, CYCLES / seconds, TimeUnit.NANOSECONDS.toDays(scheduler.nanoTime()));
+        assertEquals(4L * CYCLES, session.getPomodoroCount());
+        assertEquals(PomodoroState.STOPPED, session.getCurrentState());
+    }
+}
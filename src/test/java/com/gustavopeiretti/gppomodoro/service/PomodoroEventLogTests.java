@@ -0,0 +1,85 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroEvent;
+import com.gustavopeiretti.gppomodoro.model.PomodoroEventType;
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.repository.PomodoroEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PomodoroEventLogTests {
+
+    private PomodoroEventRepository eventRepository;
+    private PomodoroEventLog eventLog;
+    private final PomodoroSession session = new PomodoroSession();
+    private final List<PomodoroEvent> saved = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        eventRepository = mock(PomodoroEventRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(eventRepository.saveAll(any())).thenAnswer(invocation -> save(invocation.getArgument(0)));
+        eventLog = new PomodoroEventLog(eventRepository, transactionTemplate, 2, 4);
+    }
+
+    @Test
+    void failedBatchIsKeptInOrderAndRetriedOnNextFlush() {
+        record(PomodoroEventType.STARTED, 1500);
+        record(PomodoroEventType.PAUSED, 1200);
+        record(PomodoroEventType.RESUMED, 1200);
+        doThrow(new IllegalStateException("Base no disponible")).when(eventRepository).saveAll(any());
+
+        assertEquals(0, eventLog.flush());
+        assertEquals(3, eventLog.getQueuedCount());
+
+        doAnswer(invocation -> save(invocation.getArgument(0))).when(eventRepository).saveAll(any());
+        assertEquals(3, eventLog.flush());
+        assertEquals(0, eventLog.getQueuedCount());
+        assertEquals(List.of(1500, 1200, 1200), saved.stream().map(PomodoroEvent::getRemainingSeconds).toList());
+        assertEquals(PomodoroEventType.STARTED, saved.get(0).getEventType());
+        assertEquals(PomodoroEventType.RESUMED, saved.get(2).getEventType());
+    }
+
+    @Test
+    void rejectsEventsOnceTheQueueIsFull() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(record(PomodoroEventType.STARTED, 1500));
+        }
+        assertFalse(record(PomodoroEventType.STARTED, 1500));
+        assertEquals(4, eventLog.getQueuedCount());
+        assertEquals(1, eventLog.getRejectedCount());
+
+        assertEquals(4, eventLog.flush());
+        assertTrue(record(PomodoroEventType.STARTED, 1500)); // Al vaciarse vuelve a aceptar
+    }
+
+    private Iterable<PomodoroEvent> save(Iterable<PomodoroEvent> batch) {
+        batch.forEach(saved::add);
+        return batch;
+    }
+
+    private boolean record(PomodoroEventType type, int remainingSeconds) {
+        return eventLog.record(session, type, PomodoroState.STOPPED, PomodoroState.POMODORO, 1500, remainingSeconds);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.CategoryStatsRow;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "pomodoro.console.enabled=false")
+class ProductivityStatsServiceTests {
+
+    private static final String CATEGORY = "Rollups reconstruidos";
+
+    @Autowired
+    private ProductivityStatsService statsService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuiltDailyRollupsAddUpToTheTotals() {
+        Category category = categoryRepository.save(new Category(CATEGORY));
+        Task task = taskRepository.save(new Task("Tarea con historial incompleto", category));
+        // Tres pomodoros acreditados, pero el historial solo tiene uno: los otros dos son anteriores a él
+        jdbcTemplate.update("UPDATE task SET pomodoros_spent = 3, completed = TRUE, "
+                + "completion_date = TIMESTAMP '2020-01-12 18:00:00' WHERE id = ?", task.getId());
+        jdbcTemplate.update("INSERT INTO pomodoro_event (id, user_id, task_id, event_type, from_state, to_state, "
+                + "occurred_at) VALUES (NEXT VALUE FOR pomodoro_event_seq, 'local', ?, 'COMPLETED', 'POMODORO', "
+                + "'SHORT_BREAK', TIMESTAMP '2020-01-10 10:25:00')", task.getId());
+
+        statsService.rebuild();
+
+        assertEquals(new CategoryStatsRow(CATEGORY, 1L, 0L), row(statsService.getDailyStats(LocalDate.of(2020, 1, 10))));
+        // Los pomodoros sin evento quedan en el día en que se completó la tarea
+        assertEquals(new CategoryStatsRow(CATEGORY, 2L, 1L), row(statsService.getDailyStats(LocalDate.of(2020, 1, 12))));
+        assertEquals(new CategoryStatsRow(CATEGORY, 3L, 1L), row(statsService.getTotalStats()));
+    }
+
+    private static CategoryStatsRow row(List<CategoryStatsRow> rows) {
+        return rows.stream().filter(row -> row.categoryName().equals(CATEGORY)).findFirst().orElseThrow();
+    }
+}
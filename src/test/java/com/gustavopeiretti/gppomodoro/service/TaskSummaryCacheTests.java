@@ -0,0 +1,74 @@
+package com.gustavopeiretti.gppomodoro.service;
+
+import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskSummaryCacheTests {
+
+    private TaskRepository taskRepository;
+    private TaskSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        cache = new TaskSummaryCache(taskRepository, 2);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(1L, "Escribir informe")));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(task(2L, "Revisar correos")));
+        when(taskRepository.findById(3L)).thenReturn(Optional.of(task(3L, "Planificar")));
+    }
+
+    @Test
+    void steadyStateTicksDoNotQueryTheRepository() {
+        assertEquals(Optional.of("Escribir informe"), cache.getName(1L));
+        for (int tick = 0; tick < 1500; tick++) { // Un Pomodoro de 25 minutos
+            cache.getName(1L);
+        }
+        verify(taskRepository, times(1)).findById(1L);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1500, cache.getHitCount());
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        cache.getName(1L);
+        cache.invalidate(1L);
+        cache.getName(1L);
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        cache.getName(1L);
+        cache.getName(2L);
+        cache.getName(1L); // 2 pasa a ser la menos usada
+        cache.getName(3L);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.getName(1L);
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void nullIdNeverTouchesTheRepository() {
+        assertTrue(cache.get(null).isEmpty());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    private static Task task(Long id, String name) {
+        Task task = new Task(name, new Category("Inbox"));
+        task.setId(id);
+        return task;
+    }
+}
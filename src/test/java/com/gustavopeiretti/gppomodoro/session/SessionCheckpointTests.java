@@ -0,0 +1,136 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+import com.gustavopeiretti.gppomodoro.timer.PomodoroTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionCheckpointTests {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong wallClock = new AtomicLong(1_000_000);
+    private final PomodoroTimer timer = new PomodoroTimer();
+
+    @AfterEach
+    void tearDown() {
+        timer.stopAndClear();
+    }
+
+    @Test
+    void restoresTheLastSavedSessionAndTimer() {
+        Path file = dir.resolve("session.checkpoint");
+        SessionCheckpoint checkpoint = new SessionCheckpoint(file, wallClock::get);
+        PomodoroSession session = session(PomodoroState.POMODORO, 42L);
+        timer.startPaused(600, null, null);
+
+        checkpoint.save(session, timer);
+
+        SessionCheckpoint.Snapshot snapshot = new SessionCheckpoint(file, wallClock::get).restore().orElseThrow();
+        assertEquals(PomodoroState.POMODORO, snapshot.state());
+        assertEquals(7, snapshot.pomodoroCount());
+        assertEquals(3, snapshot.cyclePomodoroCount());
+        assertEquals(42L, snapshot.currentTaskId());
+        assertTrue(snapshot.timerRunning());
+        assertTrue(snapshot.timerPaused());
+        assertEquals(600, snapshot.remainingSeconds());
+    }
+
+    @Test
+    void runningTimerCountsTheTimeTheProcessWasDown() {
+        SessionCheckpoint.Snapshot running = new SessionCheckpoint.Snapshot(PomodoroState.SHORT_BREAK, 1, 1, null,
+                true, false, 300, 1_000_000);
+        SessionCheckpoint.Snapshot paused = new SessionCheckpoint.Snapshot(PomodoroState.SHORT_BREAK, 1, 1, null,
+                true, true, 300, 1_000_000);
+
+        assertEquals(180, running.remainingSecondsAt(1_000_000 + 120_000));
+        assertEquals(0, running.remainingSecondsAt(1_000_000 + 600_000));
+        assertEquals(300, running.remainingSecondsAt(1_000_000 - 5_000)); // El reloj retrocedió
+        assertEquals(300, paused.remainingSecondsAt(1_000_000 + 120_000));
+    }
+
+    @Test
+    void refreshUpdatesTheRemainingTimeOfARunningTimer() {
+        Path file = dir.resolve("session.checkpoint");
+        SessionCheckpoint checkpoint = new SessionCheckpoint(file, wallClock::get);
+        timer.start(600, null, null);
+        checkpoint.save(session(PomodoroState.POMODORO, null), timer);
+
+        wallClock.addAndGet(5_000);
+        checkpoint.refresh();
+
+        SessionCheckpoint.Snapshot snapshot = new SessionCheckpoint(file, wallClock::get).restore().orElseThrow();
+        assertEquals(wallClock.get(), snapshot.savedAtEpochMillis());
+        assertFalse(snapshot.timerPaused());
+        assertNull(snapshot.currentTaskId());
+    }
+
+    @Test
+    void aTornWriteFallsBackToThePreviousRecord() throws Exception {
+        Path file = dir.resolve("session.checkpoint");
+        SessionCheckpoint checkpoint = new SessionCheckpoint(file, wallClock::get);
+        checkpoint.save(session(PomodoroState.STOPPED, 1L), null);
+        checkpoint.save(session(PomodoroState.AWAITING_NEXT_POMODORO, 2L), null); // Segundo registro
+
+        // Se corrompe el registro más reciente como si el proceso hubiera muerto a mitad de la escritura
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(0 + 16);
+            raf.writeInt(99);
+        }
+
+        SessionCheckpoint.Snapshot snapshot = new SessionCheckpoint(file, wallClock::get).restore().orElseThrow();
+        assertEquals(PomodoroState.STOPPED, snapshot.state());
+        assertEquals(1L, snapshot.currentTaskId());
+    }
+
+    @Test
+    void aWriterThatNeverRestoredContinuesTheSequenceOnDisk() {
+        Path file = dir.resolve("session.checkpoint");
+        SessionCheckpoint previous = new SessionCheckpoint(file, wallClock::get);
+        for (int i = 0; i < 5; i++) {
+            previous.save(session(PomodoroState.STOPPED, 1L), null);
+        }
+
+        // Sin seguir la secuencia, esta escritura (secuencia 1) perdería contra el registro 4 que queda en disco
+        new SessionCheckpoint(file, wallClock::get).save(session(PomodoroState.AWAITING_NEXT_POMODORO, 2L), null);
+
+        SessionCheckpoint.Snapshot snapshot = new SessionCheckpoint(file, wallClock::get).restore().orElseThrow();
+        assertEquals(PomodoroState.AWAITING_NEXT_POMODORO, snapshot.state());
+        assertEquals(2L, snapshot.currentTaskId());
+    }
+
+    @Test
+    void discardAndOtherUsersLeaveNothingToRestore() {
+        Path file = dir.resolve("session.checkpoint");
+        SessionCheckpoint checkpoint = new SessionCheckpoint(file, wallClock::get);
+        checkpoint.save(new PomodoroSession("user-1"), null);
+        assertTrue(checkpoint.restore().isEmpty());
+
+        checkpoint.save(session(PomodoroState.STOPPED, null), null);
+        checkpoint.discard();
+
+        assertTrue(new SessionCheckpoint(file, wallClock::get).restore().isEmpty());
+        assertTrue(SessionCheckpoint.disabled().restore().isEmpty());
+    }
+
+    private static PomodoroSession session(PomodoroState state, Long taskId) {
+        PomodoroSession session = new PomodoroSession();
+        session.setCurrentState(state);
+        session.setPomodoroCount(7);
+        session.setCyclePomodoroCount(3);
+        session.setCurrentTaskId(taskId);
+        return session;
+    }
+}
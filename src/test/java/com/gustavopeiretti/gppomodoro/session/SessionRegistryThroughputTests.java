@@ -0,0 +1,119 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import com.gustavopeiretti.gppomodoro.config.DatabaseBootstrap;
+import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.metrics.MetricsReporter;
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import com.gustavopeiretti.gppomodoro.repository.PomodoroEventRepository;
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import com.gustavopeiretti.gppomodoro.service.PomodoroCreditWriter;
+import com.gustavopeiretti.gppomodoro.service.PomodoroEventLog;
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.service.ProductivityStatsService;
+import com.gustavopeiretti.gppomodoro.service.TaskSummaryCache;
+import com.gustavopeiretti.gppomodoro.transfer.TaskTransferService;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.QuietConsoleUI;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Throughput de operaciones start/pause/finish concurrentes sobre decenas de miles de sesiones.
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=SessionRegistryThroughputTests
+ */
+@Tag("benchmark")
+class SessionRegistryThroughputTests {
+
+    private static final int SESSIONS = 20_000;
+    private static final long DURATION_MILLIS = 3_000;
+
+    private SessionRegistry registry;
+    private PomodoroService service;
+    private final ConsoleUI ui = new QuietConsoleUI();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionRegistry(30, 0, ThreadingMode.PLATFORM, 8);
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        TaskSummaryCache taskSummaryCache = new TaskSummaryCache(taskRepository, 1024);
+        ProductivityStatsService statsService = mock(ProductivityStatsService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new PomodoroService(taskRepository, mock(CategoryRepository.class), taskSummaryCache,
+                new PomodoroCreditWriter(taskRepository, mock(TransactionTemplate.class), taskSummaryCache, statsService),
+                new PomodoroEventLog(mock(PomodoroEventRepository.class), mock(TransactionTemplate.class), 50),
+                statsService, meterRegistry, new MetricsReporter(meterRegistry),
+                SessionCheckpoint.disabled(), mock(TaskTransferService.class),
+                mock(TaskSearchIndex.class), DatabaseBootstrap.immediate(), PomodoroConfig.defaults(), 20, 20);
+        for (int i = 0; i < SESSIONS; i++) {
+            registry.getOrCreate(userId(i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void concurrentStartPauseFinishScalesAcrossCores() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>(List.of(1, 2, 4));
+        if (cores > 4) {
+            threadCounts.add(cores);
+        }
+        System.out.printf("sesiones=%d nucleos=%d%n", SESSIONS, cores);
+        for (int threads : threadCounts) {
+            long ops = run(threads);
+            System.out.printf("hilos=%2d  %,12.0f ops/s%n", threads, ops * 1000.0 / DURATION_MILLIS);
+            assertTrue(ops > 0);
+        }
+        assertEquals(SESSIONS, registry.size());
+    }
+
+    private long run(int threads) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long endAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < endAt) {
+                    String userId = userId(random.nextInt(SESSIONS));
+                    int op = random.nextInt(3);
+                    registry.execute(userId, userSession -> {
+                        switch (op) {
+                            case 0 -> service.startSinglePomodoro(userSession.getSession(), userSession.getTimer(), ui);
+                            case 1 -> service.togglePause(userSession.getSession(), userSession.getTimer(), ui);
+                            default -> service.finishCurrentTimerAndCycle(userSession.getSession(), userSession.getTimer(), ui);
+                        }
+                    });
+                    ops.increment();
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        assertTrue(done.await(DURATION_MILLIS + 30_000, TimeUnit.MILLISECONDS));
+        return ops.sum();
+    }
+
+    private static String userId(int index) {
+        return "user-" + index;
+    }
+}
@@ -0,0 +1,66 @@
+package com.gustavopeiretti.gppomodoro.session;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Miles de sesiones que terminan un Pomodoro en el mismo segundo y hacen trabajo bloqueante al terminar,
+ * en modo de hilos de plataforma y de hilos virtuales. Verifica que todas terminen en cada modo e imprime cuánto
+ * tardó cada uno en vaciarlas.
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=ThreadingModeBenchmarkTests
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmarkTests {
+
+    private static final int SESSIONS = 2_000;
+    // Simula el round trip de JDBC que hace el callback de fin (guardar el crédito, el historial, etc.)
+    private static final long BLOCKING_MILLIS = 10;
+    private static final int PLATFORM_POOL_SIZE = 8;
+
+    @Test
+    void bothModesDrainSimultaneousFinishes() throws InterruptedException {
+        System.out.printf("sesiones=%d bloqueo=%d ms pool plataforma=%d%n", SESSIONS, BLOCKING_MILLIS, PLATFORM_POOL_SIZE);
+        long platformMillis = run(ThreadingMode.PLATFORM);
+        long virtualMillis = run(ThreadingMode.VIRTUAL);
+        // Solo se informa la comparación: los tiempos dependen de la carga de la máquina y no se afirman
+        System.out.printf("virtual/platform=%.2f%n", (double) virtualMillis / Math.max(1, platformMillis));
+    }
+
+    private long run(ThreadingMode mode) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        SessionRegistry registry = new SessionRegistry(30, 0, mode, PLATFORM_POOL_SIZE);
+        CountDownLatch finished = new CountDownLatch(SESSIONS);
+        try {
+            threads.resetPeakThreadCount();
+            for (int i = 0; i < SESSIONS; i++) {
+                registry.execute("user-" + i, userSession -> userSession.getTimer().start(1, null, () -> {
+                    sleepUninterruptibly(BLOCKING_MILLIS);
+                    finished.countDown();
+                }));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            assertTrue(finished.await(120, TimeUnit.SECONDS));
+            long drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - deadline);
+            System.out.printf("%-8s  todas terminadas %,6d ms después del vencimiento  pico de hilos de plataforma=%d%n",
+                    mode, drainMillis, threads.getPeakThreadCount());
+            return drainMillis;
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
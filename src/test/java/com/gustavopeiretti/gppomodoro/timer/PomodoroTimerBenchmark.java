@@ -0,0 +1,61 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del camino del tick de {@link PomodoroTimer} (cálculo del restante, callback y reprogramación en la rueda)
+ * y de arrancar/detener un timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PomodoroTimerBenchmark {
+
+    private TimingWheel wheel;
+    private PomodoroTimer tickingTimer;
+    private PomodoroTimer startStopTimer;
+    private volatile int lastTick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wheel = new TimingWheel(TimingWheel.DEFAULT_TICK_MILLIS, 1);
+        tickingTimer = new PomodoroTimer(wheel);
+        // Duración enorme: el benchmark nunca llega al vencimiento
+        tickingTimer.start(Integer.MAX_VALUE / 2, remaining -> lastTick = remaining, () -> { });
+        startStopTimer = new PomodoroTimer(wheel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tickingTimer.stopAndClear();
+        wheel.stop();
+    }
+
+    @Benchmark
+    public int tickWithCallback() {
+        tickingTimer.wakeupNow();
+        return lastTick;
+    }
+
+    @Benchmark
+    public void startAndStop() {
+        startStopTimer.start(25 * 60, remaining -> lastTick = remaining, () -> { });
+        startStopTimer.stopAndClear();
+    }
+}
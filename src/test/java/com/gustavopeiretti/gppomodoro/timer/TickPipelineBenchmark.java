@@ -0,0 +1,102 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import com.gustavopeiretti.gppomodoro.config.DatabaseBootstrap;
+import com.gustavopeiretti.gppomodoro.config.PomodoroConfig;
+import com.gustavopeiretti.gppomodoro.metrics.MetricsReporter;
+import com.gustavopeiretti.gppomodoro.model.Category;
+import com.gustavopeiretti.gppomodoro.model.PomodoroSession;
+import com.gustavopeiretti.gppomodoro.model.Task;
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import com.gustavopeiretti.gppomodoro.repository.PomodoroEventRepository;
+import com.gustavopeiretti.gppomodoro.repository.TaskRepository;
+import com.gustavopeiretti.gppomodoro.search.TaskSearchIndex;
+import com.gustavopeiretti.gppomodoro.service.PomodoroCreditWriter;
+import com.gustavopeiretti.gppomodoro.service.PomodoroEventLog;
+import com.gustavopeiretti.gppomodoro.service.PomodoroService;
+import com.gustavopeiretti.gppomodoro.service.ProductivityStatsService;
+import com.gustavopeiretti.gppomodoro.service.TaskSummaryCache;
+import com.gustavopeiretti.gppomodoro.transfer.TaskTransferService;
+import com.gustavopeiretti.gppomodoro.session.SessionCheckpoint;
+import com.gustavopeiretti.gppomodoro.ui.ConsoleUI;
+import com.gustavopeiretti.gppomodoro.ui.TerminalRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Un tick en régimen de punta a punta: {@link PomodoroTimer} → callback de {@link PomodoroService} →
+ * {@link PomodoroSession#setRemainingSecondsInTimer} → {@link ConsoleUI#displayTime} → renderer.
+ * Con {@code -prof gc} (activo por defecto en -Pjmh) {@code gc.alloc.rate.norm} debe dar 0 B/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TickPipelineBenchmark {
+
+    private TimingWheel wheel;
+    private PomodoroTimer timer;
+    private PomodoroSession session;
+    private int remainingSeconds = 25 * 60;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        Task task = new Task("Escribir informe trimestral", new Category("Inbox"));
+        task.setId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        TaskSummaryCache cache = new TaskSummaryCache(taskRepository, 16);
+        ProductivityStatsService statsService = mock(ProductivityStatsService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PomodoroService service = new PomodoroService(taskRepository, mock(CategoryRepository.class), cache,
+                new PomodoroCreditWriter(taskRepository, mock(TransactionTemplate.class), cache, statsService),
+                new PomodoroEventLog(mock(PomodoroEventRepository.class), mock(TransactionTemplate.class), 50),
+                statsService, meterRegistry, new MetricsReporter(meterRegistry),
+                SessionCheckpoint.disabled(), mock(TaskTransferService.class),
+                mock(TaskSearchIndex.class), DatabaseBootstrap.immediate(), PomodoroConfig.defaults(), 20, 20);
+        // Sin límite de frecuencia: cada tick compone el frame, calcula el diff y lo escribe
+        ConsoleUI ui = new ConsoleUI(new TerminalRenderer(Channels.newChannel(OutputStream.nullOutputStream()),
+                StandardCharsets.UTF_8, 0));
+
+        wheel = new TimingWheel(TimingWheel.DEFAULT_TICK_MILLIS, 1);
+        timer = new PomodoroTimer(wheel);
+        session = new PomodoroSession();
+        session.setCurrentTaskId(1L);
+        service.startSinglePomodoro(session, timer, ui);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.stopAndClear();
+        wheel.stop();
+    }
+
+    @Benchmark
+    public int tick() {
+        remainingSeconds = remainingSeconds == 1 ? 25 * 60 : remainingSeconds - 1;
+        timer.deliverTickNow(remainingSeconds);
+        return session.getRemainingSecondsInTimer();
+    }
+}
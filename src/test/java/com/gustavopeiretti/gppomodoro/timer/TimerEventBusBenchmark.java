@@ -0,0 +1,82 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TimerEventBus}: latencia de publicar un evento (lo que el bus le agrega al hilo del timer) y throughput
+ * de punta a punta hasta que el consumidor procesó todo lo publicado, con cada política de contrapresión.
+ * Publicar no debe asignar memoria: {@code gc.alloc.rate.norm} debe dar 0 B/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimerEventBusBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"DROP", "BLOCK"})
+    private TimerEventBus.BackPressure backPressure;
+
+    private TimerEventBus bus;
+    private TimerEventBus.Consumer consumer;
+    private volatile int lastSeen;
+    private int remainingSeconds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bus = new TimerEventBus(BATCH);
+        consumer = bus.addConsumer("benchmark", backPressure,
+                (event, sequence, endOfBatch) -> lastSeen = event.getRemainingSeconds());
+        bus.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.close();
+    }
+
+    /**
+     * Costo de una publicación para el productor; con BLOCK incluye las esperas si el consumidor queda una vuelta
+     * atrás, que a este ritmo (muy lejos de un evento por segundo) sí ocurren.
+     */
+    @Benchmark
+    public void publish() {
+        bus.publish(TimerEventType.TICK, remainingSeconds++ & 0xFFFF);
+    }
+
+    /**
+     * Eventos por segundo procesados por el consumidor: publica una vuelta del anillo y espera a que la consuma.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public int consumeBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            bus.publish(TimerEventType.TICK, i);
+        }
+        long published = bus.getCursor();
+        while (consumer.getSequence() < published) {
+            Thread.onSpinWait();
+        }
+        return lastSeen;
+    }
+}
@@ -0,0 +1,154 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerEventBusTests {
+
+    private final List<TimerEventBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(TimerEventBus::close);
+    }
+
+    @Test
+    void aBlockingConsumerSeesEveryEventInOrderAndHoldsBackTheProducer() throws Exception {
+        TimerEventBus bus = bus(4);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        TimerEventBus.Consumer consumer = bus.addConsumer("persistence", TimerEventBus.BackPressure.BLOCK,
+                (event, sequence, endOfBatch) -> {
+                    awaitQuietly(release);
+                    seen.add(event.getRemainingSeconds());
+                });
+        bus.start();
+
+        Thread producer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 100; i++) {
+                bus.publish(TimerEventType.TICK, i);
+            }
+        });
+        Thread.sleep(100);
+        assertEquals(3, bus.getCursor()); // Una vuelta del anillo por delante del consumidor trabado, y ni una más
+
+        release.countDown();
+        producer.join(5_000);
+        awaitSequence(consumer, 99);
+        assertEquals(IntStream.range(0, 100).boxed().toList(), seen);
+        assertTrue(bus.getProducerWaits() > 0);
+        assertEquals(0, consumer.getDroppedCount());
+    }
+
+    @Test
+    void aDroppingConsumerNeverHoldsBackTheProducerAndSkipsToTheLatestEvents() throws Exception {
+        TimerEventBus bus = bus(4);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        TimerEventBus.Consumer consumer = bus.addConsumer("metrics", TimerEventBus.BackPressure.DROP,
+                (event, sequence, endOfBatch) -> {
+                    awaitQuietly(release);
+                    seen.add(sequence);
+                });
+        bus.start();
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(TimerEventType.TICK, i);
+        }
+        assertEquals(99, bus.getCursor());
+        assertEquals(0, bus.getProducerWaits());
+
+        release.countDown();
+        awaitSequence(consumer, 99);
+        assertEquals(99L, seen.get(seen.size() - 1));
+        assertTrue(consumer.getDroppedCount() > 0);
+        assertEquals(100, seen.size() + consumer.getDroppedCount()); // Cada evento se procesó o se contó como perdido
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i) > seen.get(i - 1));
+        }
+    }
+
+    @Test
+    void theTimerPublishesItsTransitions() throws Exception {
+        TimingWheel wheel = new TimingWheel(TimingWheel.DEFAULT_TICK_MILLIS, 1);
+        PomodoroTimer timer = new PomodoroTimer(wheel);
+        TimerEventBus bus = bus(16);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        TimerEventBus.Consumer consumer = bus.addConsumer("log", TimerEventBus.BackPressure.DROP,
+                (event, sequence, endOfBatch) -> seen.add(event.getType() + " " + event.getRemainingSeconds()));
+        bus.start();
+        timer.setEventBus(bus);
+        try {
+            timer.start(600, null, null);
+            timer.pause();
+            timer.resume();
+            timer.stopAndClear();
+            timer.stopAndClear(); // Ya detenido: no publica nada
+        } finally {
+            wheel.stop();
+        }
+
+        awaitSequence(consumer, 3);
+        assertEquals(List.of("STARTED 600", "PAUSED 600", "RESUMED 600", "STOPPED 600"), seen);
+    }
+
+    @Test
+    void theTimerOnlyTakesStartedBusesWithoutBlockingConsumers() {
+        PomodoroTimer timer = new PomodoroTimer(new VirtualTimeScheduler());
+        TimerEventBus notStarted = bus(8);
+        notStarted.addConsumer("metrics", TimerEventBus.BackPressure.DROP, (event, sequence, endOfBatch) -> { });
+        assertThrows(IllegalArgumentException.class, () -> timer.setEventBus(notStarted));
+
+        TimerEventBus blocking = bus(8);
+        blocking.addConsumer("persistence", TimerEventBus.BackPressure.BLOCK, (event, sequence, endOfBatch) -> { });
+        blocking.start();
+        // Un consumidor BLOCK trabado dejaría al timer esperando con su lock tomado
+        assertThrows(IllegalArgumentException.class, () -> timer.setEventBus(blocking));
+
+        notStarted.start();
+        timer.setEventBus(notStarted);
+    }
+
+    @Test
+    void consumersAreAddedBeforeStartAndTheCapacityIsAPowerOfTwo() {
+        TimerEventBus bus = bus(8);
+        bus.start();
+        assertThrows(IllegalStateException.class,
+                () -> bus.addConsumer("late", TimerEventBus.BackPressure.DROP, (event, sequence, endOfBatch) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new TimerEventBus(12));
+        assertThrows(IllegalArgumentException.class, () -> new TimerEventBus(1));
+    }
+
+    private TimerEventBus bus(int capacity) {
+        TimerEventBus bus = new TimerEventBus(capacity);
+        buses.add(bus);
+        return bus;
+    }
+
+    private static void awaitSequence(TimerEventBus.Consumer consumer, long sequence) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (consumer.getSequence() < sequence && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(sequence, consumer.getSequence());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
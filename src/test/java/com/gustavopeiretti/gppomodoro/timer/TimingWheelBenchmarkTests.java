@@ -0,0 +1,112 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de 100k {@link PomodoroTimer} concurrentes sobre una única {@link TimingWheel}.
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=TimingWheelBenchmarkTests
+ */
+@Tag("benchmark")
+class TimingWheelBenchmarkTests {
+
+    private static final int TIMERS = 100_000;
+    private static final int DURATION_SECONDS = 3;
+
+    private TimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel(TimingWheel.DEFAULT_TICK_MILLIS, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void hundredThousandConcurrentTimers() throws InterruptedException {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        CountDownLatch finished = new CountDownLatch(TIMERS);
+        AtomicLong ticks = new AtomicLong();
+        // Por timer: último segundo entregado, para detectar ticks repetidos, y cuántas veces venció
+        AtomicIntegerArray lastTick = new AtomicIntegerArray(TIMERS);
+        AtomicIntegerArray finishes = new AtomicIntegerArray(TIMERS);
+        AtomicLong repeatedTicks = new AtomicLong();
+        long[] finishLatenessNanos = new long[TIMERS];
+        PomodoroTimer[] timers = new PomodoroTimer[TIMERS];
+
+        long scheduleStart = System.nanoTime();
+        for (int i = 0; i < TIMERS; i++) {
+            int index = i;
+            long expectedFinish = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+            lastTick.set(i, Integer.MAX_VALUE);
+            timers[i] = new PomodoroTimer(wheel);
+            timers[i].start(DURATION_SECONDS,
+                    remaining -> {
+                        ticks.incrementAndGet();
+                        if (lastTick.getAndSet(index, remaining) <= remaining) {
+                            repeatedTicks.incrementAndGet();
+                        }
+                    },
+                    () -> {
+                        finishLatenessNanos[index] = System.nanoTime() - expectedFinish;
+                        finishes.incrementAndGet(index);
+                        finished.countDown();
+                    });
+        }
+        long scheduleNanos = System.nanoTime() - scheduleStart;
+        int threadsDuring = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        assertTrue(finished.await(DURATION_SECONDS + 30, TimeUnit.SECONDS), "No terminaron todos los timers");
+
+        // Cancelación: arrancar y detener otra tanda no debe dejar timeouts vivos
+        long cancelStart = System.nanoTime();
+        for (PomodoroTimer timer : timers) {
+            timer.start(DURATION_SECONDS, null, null);
+            timer.stopAndClear();
+        }
+        long cancelNanos = System.nanoTime() - cancelStart;
+        assertEquals(0, wheel.getActiveCount());
+
+        Arrays.sort(finishLatenessNanos);
+        System.out.printf("timers=%d%n", TIMERS);
+        System.out.printf("start: %.1f ns/timer%n", (double) scheduleNanos / TIMERS);
+        System.out.printf("start+stop: %.1f ns/timer%n", (double) cancelNanos / TIMERS);
+        System.out.printf("ticks entregados: %d (esperados %d)%n", ticks.get(), (long) TIMERS * DURATION_SECONDS);
+        System.out.printf("hilos: antes=%d durante=%d%n", threadsBefore, threadsDuring);
+        System.out.printf("retraso fin p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                percentileMillis(finishLatenessNanos, 0.50),
+                percentileMillis(finishLatenessNanos, 0.99),
+                percentileMillis(finishLatenessNanos, 1.0));
+
+        // Un despertar que llega más de un segundo tarde saltea ese segundo: en una máquina cargada puede haber menos
+        // ticks que los esperados, pero nunca repetidos ni más de uno por segundo
+        assertEquals(0, repeatedTicks.get());
+        assertTrue(ticks.get() >= TIMERS && ticks.get() <= (long) TIMERS * DURATION_SECONDS,
+                "Ticks fuera de rango: " + ticks.get());
+        for (int i = 0; i < TIMERS; i++) {
+            assertEquals(1, finishes.get(i), "El timer " + i + " no venció exactamente una vez");
+        }
+        // La rueda usa un hilo conductor más su pool de trabajo, sin importar la cantidad de timers
+        assertTrue(threadsDuring - threadsBefore <= 5, "Se crearon demasiados hilos: " + (threadsDuring - threadsBefore));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
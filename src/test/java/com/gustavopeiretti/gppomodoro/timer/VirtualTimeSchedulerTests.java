@@ -0,0 +1,105 @@
+package com.gustavopeiretti.gppomodoro.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualTimeSchedulerTests {
+
+    @Test
+    void tasksRunInDeadlineOrderOnlyWhenTheClockReachesThem() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        List<String> ran = new ArrayList<>();
+        scheduler.schedule(() -> ran.add("b"), 2, TimeUnit.SECONDS);
+        scheduler.schedule(() -> ran.add("a"), 1, TimeUnit.SECONDS);
+        scheduler.schedule(() -> ran.add("c"), 2, TimeUnit.SECONDS); // Mismo vencimiento que "b": va después
+        TimerScheduler.Scheduled cancelled = scheduler.schedule(() -> ran.add("x"), 1, TimeUnit.SECONDS);
+        assertTrue(cancelled.cancel());
+
+        assertEquals(0, scheduler.advance(999, TimeUnit.MILLISECONDS));
+        assertEquals(1, scheduler.advance(1, TimeUnit.MILLISECONDS));
+        assertEquals(List.of("a"), ran);
+        assertEquals(2, scheduler.getPendingCount());
+
+        assertEquals(2, scheduler.runUntilIdle());
+        assertEquals(List.of("a", "b", "c"), ran);
+        assertEquals(TimeUnit.SECONDS.toNanos(2), scheduler.nanoTime());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void aTaskCanRescheduleItselfWithinTheSameAdvance() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        List<Long> runs = new ArrayList<>();
+        TimerScheduler.Scheduled[] self = new TimerScheduler.Scheduled[1];
+        self[0] = scheduler.schedule(() -> {
+            runs.add(scheduler.nanoTime());
+            if (runs.size() < 3) {
+                assertTrue(self[0].reschedule(1, TimeUnit.SECONDS));
+            }
+        }, 1, TimeUnit.SECONDS);
+        assertFalse(self[0].reschedule(1, TimeUnit.SECONDS)); // Sigue pendiente
+
+        assertEquals(3, scheduler.advance(10, TimeUnit.SECONDS));
+        assertEquals(List.of(TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(2), TimeUnit.SECONDS.toNanos(3)), runs);
+        assertEquals(TimeUnit.SECONDS.toNanos(10), scheduler.nanoTime());
+    }
+
+    @Test
+    void aTimerRunsAWholePomodoroOnVirtualTime() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        PomodoroTimer timer = new PomodoroTimer(scheduler);
+        List<Integer> ticks = new ArrayList<>();
+        int[] finished = {0};
+        timer.start(1500, ticks::add, () -> finished[0]++);
+
+        scheduler.advance(600, TimeUnit.SECONDS);
+        assertEquals(900, timer.getRemainingSeconds());
+        timer.pause();
+        scheduler.advance(1, TimeUnit.HOURS); // En pausa no pasa nada
+        assertEquals(900, timer.getRemainingSeconds());
+        timer.resume();
+        scheduler.runUntilIdle();
+
+        assertEquals(1, finished[0]);
+        assertFalse(timer.isRunning());
+        assertEquals(1500, ticks.size());
+        assertEquals(1500, ticks.get(0));
+        assertEquals(1, ticks.get(ticks.size() - 1));
+        assertEquals(TimeUnit.SECONDS.toNanos(1500 + 3600), scheduler.nanoTime());
+    }
+
+    @Test
+    void withoutTicksATimerOnlyWakesUpWhenItExpires() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        PomodoroTimer timer = new PomodoroTimer(scheduler);
+        timer.setTicksEnabled(false);
+        int[] ticks = {0};
+        int[] finished = {0};
+        timer.start(1500, seconds -> ticks[0]++, () -> finished[0]++);
+
+        assertEquals(1, scheduler.runUntilIdle());
+        assertEquals(0, ticks[0]);
+        assertEquals(1, finished[0]);
+    }
+
+    @Test
+    void acceleratedClockRunsOnItsOwn() throws InterruptedException {
+        try (VirtualTimeScheduler scheduler = VirtualTimeScheduler.accelerated(1000)) {
+            CountDownLatch done = new CountDownLatch(1);
+            long start = System.nanoTime();
+            scheduler.schedule(done::countDown, 60, TimeUnit.SECONDS);
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)); // Un minuto virtual en unos 60 ms
+            assertTrue(scheduler.nanoTime() >= TimeUnit.SECONDS.toNanos(60));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskRecordFormatsTests {
+
+    @TempDir
+    Path dir;
+
+    private final List<TaskRecord> tasks = List.of(
+            new TaskRecord("Escribir informe", "Secciones: intro, \"datos\"\ny cierre", "Trabajo",
+                    LocalDateTime.of(2025, 3, 1, 9, 30), LocalDateTime.of(2025, 3, 2, 18, 0), true, 4),
+            new TaskRecord("Revisar correos", null, null, LocalDateTime.of(2025, 3, 3, 8, 0), null, false, 0));
+
+    @Test
+    void csvRoundTripKeepsQuotesCommasAndNewlines() throws Exception {
+        assertEquals(tasks, roundTrip(dir.resolve("tareas.csv")));
+    }
+
+    @Test
+    void jsonLinesRoundTripWritesOneObjectPerLine() throws Exception {
+        Path file = dir.resolve("tareas.jsonl");
+        assertEquals(tasks, roundTrip(file));
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void csvColumnsAreMatchedByHeaderName() throws Exception {
+        String csv = "pomodoros_spent,name,completed\r\n3,Planificar,1\r\n\r\n,\"Llamar, cliente\",\r\n";
+        try (TaskRecordReader reader = new CsvTaskRecordReader(new StringReader(csv))) {
+            TaskRecord first = reader.next();
+            assertEquals("Planificar", first.name());
+            assertEquals(3, first.pomodorosSpent());
+            assertEquals(true, first.completed());
+            TaskRecord second = reader.next();
+            assertEquals("Llamar, cliente", second.name());
+            assertEquals(4, reader.getLineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void invalidRowsAreReportedAndReadingContinues() throws Exception {
+        String jsonl = "{\"name\":\"\"}\n{\"name\":\"Ok\",\"extra\":{\"a\":[1,2]}}\n";
+        try (TaskRecordReader reader = new JsonLinesTaskRecordReader(new StringReader(jsonl))) {
+            assertThrows(IllegalArgumentException.class, reader::next);
+            assertEquals("Ok", reader.next().name());
+            assertNull(reader.next());
+        }
+        assertThrows(IllegalArgumentException.class, () -> TransferFormat.fromPath(Path.of("tareas.xlsx")));
+    }
+
+    @Test
+    void aBadValueOrMalformedJsonOnlySkipsItsOwnLine() throws Exception {
+        String jsonl = "{\"name\":\"A\",\"pomodoros_spent\":\"x\",\"category\":\"Trabajo\"}\n"
+                + "{\"name\":\"B\",\"completed\":tru}\n"
+                + "{\"name\":\"C\"} {\"name\":\"D\"}\n"
+                + "{\"name\":\"E\",\"pomodoros_spent\":2}\n";
+        try (TaskRecordReader reader = new JsonLinesTaskRecordReader(new StringReader(jsonl))) {
+            for (int line = 1; line <= 3; line++) {
+                assertThrows(IllegalArgumentException.class, reader::next);
+                assertEquals(line, reader.getLineNumber());
+            }
+            TaskRecord last = reader.next();
+            assertEquals("E", last.name());
+            assertEquals(2, last.pomodorosSpent());
+            assertEquals(4, reader.getLineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    private List<TaskRecord> roundTrip(Path file) throws Exception {
+        TransferFormat format = TransferFormat.fromPath(file);
+        try (TaskRecordWriter writer = format.openWriter(file)) {
+            for (TaskRecord task : tasks) {
+                writer.write(task);
+            }
+        }
+        List<TaskRecord> read = new ArrayList<>();
+        try (TaskRecordReader reader = format.openReader(file)) {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                read.add(task);
+            }
+        }
+        return read;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gustavopeiretti.gppomodoro.transfer;
+
+import com.gustavopeiretti.gppomodoro.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lotes de 2 para que cada prueba cruce varios lotes con pocas filas.
+ */
+@SpringBootTest(properties = {"pomodoro.console.enabled=false", "pomodoro.transfer.batch-size=2"})
+class TaskTransferServiceTests {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private TaskTransferService transferService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importInsertsEveryBatchAndSkipsInvalidRows() throws Exception {
+        Path file = dir.resolve("tareas.jsonl");
+        Files.writeString(file, """
+                {"name":"Importada 1","category":"Importación por lotes"}
+                {"name":"Importada 2","category":"Importación por lotes","pomodoros_spent":"x"}
+                {"name":"Importada 3","category":"Importación por lotes","completed":true}
+                {"name":"Importada 4"
+                {"name":"Importada 5","category":"Importación por lotes","pomodoros_spent":3}
+                {"name":"Importada 6","category":"Importación por lotes"}
+                {"name":"Importada 7","category":"Importación por lotes"}
+                """);
+
+        TaskTransferService.ImportResult result = transferService.importTasks(file);
+
+        assertEquals(new TaskTransferService.ImportResult(5, 2), result);
+        assertEquals(List.of("Importada 1", "Importada 3", "Importada 5", "Importada 6", "Importada 7"),
+                jdbcTemplate.queryForList("SELECT t.name FROM task t JOIN category c ON c.id = t.category_id "
+                        + "WHERE c.name = 'Importación por lotes' ORDER BY t.id", String.class));
+    }
+
+    @Test
+    void missingCategoriesAreCreatedOnceAndBlankOnesGoToTheInbox() throws Exception {
+        Path file = dir.resolve("tareas.csv");
+        try (TaskRecordWriter writer = TransferFormat.CSV.openWriter(file)) {
+            writer.write(new TaskRecord("Con categoría nueva", null, "Categoría importada", null, null, false, 0));
+            writer.write(new TaskRecord("Sin categoría", null, " ", null, null, false, 0));
+            writer.write(new TaskRecord("Otra en la nueva", null, "Categoría importada", null, null, false, 0));
+        }
+
+        transferService.importTasks(file);
+
+        assertTrue(categoryRepository.findByName("Categoría importada").isPresent());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM category WHERE name = 'Categoría importada'", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task t JOIN category c "
+                + "ON c.id = t.category_id WHERE c.name = 'Categoría importada'", Integer.class));
+        assertEquals("Inbox", jdbcTemplate.queryForObject("SELECT c.name FROM task t JOIN category c "
+                + "ON c.id = t.category_id WHERE t.name = 'Sin categoría'", String.class));
+    }
+
+    @Test
+    void exportWalksEveryPageInIdOrder() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO task (name, creation_date, category_id, completed, pomodoros_spent) "
+                    + "SELECT ?, CURRENT_TIMESTAMP, id, FALSE, ? FROM category WHERE name = 'Inbox'", "Exportada " + i, i);
+        }
+        List<String> expected = jdbcTemplate.queryForList("SELECT name FROM task ORDER BY id", String.class);
+        Path file = dir.resolve("exportadas.jsonl");
+
+        long exported = transferService.exportTasks(file);
+
+        List<String> names = new ArrayList<>();
+        try (TaskRecordReader reader = TransferFormat.JSON_LINES.openReader(file)) {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                names.add(task.name());
+            }
+        }
+        assertEquals(expected.size(), exported);
+        assertEquals(expected, names);
+    }
+}
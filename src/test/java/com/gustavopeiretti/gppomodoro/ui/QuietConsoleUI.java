@@ -0,0 +1,29 @@
+package com.gustavopeiretti.gppomodoro.ui;
+
+import com.gustavopeiretti.gppomodoro.model.PomodoroState;
+
+/**
+ * ConsoleUI que descarta toda la salida, para pruebas de carga donde imprimir en consola distorsiona las mediciones.
+ */
+public class QuietConsoleUI extends ConsoleUI {
+
+    @Override
+    public void displayTime(PomodoroState state, int remainingSeconds, String taskName) {
+    }
+
+    @Override
+    public void showMessage(String message) {
+    }
+
+    @Override
+    public void showInlineMessage(String message) {
+    }
+
+    @Override
+    public void clearLine() {
+    }
+
+    @Override
+    public void newLine() {
+    }
+}
@@ -0,0 +1,104 @@
+package com.gustavopeiretti.gppomodoro.ui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TerminalRendererTests {
+
+    private ByteArrayOutputStream output;
+    private TerminalRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        output = new ByteArrayOutputStream();
+        renderer = new TerminalRenderer(Channels.newChannel(output), StandardCharsets.UTF_8, 0);
+    }
+
+    @Test
+    void firstFrameRewritesTheWholeLine() {
+        render("Tiempo restante (POMODORO): 25:00 ");
+
+        assertEquals("\rTiempo restante (POMODORO): 25:00 ", written());
+    }
+
+    @Test
+    void nextFramesOnlyWriteTheCharactersThatChanged() {
+        render("Tiempo restante (POMODORO): 25:00 ");
+        output.reset();
+
+        render("Tiempo restante (POMODORO): 24:59 ");
+
+        assertEquals("\b\b\b\b\b4:59 ", written());
+    }
+
+    @Test
+    void identicalFramesWriteNothing() {
+        render("Tiempo restante (POMODORO): 24:59 ");
+        output.reset();
+
+        render("Tiempo restante (POMODORO): 24:59 ");
+
+        assertEquals("", written());
+    }
+
+    @Test
+    void shorterFramesBlankTheLeftoverCharacters() {
+        render("Tiempo restante (LONG BREAK): 15:00 ");
+        output.reset();
+
+        render("Tiempo restante (POMODORO): 25:00 ");
+
+        // Retrocede hasta "Tiempo restante (", reescribe el resto y tapa los dos caracteres que sobran
+        assertEquals("\b".repeat(19) + "POMODORO): 25:00 " + "  \b\b", written());
+    }
+
+    @Test
+    void textWrittenInBetweenForcesAFullFrame() {
+        render("Tiempo restante (POMODORO): 25:00 ");
+        renderer.println("Temporizador pausado.");
+        renderer.flush();
+        output.reset();
+
+        render("Tiempo restante (POMODORO): 24:59 ");
+
+        assertEquals("\rTiempo restante (POMODORO): 24:59 ", written());
+    }
+
+    @Test
+    void framesFasterThanTheRenderIntervalAreDropped() {
+        renderer = new TerminalRenderer(Channels.newChannel(output), StandardCharsets.UTF_8, 60_000);
+        render("Tiempo restante (POMODORO): 25:00 ");
+
+        assertNull(renderer.beginFrame());
+    }
+
+    @Test
+    void clearStatusBlanksExactlyTheShownFrame() {
+        render("25:00 ");
+        output.reset();
+
+        renderer.clearStatus();
+
+        assertEquals("\r      \r", written());
+    }
+
+    private void render(String text) {
+        StringBuilder frame = renderer.beginFrame();
+        try {
+            frame.append(text);
+        } finally {
+            renderer.commitFrame();
+        }
+    }
+
+    private String written() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}